@@ -0,0 +1,138 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.command;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Persistence;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.ExitCode;
+import picocli.CommandLine.Option;
+import software.iridium.cli.generator.PersistenePropertyGenerator;
+import software.iridium.cli.importer.IdentityBatchImporter;
+import software.iridium.cli.importer.IdentityImportRecordReader;
+import software.iridium.cli.importer.ImportCheckpoint;
+import software.iridium.cli.importer.ImportFormat;
+
+@Command(name = "import", description = "bulk imports identities from csv or json-lines")
+public class ImportCommand implements Callable<Integer> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ImportCommand.class);
+
+  @Option(
+      names = {"-h", "--host"},
+      description = "localhost, your-domain.xyz, ...")
+  private String host;
+
+  @Option(
+      names = {"-p", "--password"},
+      description = "the database password",
+      interactive = true)
+  private char[] password;
+
+  @Option(
+      names = {"-u", "--user"},
+      description = "the database user")
+  private String user;
+
+  @Option(
+      names = {"-P", "--port"},
+      description = "the database port")
+  private String port;
+
+  @Option(
+      names = {"-f", "--file"},
+      description = "the csv or json-lines file to import",
+      required = true)
+  private Path file;
+
+  @Option(
+      names = {"-F", "--format"},
+      description = "CSV or JSONL, detected from the file extension when omitted")
+  private ImportFormat format;
+
+  @Option(
+      names = {"-t", "--tenant"},
+      description = "the subdomain of the tenant receiving the identities",
+      defaultValue = "localhost")
+  private String tenant;
+
+  @Option(
+      names = {"-b", "--batch-size"},
+      description = "identities written per transaction",
+      defaultValue = "500")
+  private Integer batchSize;
+
+  @Option(
+      names = {"-T", "--hash-threads"},
+      description = "threads used to hash plaintext passwords, defaults to available processors")
+  private Integer hashThreads;
+
+  @Option(
+      names = {"-s", "--bcrypt-strength"},
+      description = "bcrypt log rounds used for plaintext passwords",
+      defaultValue = "10")
+  private Integer bcryptStrength;
+
+  @Option(
+      names = {"-c", "--checkpoint"},
+      description = "the checkpoint file, defaults to <file>.checkpoint")
+  private Path checkpoint;
+
+  @Option(
+      names = {"-r", "--resume"},
+      description = "resume after the last committed record in the checkpoint file",
+      defaultValue = "false")
+  private Boolean resume;
+
+  @Override
+  public Integer call() {
+    final var inputFormat = format == null ? ImportFormat.fromFileName(file.toString()) : format;
+    final var checkpointFile =
+        checkpoint == null ? file.resolveSibling(file.getFileName() + ".checkpoint") : checkpoint;
+    final var threads =
+        hashThreads == null ? Runtime.getRuntime().availableProcessors() : hashThreads;
+
+    final var hashingPool = new ForkJoinPool(threads);
+    // the input is opened first so an unreadable file fails before connecting to the database
+    try (var reader = new IdentityImportRecordReader(file, inputFormat);
+        var entityManagerFactory =
+            Persistence.createEntityManagerFactory(
+                "persistence",
+                PersistenePropertyGenerator.generateBatchPersistenceProperties(
+                    host, port, user, password, batchSize));
+        EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+
+      final var resumeFrom = resume ? ImportCheckpoint.read(checkpointFile) : 0L;
+      final var importer =
+          new IdentityBatchImporter(
+              entityManager, hashingPool, batchSize, bcryptStrength, checkpointFile);
+      importer.importAll(reader, tenant, resumeFrom);
+
+    } catch (Exception e) {
+      logger.info("########################################");
+      logger.error("exception occurred during import, rerun with --resume to continue: ", e);
+      logger.info("########################################");
+      return ExitCode.SOFTWARE;
+    } finally {
+      hashingPool.shutdown();
+    }
+    logger.info("########################################");
+    logger.info("Identities successfully imported");
+    logger.info("########################################");
+    return ExitCode.OK;
+  }
+}
@@ -25,4 +25,22 @@ public class PersistenePropertyGenerator extends AbstractGenerator {
     addedOrOverridenProperties.put("jakarta.persistence.jdbc.password", new String(password));
     return addedOrOverridenProperties;
   }
+
+  public static Map<String, String> generateBatchPersistenceProperties(
+      final String host,
+      final String port,
+      final String user,
+      final char[] password,
+      final Integer batchSize) {
+    final var addedOrOverridenProperties =
+        generatePersistenceProperties(host, port, user, password);
+    addedOrOverridenProperties.put(
+        "jakarta.persistence.jdbc.url",
+        "jdbc:mysql://" + host + ":" + port + "/identities?rewriteBatchedStatements=true");
+    addedOrOverridenProperties.put("jakarta.persistence.schema-generation.database.action", "none");
+    addedOrOverridenProperties.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+    addedOrOverridenProperties.put("hibernate.order_inserts", "true");
+    addedOrOverridenProperties.put("hibernate.order_updates", "true");
+    return addedOrOverridenProperties;
+  }
 }
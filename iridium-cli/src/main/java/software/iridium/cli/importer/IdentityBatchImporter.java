@@ -0,0 +1,274 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.importer;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import software.iridium.cli.generator.AbstractGenerator;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.IdentityEmailEntity;
+import software.iridium.entity.IdentityEntity;
+import software.iridium.entity.TenantEntity;
+
+public class IdentityBatchImporter extends AbstractGenerator {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdentityBatchImporter.class);
+
+  private static final Pattern BCRYPT_PATTERN =
+      Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+  private final EntityManager entityManager;
+  private final ForkJoinPool hashingPool;
+  private final int batchSize;
+  private final int bcryptStrength;
+  private final Path checkpoint;
+
+  private TenantEntity tenant;
+  private Map<String, String> applicationIdsByClientId;
+
+  private long imported = 0L;
+  private long skipped = 0L;
+  private long failed = 0L;
+
+  public IdentityBatchImporter(
+      final EntityManager entityManager,
+      final ForkJoinPool hashingPool,
+      final int batchSize,
+      final int bcryptStrength,
+      final Path checkpoint) {
+    this.entityManager = entityManager;
+    this.hashingPool = hashingPool;
+    this.batchSize = batchSize;
+    this.bcryptStrength = bcryptStrength;
+    this.checkpoint = checkpoint;
+  }
+
+  public void importAll(
+      final IdentityImportRecordReader reader, final String tenantSubdomain, final long resumeFrom)
+      throws IOException, InterruptedException, ExecutionException {
+    tenant = findTenant(tenantSubdomain);
+    applicationIdsByClientId = loadApplicationIds(tenant);
+
+    if (resumeFrom > 0) {
+      logger.info("resuming import after record {}", resumeFrom);
+      reader.skip(resumeFrom);
+    }
+
+    final var started = System.nanoTime();
+    final var chunk = new ArrayList<IdentityImportRecord>(batchSize);
+    IdentityImportRecord record;
+    while ((record = nextRecord(reader)) != null) {
+      chunk.add(record);
+      if (chunk.size() == batchSize) {
+        writeChunk(chunk, reader.getRecordNumber(), started);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      writeChunk(chunk, reader.getRecordNumber(), started);
+    }
+    ImportCheckpoint.write(checkpoint, reader.getRecordNumber());
+
+    final var seconds = Math.max((System.nanoTime() - started) / 1_000_000_000d, 0.001d);
+    logger.info(
+        "import finished: {} imported, {} skipped, {} failed in {}s ({}/s)",
+        imported,
+        skipped,
+        failed,
+        String.format("%.1f", seconds),
+        String.format("%.0f", imported / seconds));
+  }
+
+  private IdentityImportRecord nextRecord(final IdentityImportRecordReader reader)
+      throws IOException {
+    while (true) {
+      try {
+        return reader.next();
+      } catch (IllegalArgumentException e) {
+        failed++;
+        logger.warn("record {} is malformed: {}", reader.getRecordNumber(), e.getMessage());
+      }
+    }
+  }
+
+  private void writeChunk(
+      final List<IdentityImportRecord> chunk, final long lastRecordNumber, final long started)
+      throws IOException, InterruptedException, ExecutionException {
+    final var accepted = filter(chunk);
+    final var encodedPasswords =
+        hashingPool
+            .submit(() -> accepted.parallelStream().map(this::encodePassword).toList())
+            .get();
+
+    beginTransaction(entityManager);
+    for (int i = 0; i < accepted.size(); i++) {
+      entityManager.persist(toIdentity(accepted.get(i), encodedPasswords.get(i)));
+    }
+    flushAndCommitTransaction(entityManager);
+    entityManager.clear();
+
+    imported += accepted.size();
+    ImportCheckpoint.write(checkpoint, lastRecordNumber);
+
+    final var seconds = Math.max((System.nanoTime() - started) / 1_000_000_000d, 0.001d);
+    logger.info(
+        "record {}: {} imported, {} skipped, {} failed ({}/s)",
+        lastRecordNumber,
+        imported,
+        skipped,
+        failed,
+        String.format("%.0f", imported / seconds));
+  }
+
+  private List<IdentityImportRecord> filter(final List<IdentityImportRecord> chunk) {
+    final var emails = new HashSet<String>();
+    for (IdentityImportRecord record : chunk) {
+      if (record.getEmailAddress() != null) {
+        emails.add(record.getEmailAddress().toLowerCase());
+      }
+    }
+    final var existing = findExistingEmails(emails);
+
+    final var seen = new HashSet<String>();
+    final var accepted = new ArrayList<IdentityImportRecord>(chunk.size());
+    for (IdentityImportRecord record : chunk) {
+      final var rejection = validate(record);
+      if (rejection != null) {
+        failed++;
+        logger.warn("record {} rejected: {}", record.getRecordNumber(), rejection);
+        continue;
+      }
+      final var email = record.getEmailAddress().toLowerCase();
+      if (existing.contains(email) || !seen.add(email)) {
+        skipped++;
+        logger.debug("record {} skipped, email already exists", record.getRecordNumber());
+        continue;
+      }
+      accepted.add(record);
+    }
+    return accepted;
+  }
+
+  private String validate(final IdentityImportRecord record) {
+    if (record.getEmailAddress() == null || !record.getEmailAddress().contains("@")) {
+      return "email address is missing or invalid";
+    }
+    if (record.getEncodedPassword() != null) {
+      if (!BCRYPT_PATTERN.matcher(record.getEncodedPassword()).matches()) {
+        return "encoded password is not a bcrypt hash";
+      }
+    } else if (record.getPassword() == null) {
+      return "either password or encoded_password is required";
+    }
+    if (record.getApplicationClientIds() != null) {
+      for (String clientId : record.getApplicationClientIds()) {
+        if (!applicationIdsByClientId.containsKey(clientId)) {
+          return "unknown application client id " + clientId;
+        }
+      }
+    }
+    return null;
+  }
+
+  private String encodePassword(final IdentityImportRecord record) {
+    if (record.getEncodedPassword() != null) {
+      return record.getEncodedPassword();
+    }
+    return BCrypt.hashpw(record.getPassword(), BCrypt.gensalt(bcryptStrength));
+  }
+
+  private IdentityEntity toIdentity(final IdentityImportRecord record, final String password) {
+    final var identity = new IdentityEntity();
+    identity.setParentTenantId(tenant.getId());
+    identity.setEncodedPassword(password);
+    final var email = new IdentityEmailEntity();
+    email.setEmailAddress(record.getEmailAddress());
+    email.setPrimary(true);
+    email.setVerified(record.getVerified());
+    email.setIdentity(identity);
+    identity.getEmails().add(email);
+    if (record.getApplicationClientIds() != null) {
+      for (String clientId : record.getApplicationClientIds()) {
+        identity
+            .getAuthorizedApplications()
+            .add(
+                entityManager.getReference(
+                    ApplicationEntity.class, applicationIdsByClientId.get(clientId)));
+      }
+    }
+    return identity;
+  }
+
+  private HashSet<String> findExistingEmails(final HashSet<String> emails) {
+    if (emails.isEmpty()) {
+      return new HashSet<>();
+    }
+    return new HashSet<>(
+        entityManager
+            .createQuery(
+                "select lower(e.emailAddress) from IdentityEmailEntity e"
+                    + " where e.identity.parentTenantId = :tenantId"
+                    + " and lower(e.emailAddress) in :emails",
+                String.class)
+            .setParameter("tenantId", tenant.getId())
+            .setParameter("emails", emails)
+            .getResultList());
+  }
+
+  private TenantEntity findTenant(final String subdomain) {
+    final var tenants =
+        entityManager
+            .createQuery("from TenantEntity t where t.subdomain = :subdomain", TenantEntity.class)
+            .setParameter("subdomain", subdomain)
+            .getResultList();
+    if (tenants.isEmpty()) {
+      throw new IllegalArgumentException("tenant not found for subdomain: " + subdomain);
+    }
+    return tenants.get(0);
+  }
+
+  private Map<String, String> loadApplicationIds(final TenantEntity tenant) {
+    final var ids = new HashMap<String, String>();
+    entityManager
+        .createQuery(
+            "select a.clientId, a.id from ApplicationEntity a where a.tenantId = :tenantId",
+            Object[].class)
+        .setParameter("tenantId", tenant.getId())
+        .getResultList()
+        .forEach(row -> ids.put((String) row[0], (String) row[1]));
+    return ids;
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public long getSkipped() {
+    return skipped;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+}
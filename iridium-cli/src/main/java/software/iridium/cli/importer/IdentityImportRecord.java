@@ -0,0 +1,73 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IdentityImportRecord {
+
+  private final long recordNumber;
+  private String emailAddress;
+  private String password;
+  private String encodedPassword;
+  private Boolean verified = true;
+  private List<String> applicationClientIds = new ArrayList<>();
+
+  public IdentityImportRecord(final long recordNumber) {
+    this.recordNumber = recordNumber;
+  }
+
+  public long getRecordNumber() {
+    return recordNumber;
+  }
+
+  public String getEmailAddress() {
+    return emailAddress;
+  }
+
+  public void setEmailAddress(final String emailAddress) {
+    this.emailAddress = emailAddress;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public void setPassword(final String password) {
+    this.password = password;
+  }
+
+  public String getEncodedPassword() {
+    return encodedPassword;
+  }
+
+  public void setEncodedPassword(final String encodedPassword) {
+    this.encodedPassword = encodedPassword;
+  }
+
+  public Boolean getVerified() {
+    return verified;
+  }
+
+  public void setVerified(final Boolean verified) {
+    this.verified = verified;
+  }
+
+  public List<String> getApplicationClientIds() {
+    return applicationClientIds;
+  }
+
+  public void setApplicationClientIds(final List<String> applicationClientIds) {
+    this.applicationClientIds = applicationClientIds;
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class IdentityImportRecordReader implements AutoCloseable {
+
+  public static final String EMAIL_COLUMN = "email";
+  public static final String PASSWORD_COLUMN = "password";
+  public static final String ENCODED_PASSWORD_COLUMN = "encoded_password";
+  public static final String VERIFIED_COLUMN = "verified";
+  public static final String APPLICATION_CLIENT_IDS_COLUMN = "application_client_ids";
+
+  private static final String CLIENT_ID_SEPARATOR = "\\|";
+
+  private final BufferedReader reader;
+  private final ImportFormat format;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private Map<String, Integer> columnIndexes;
+  private long recordNumber = 0L;
+
+  public IdentityImportRecordReader(final Path source, final ImportFormat format)
+      throws IOException {
+    this.reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+    this.format = format;
+    if (format == ImportFormat.CSV) {
+      final var header = reader.readLine();
+      if (header == null) {
+        throw new IllegalArgumentException("csv input is empty, expected a header row");
+      }
+      columnIndexes = indexColumns(parseCsvLine(header));
+    }
+  }
+
+  /**
+   * Reads the next record, or returns null once the input is exhausted. A malformed record still
+   * consumes its record number so that checkpoints stay aligned with the input.
+   */
+  public IdentityImportRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isBlank());
+
+    recordNumber++;
+    return format == ImportFormat.CSV ? fromCsv(line) : fromJson(line);
+  }
+
+  public void skip(final long records) throws IOException {
+    while (recordNumber < records) {
+      final var line = reader.readLine();
+      if (line == null) {
+        return;
+      }
+      if (!line.isBlank()) {
+        recordNumber++;
+      }
+    }
+  }
+
+  public long getRecordNumber() {
+    return recordNumber;
+  }
+
+  private IdentityImportRecord fromCsv(final String line) {
+    final var values = parseCsvLine(line);
+    final var record = new IdentityImportRecord(recordNumber);
+    record.setEmailAddress(column(values, EMAIL_COLUMN));
+    record.setPassword(column(values, PASSWORD_COLUMN));
+    record.setEncodedPassword(column(values, ENCODED_PASSWORD_COLUMN));
+    final var verified = column(values, VERIFIED_COLUMN);
+    if (verified != null) {
+      record.setVerified(Boolean.parseBoolean(verified));
+    }
+    final var clientIds = column(values, APPLICATION_CLIENT_IDS_COLUMN);
+    if (clientIds != null) {
+      record.setApplicationClientIds(
+          Arrays.stream(clientIds.split(CLIENT_ID_SEPARATOR))
+              .map(String::trim)
+              .filter(clientId -> !clientId.isEmpty())
+              .toList());
+    }
+    return record;
+  }
+
+  private IdentityImportRecord fromJson(final String line) {
+    final JsonNode node;
+    try {
+      node = objectMapper.readTree(line);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("invalid json: " + e.getOriginalMessage());
+    }
+    final var record = new IdentityImportRecord(recordNumber);
+    record.setEmailAddress(text(node, EMAIL_COLUMN));
+    record.setPassword(text(node, PASSWORD_COLUMN));
+    record.setEncodedPassword(text(node, ENCODED_PASSWORD_COLUMN));
+    if (node.hasNonNull(VERIFIED_COLUMN)) {
+      record.setVerified(node.get(VERIFIED_COLUMN).asBoolean());
+    }
+    final var clientIds = node.get(APPLICATION_CLIENT_IDS_COLUMN);
+    if (clientIds != null && clientIds.isArray()) {
+      final var values = new ArrayList<String>();
+      clientIds.forEach(clientId -> values.add(clientId.asText()));
+      record.setApplicationClientIds(values);
+    }
+    return record;
+  }
+
+  private String column(final List<String> values, final String name) {
+    final var index = columnIndexes.get(name);
+    if (index == null || index >= values.size()) {
+      return null;
+    }
+    final var value = values.get(index);
+    return value.isEmpty() ? null : value;
+  }
+
+  private String text(final JsonNode node, final String name) {
+    return node.hasNonNull(name) ? node.get(name).asText() : null;
+  }
+
+  private Map<String, Integer> indexColumns(final List<String> header) {
+    final var indexes = new HashMap<String, Integer>();
+    for (int i = 0; i < header.size(); i++) {
+      indexes.put(header.get(i).trim().toLowerCase(), i);
+    }
+    if (!indexes.containsKey(EMAIL_COLUMN)) {
+      throw new IllegalArgumentException("csv header must contain an email column");
+    }
+    return indexes;
+  }
+
+  static List<String> parseCsvLine(final String line) {
+    final var values = new ArrayList<String>();
+    final var current = new StringBuilder();
+    var quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      final var character = line.charAt(i);
+      if (quoted) {
+        if (character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (character == '"') {
+          quoted = false;
+        } else {
+          current.append(character);
+        }
+      } else if (character == '"') {
+        quoted = true;
+      } else if (character == ',') {
+        values.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(character);
+      }
+    }
+    values.add(current.toString());
+    return values;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
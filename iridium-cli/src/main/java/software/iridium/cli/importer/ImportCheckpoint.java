@@ -0,0 +1,37 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.importer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class ImportCheckpoint {
+
+  public static long read(final Path checkpoint) throws IOException {
+    if (Files.notExists(checkpoint)) {
+      return 0L;
+    }
+    final var content = Files.readString(checkpoint, StandardCharsets.UTF_8).trim();
+    return content.isEmpty() ? 0L : Long.parseLong(content);
+  }
+
+  public static void write(final Path checkpoint, final long committedRecords) throws IOException {
+    // write then rename so a crash never leaves a truncated checkpoint behind
+    final var temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+    Files.writeString(temporary, String.valueOf(committedRecords), StandardCharsets.UTF_8);
+    Files.move(
+        temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
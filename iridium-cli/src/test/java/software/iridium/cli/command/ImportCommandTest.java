@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.command;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+import picocli.CommandLine.ExitCode;
+
+class ImportCommandTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  public void call_MissingInputFile_NonZeroExitCode() {
+    final var exitCode =
+        new CommandLine(new ImportCommand())
+            .execute("-f", directory.resolve("missing.csv").toString());
+
+    assertThat(exitCode, is(equalTo(ExitCode.SOFTWARE)));
+  }
+
+  @Test
+  public void call_CsvWithoutEmailColumn_NonZeroExitCode() throws Exception {
+    final var input = directory.resolve("identities.csv");
+    Files.writeString(input, "password\nsecret\n");
+
+    final var exitCode = new CommandLine(new ImportCommand()).execute("-f", input.toString());
+
+    assertThat(exitCode, is(equalTo(ExitCode.SOFTWARE)));
+  }
+}
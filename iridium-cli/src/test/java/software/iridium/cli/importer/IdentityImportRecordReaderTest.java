@@ -0,0 +1,167 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.importer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdentityImportRecordReaderTest {
+
+  @TempDir private Path directory;
+
+  private Path input(final String name, final String content) throws Exception {
+    final var path = directory.resolve(name);
+    Files.writeString(path, content, StandardCharsets.UTF_8);
+    return path;
+  }
+
+  @Test
+  public void next_CsvWithAllColumns_RecordsParsed() throws Exception {
+    final var source =
+        input(
+            "identities.csv",
+            "Email,password,encoded_password,verified,application_client_ids\n"
+                + "first@iridium.software,secret,,false,client-1| client-2\n"
+                + "\n"
+                + "second@iridium.software,,{bcrypt}hash,,\n");
+
+    try (var subject = new IdentityImportRecordReader(source, ImportFormat.CSV)) {
+      final var first = subject.next();
+      assertThat(first.getRecordNumber(), is(equalTo(1L)));
+      assertThat(first.getEmailAddress(), is(equalTo("first@iridium.software")));
+      assertThat(first.getPassword(), is(equalTo("secret")));
+      assertThat(first.getEncodedPassword(), is(nullValue()));
+      assertThat(first.getVerified(), is(false));
+      assertThat(first.getApplicationClientIds(), is(equalTo(List.of("client-1", "client-2"))));
+
+      final var second = subject.next();
+      assertThat(second.getRecordNumber(), is(equalTo(2L)));
+      assertThat(second.getPassword(), is(nullValue()));
+      assertThat(second.getEncodedPassword(), is(equalTo("{bcrypt}hash")));
+      assertThat(second.getVerified(), is(true));
+      assertThat(second.getApplicationClientIds().isEmpty(), is(true));
+
+      assertThat(subject.next(), is(nullValue()));
+      assertThat(subject.getRecordNumber(), is(equalTo(2L)));
+    }
+  }
+
+  @Test
+  public void new_EmptyCsv_ExceptionThrown() throws Exception {
+    final var source = input("identities.csv", "");
+
+    final var exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new IdentityImportRecordReader(source, ImportFormat.CSV));
+
+    assertThat(exception.getMessage(), is(equalTo("csv input is empty, expected a header row")));
+  }
+
+  @Test
+  public void new_CsvHeaderWithoutEmail_ExceptionThrown() throws Exception {
+    final var source = input("identities.csv", "password,verified\nsecret,true\n");
+
+    final var exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new IdentityImportRecordReader(source, ImportFormat.CSV));
+
+    assertThat(exception.getMessage(), is(equalTo("csv header must contain an email column")));
+  }
+
+  @Test
+  public void next_JsonLines_RecordsParsed() throws Exception {
+    final var source =
+        input(
+            "identities.jsonl",
+            "{\"email\":\"first@iridium.software\",\"password\":\"secret\","
+                + "\"verified\":false,\"application_client_ids\":[\"client-1\",\"client-2\"]}\n"
+                + "   \n"
+                + "{\"email\":\"second@iridium.software\",\"encoded_password\":null}\n");
+
+    try (var subject = new IdentityImportRecordReader(source, ImportFormat.JSONL)) {
+      final var first = subject.next();
+      assertThat(first.getRecordNumber(), is(equalTo(1L)));
+      assertThat(first.getEmailAddress(), is(equalTo("first@iridium.software")));
+      assertThat(first.getPassword(), is(equalTo("secret")));
+      assertThat(first.getVerified(), is(false));
+      assertThat(first.getApplicationClientIds(), is(equalTo(List.of("client-1", "client-2"))));
+
+      final var second = subject.next();
+      assertThat(second.getRecordNumber(), is(equalTo(2L)));
+      assertThat(second.getEncodedPassword(), is(nullValue()));
+      assertThat(second.getVerified(), is(true));
+
+      assertThat(subject.next(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void next_MalformedJson_RecordNumberStillConsumed() throws Exception {
+    final var source =
+        input("identities.jsonl", "{\"email\":\n{\"email\":\"second@iridium.software\"}\n");
+
+    try (var subject = new IdentityImportRecordReader(source, ImportFormat.JSONL)) {
+      final var exception = assertThrows(IllegalArgumentException.class, subject::next);
+
+      assertThat(exception.getMessage().startsWith("invalid json: "), is(true));
+      assertThat(subject.getRecordNumber(), is(equalTo(1L)));
+      assertThat(subject.next().getRecordNumber(), is(equalTo(2L)));
+    }
+  }
+
+  @Test
+  public void skip_PastBlankLines_ResumesAtNextRecord() throws Exception {
+    final var source =
+        input(
+            "identities.csv",
+            "email\nfirst@iridium.software\n\nsecond@iridium.software\nthird@iridium.software\n");
+
+    try (var subject = new IdentityImportRecordReader(source, ImportFormat.CSV)) {
+      subject.skip(2);
+
+      final var record = subject.next();
+      assertThat(record.getRecordNumber(), is(equalTo(3L)));
+      assertThat(record.getEmailAddress(), is(equalTo("third@iridium.software")));
+    }
+  }
+
+  @Test
+  public void skip_BeyondEndOfInput_StopsAtLastRecord() throws Exception {
+    final var source = input("identities.csv", "email\nfirst@iridium.software\n");
+
+    try (var subject = new IdentityImportRecordReader(source, ImportFormat.CSV)) {
+      subject.skip(5);
+
+      assertThat(subject.getRecordNumber(), is(equalTo(1L)));
+      assertThat(subject.next(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void parseCsvLine_QuotedValues_SeparatorsAndQuotesKept() {
+    final var values = IdentityImportRecordReader.parseCsvLine("\"a,b\",\"say \"\"hi\"\"\",,plain");
+
+    assertThat(values, is(equalTo(List.of("a,b", "say \"hi\"", "", "plain"))));
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.cli.importer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImportCheckpointTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  public void read_MissingFile_ReturnsZero() throws Exception {
+    assertThat(ImportCheckpoint.read(directory.resolve("import.checkpoint")), is(equalTo(0L)));
+  }
+
+  @Test
+  public void read_BlankFile_ReturnsZero() throws Exception {
+    final var checkpoint = directory.resolve("import.checkpoint");
+    Files.writeString(checkpoint, " \n");
+
+    assertThat(ImportCheckpoint.read(checkpoint), is(equalTo(0L)));
+  }
+
+  @Test
+  public void write_Overwritten_LatestValueReadWithoutTemporaryFile() throws Exception {
+    final var checkpoint = directory.resolve("import.checkpoint");
+
+    ImportCheckpoint.write(checkpoint, 500L);
+    ImportCheckpoint.write(checkpoint, 1500L);
+
+    assertThat(ImportCheckpoint.read(checkpoint), is(equalTo(1500L)));
+    assertThat(Files.exists(directory.resolve("import.checkpoint.tmp")), is(false));
+  }
+}
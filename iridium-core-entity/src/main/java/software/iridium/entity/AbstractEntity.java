@@ -21,13 +21,14 @@ public abstract class AbstractEntity extends Auditable {
 
   @Id
   @GeneratedValue(generator = "UUID")
-  @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+  @GenericGenerator(name = "UUID", strategy = "software.iridium.entity.TimeOrderedUuidGenerator")
   @Column(name = "id", length = 36, nullable = false)
   private String id;
 
+  // left null until the first insert, so repositories persist a new entity instead of merging it
   @Version
   @Column(name = "version", nullable = false, columnDefinition = "BIGINT(20) NOT NULL DEFAULT 0")
-  private Long version = 0L;
+  private Long version;
 
   public String getId() {
     return id;
@@ -34,7 +34,7 @@ public class AccessTokenEntity extends AbstractEntity {
   @Column(name = "identity_id", length = 36, nullable = false)
   private String identityId;
 
-  @OneToOne(cascade = CascadeType.ALL)
+  @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   @JoinColumn(name = "refresh_token_id")
   private RefreshTokenEntity refreshToken;
 
@@ -172,13 +172,14 @@ public class ApplicationEntity extends AbstractEntity {
     }
     if (o instanceof ApplicationEntity) {
       ApplicationEntity that = (ApplicationEntity) o;
-      return Objects.equals(this.getId(), that.getId());
+      return this.getId() != null && Objects.equals(this.getId(), that.getId());
     }
     return false;
   }
 
+  // constant so the hash stays stable when the id is assigned on persist
   @Override
   public int hashCode() {
-    return Objects.hash(name);
+    return ApplicationEntity.class.hashCode();
   }
 }
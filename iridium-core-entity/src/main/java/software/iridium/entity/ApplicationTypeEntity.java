@@ -12,10 +12,14 @@
 package software.iridium.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "application_type_id"))
 @Table(name = "application_types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class ApplicationTypeEntity extends AbstractEntity {
 
   private static final long serialVersionUID = 1702011158548911399L;
@@ -28,7 +28,7 @@ public class AuthenticationEntity implements Serializable {
 
   @Id
   @GeneratedValue(generator = "UUID")
-  @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+  @GenericGenerator(name = "UUID", strategy = "software.iridium.entity.TimeOrderedUuidGenerator")
   @Column(name = "id", length = 36, nullable = false)
   private String id;
 
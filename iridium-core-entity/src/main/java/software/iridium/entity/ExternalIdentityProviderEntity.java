@@ -14,10 +14,14 @@ package software.iridium.entity;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "external_identity_provider_id"))
 @Table(name = "external_identity_providers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ExternalIdentityProviderEntity extends AbstractEntity {
   private static final long serialVersionUID = 107595733607149226L;
 
@@ -56,6 +60,7 @@ public class ExternalIdentityProviderEntity extends AbstractEntity {
   @Column(name = "profile_request_base_url", length = 255, nullable = false)
   private String profileRequestBaseUrl;
 
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
   @OneToMany(
       cascade = CascadeType.ALL,
       fetch = FetchType.LAZY,
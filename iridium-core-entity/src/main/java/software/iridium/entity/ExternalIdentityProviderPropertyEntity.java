@@ -12,10 +12,14 @@
 package software.iridium.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "external_identity_provider_property_id"))
 @Table(name = "external_identity_provider_properties")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ExternalIdentityProviderPropertyEntity extends AbstractEntity {
 
   private static final long serialVersionUID = 3475881474031747675L;
@@ -13,12 +13,16 @@ package software.iridium.entity;
 
 import jakarta.persistence.*;
 import java.io.Serial;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AttributeOverride(
     name = "id",
     column = @Column(name = "external_identity_provider_property_template_id"))
 @Table(name = "external_identity_provider_property_templates")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class ExternalIdentityProviderPropertyTemplateEntity extends AbstractEntity {
 
   @Serial private static final long serialVersionUID = -7423569043340485808L;
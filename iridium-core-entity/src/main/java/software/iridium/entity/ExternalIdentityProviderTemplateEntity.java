@@ -14,10 +14,14 @@ package software.iridium.entity;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "external_identity_provider_template_id"))
 @Table(name = "external_identity_provider_templates")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class ExternalIdentityProviderTemplateEntity extends AbstractEntity {
 
   private static final long serialVersionUID = -812177502861094777L;
@@ -37,6 +41,7 @@ public class ExternalIdentityProviderTemplateEntity extends AbstractEntity {
   @Column(name = "base_authorization_url", length = 2355, nullable = false)
   private String baseAuthorizationUrl;
 
+  @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
   @OneToMany(
       cascade = CascadeType.ALL,
       fetch = FetchType.LAZY,
@@ -35,13 +35,6 @@ public class IdentityEmailEntity extends AbstractEntity {
   @JoinColumn(name = "identity_id")
   private IdentityEntity identity;
 
-  @OneToOne(
-      cascade = CascadeType.ALL,
-      fetch = FetchType.LAZY,
-      mappedBy = "email",
-      orphanRemoval = true)
-  private EmailVerificationTokenEntity emailVerificationToken;
-
   public String getEmailAddress() {
     return emailAddress;
   }
@@ -81,12 +74,4 @@ public class IdentityEmailEntity extends AbstractEntity {
   public void setIdentity(final IdentityEntity identity) {
     this.identity = identity;
   }
-
-  public EmailVerificationTokenEntity getEmailVerificationToken() {
-    return emailVerificationToken;
-  }
-
-  public void setEmailVerificationToken(final EmailVerificationTokenEntity emailVerificationToken) {
-    this.emailVerificationToken = emailVerificationToken;
-  }
 }
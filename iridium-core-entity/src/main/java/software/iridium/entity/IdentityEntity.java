@@ -17,10 +17,15 @@ import java.util.*;
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "identity_id"))
 @Table(name = "identities")
+@NamedEntityGraph(
+    name = IdentityEntity.EMAILS_AND_ROLES_GRAPH,
+    attributeNodes = {@NamedAttributeNode("emails"), @NamedAttributeNode("roles")})
 public class IdentityEntity extends AbstractEntity {
 
   private static final long serialVersionUID = -649520696707218781L;
 
+  public static final String EMAILS_AND_ROLES_GRAPH = "IdentityEntity.emailsAndRoles";
+
   @Column(name = "failed_login_attempts", nullable = false)
   private Integer failedLoginAttempts = 0;
 
@@ -52,21 +57,21 @@ public class IdentityEntity extends AbstractEntity {
       name = "identities_applications",
       joinColumns = @JoinColumn(name = "identity_id"),
       inverseJoinColumns = @JoinColumn(name = "application_id"))
-  private List<ApplicationEntity> authorizedApplications = new ArrayList<>();
+  private Set<ApplicationEntity> authorizedApplications = new HashSet<>();
 
-  @OneToOne(cascade = CascadeType.ALL)
+  @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   @JoinColumn(name = "profile_id")
   private ProfileEntity profile;
 
-  @OneToOne(cascade = CascadeType.ALL)
+  @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   @JoinColumn(name = "create_session_details_id")
   private IdentityCreateSessionDetails createSessionDetails;
 
-  @OneToOne(cascade = CascadeType.ALL)
+  @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   @JoinColumn(name = "password_reset_token_id")
   private PasswordResetTokenEntity passwordResetToken;
 
-  @ManyToOne(optional = true)
+  @ManyToOne(optional = true, fetch = FetchType.LAZY)
   @JoinColumn(name = "provider_id")
   private ExternalIdentityProviderEntity provider;
 
@@ -82,7 +87,7 @@ public class IdentityEntity extends AbstractEntity {
 
   @OneToMany(
       cascade = CascadeType.ALL,
-      fetch = FetchType.EAGER,
+      fetch = FetchType.LAZY,
       mappedBy = "identity",
       orphanRemoval = true)
   private List<IdentityEmailEntity> emails = new ArrayList<>();
@@ -239,11 +244,11 @@ public class IdentityEntity extends AbstractEntity {
     this.scopes = scopes;
   }
 
-  public List<ApplicationEntity> getAuthorizedApplications() {
+  public Set<ApplicationEntity> getAuthorizedApplications() {
     return authorizedApplications;
   }
 
-  public void setAuthorizedApplications(final List<ApplicationEntity> authorizedApplications) {
+  public void setAuthorizedApplications(final Set<ApplicationEntity> authorizedApplications) {
     this.authorizedApplications = authorizedApplications;
   }
 
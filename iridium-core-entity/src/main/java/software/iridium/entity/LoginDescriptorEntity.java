@@ -12,10 +12,14 @@
 package software.iridium.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "login_descriptor_id"))
 @Table(name = "login_descriptors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class LoginDescriptorEntity extends AbstractEntity {
   private static final long serialVersionUID = -4875102248476691639L;
 
@@ -14,11 +14,15 @@ package software.iridium.entity;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import software.iridium.api.authentication.domain.Environment;
 
 @Entity
 @AttributeOverride(name = "id", column = @Column(name = "tenant_id"))
 @Table(name = "tenants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TenantEntity extends AbstractEntity {
 
   private static final long serialVersionUID = 689089741127267195L;
@@ -40,6 +44,7 @@ public class TenantEntity extends AbstractEntity {
   @JoinColumn(name = "login_descriptor_id")
   private LoginDescriptorEntity loginDescriptor;
 
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
   @OneToMany(mappedBy = "tenant", fetch = FetchType.LAZY)
   private List<ExternalIdentityProviderEntity> externalIdentityProviders = new ArrayList<>();
 
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.entity;
+
+import java.security.SecureRandom;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generates identifiers laid out as version 7 UUIDs: a 48 bit millisecond timestamp, a 12 bit
+ * counter and random bits. The counter starts at a random value in each millisecond and counts up
+ * for every further id in it, carrying into the timestamp on overflow, so ids generated later in
+ * this JVM sort after earlier ones, both as UUIDs and in their canonical string form. Inserts
+ * therefore append to the end of the primary key index instead of landing at random pages. Set
+ * {@value #STRATEGY_SETTING} to {@value #STRATEGY_RANDOM} to fall back to random version 4 UUIDs.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+  public static final String STRATEGY_SETTING = "software.iridium.id.strategy";
+  public static final String STRATEGY_TIME_ORDERED = "time-ordered";
+  public static final String STRATEGY_RANDOM = "random";
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final int COUNTER_BITS = 12;
+
+  // the last timestamp handed out, shifted left by COUNTER_BITS, plus the counter within it
+  private static final AtomicLong LAST_STATE = new AtomicLong();
+
+  private boolean random;
+
+  @Override
+  public void configure(
+      final Type type, final Properties parameters, final ServiceRegistry serviceRegistry)
+      throws MappingException {
+    final var strategy =
+        serviceRegistry
+            .getService(ConfigurationService.class)
+            .getSetting(STRATEGY_SETTING, value -> value.toString().trim(), STRATEGY_TIME_ORDERED);
+    if (STRATEGY_RANDOM.equalsIgnoreCase(strategy)) {
+      random = true;
+    } else if (!STRATEGY_TIME_ORDERED.equalsIgnoreCase(strategy)) {
+      throw new MappingException("unknown id strategy: " + strategy);
+    }
+  }
+
+  @Override
+  public Object generate(final SharedSessionContractImplementor session, final Object object) {
+    return random ? UUID.randomUUID().toString() : next().toString();
+  }
+
+  public static UUID next() {
+    return fromState(nextState(System.currentTimeMillis()));
+  }
+
+  static UUID fromState(final long state) {
+    final var timestamp = state >>> COUNTER_BITS;
+    final var counter = state & 0xFFF;
+    final var randomB = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL;
+    final var mostSignificant = (timestamp & 0xFFFFFFFFFFFFL) << 16 | 0x7000L | counter;
+    final var leastSignificant = 0x8000000000000000L | randomB;
+    return new UUID(mostSignificant, leastSignificant);
+  }
+
+  // RFC 9562 method 1: a new millisecond reseeds the counter below half its range, leaving room
+  // to count up; a repeated or earlier one, e.g. after the wall clock stepped back, counts on
+  static long nextState(final long now) {
+    return LAST_STATE.updateAndGet(
+        last ->
+            now > (last >>> COUNTER_BITS)
+                ? (now << COUNTER_BITS) | RANDOM.nextInt(1 << (COUNTER_BITS - 1))
+                : last + 1);
+  }
+}
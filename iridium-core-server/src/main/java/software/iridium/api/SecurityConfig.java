@@ -12,8 +12,10 @@
 package software.iridium.api;
 
 import jakarta.annotation.Resource;
+import java.util.stream.Stream;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -22,20 +24,44 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationProvider;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import software.iridium.api.filter.PostAuthMdcFilter;
 import software.iridium.api.filter.PreAuthMdcFilter;
 import software.iridium.api.filter.RequestLoggingFilter;
-import software.iridium.api.repository.AccessTokenEntityRepository;
+import software.iridium.api.token.TokenStore;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+  // matched once per request; bearer tokens sent to these are never looked up
+  public static final RequestMatcher PUBLIC_ENDPOINTS =
+      new OrRequestMatcher(
+          Stream.concat(
+                  Stream.of(
+                          "/",
+                          "/login",
+                          "/styles/**",
+                          "/img/**",
+                          "/oauth/external/authorize",
+                          "/authorize",
+                          "/authenticate",
+                          "/oauth/authorize",
+                          "/register",
+                          "/reset-password",
+                          "/oauth/token")
+                      .<RequestMatcher>map(AntPathRequestMatcher::new),
+                  // registration only; GET /identities answers with the signed in identity
+                  Stream.of(new AntPathRequestMatcher("/identities", HttpMethod.POST.name())))
+              .toList());
+
   @Resource private RequestLoggingFilter requestLoggingFilter;
   @Resource private PreAuthMdcFilter preAuthMdcFilter;
   @Resource private PostAuthMdcFilter postAuthMdcFilter;
 
-  @Resource private AccessTokenEntityRepository accessTokenRepository;
+  @Resource private TokenStore tokenStore;
 
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,19 +69,7 @@ public class SecurityConfig {
     http.authorizeHttpRequests(
             (authorize) ->
                 authorize
-                    .requestMatchers(
-                        "/",
-                        "/login",
-                        "/styles/**",
-                        "img/**",
-                        "/oauth/external/authorize",
-                        "/identities",
-                        "/authorize",
-                        "/authenticate",
-                        "oauth/authorize",
-                        "register",
-                        "reset-password",
-                        "/oauth/token")
+                    .requestMatchers(PUBLIC_ENDPOINTS)
                     .permitAll()
                     .anyRequest()
                     .fullyAuthenticated())
@@ -77,7 +91,8 @@ public class SecurityConfig {
     public void configure(HttpSecurity http) {
       AuthenticationManager authenticationManager =
           http.getSharedObject(AuthenticationManager.class);
-      http.addFilter(new TokenAuthenticationFilter(authenticationManager, accessTokenRepository));
+      http.addFilter(
+          new TokenAuthenticationFilter(authenticationManager, tokenStore, PUBLIC_ENDPOINTS));
     }
   }
 
@@ -18,22 +18,27 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import software.iridium.api.base.error.NotAuthorizedException;
-import software.iridium.api.repository.AccessTokenEntityRepository;
+import software.iridium.api.token.TokenStore;
 import software.iridium.api.user.PrincipalUser;
 import software.iridium.entity.AccessTokenEntity;
 
 public class TokenAuthenticationFilter extends AbstractPreAuthenticatedProcessingFilter {
 
-  private AccessTokenEntityRepository tokenEntityRepository;
+  private TokenStore tokenStore;
 
   public static final String BEARER_PREFIX_WITH_SPACE = "Bearer ";
 
   public TokenAuthenticationFilter(
       final AuthenticationManager authenticationManager,
-      final AccessTokenEntityRepository accessTokenEntityRepository) {
+      final TokenStore tokenStore,
+      final RequestMatcher publicEndpoints) {
     super.setAuthenticationManager(authenticationManager);
-    this.tokenEntityRepository = accessTokenEntityRepository;
+    // sessions are stateless, so outside of the public endpoints every request needs a principal
+    super.setRequiresAuthenticationRequestMatcher(new NegatedRequestMatcher(publicEndpoints));
+    this.tokenStore = tokenStore;
   }
 
   @Override
@@ -43,9 +48,7 @@ public class TokenAuthenticationFilter extends AbstractPreAuthenticatedProcessin
 
     if (StringUtils.isNotBlank(token)) {
       final AccessTokenEntity entity =
-          tokenEntityRepository
-              .findFirstByAccessTokenAndExpirationAfter(token, new Date())
-              .orElseThrow(NotAuthorizedException::new);
+          tokenStore.findActive(token, new Date()).orElseThrow(NotAuthorizedException::new);
 
       return new PrincipalUser(entity.getAccessToken(), entity.getIdentityId(), List.of());
     }
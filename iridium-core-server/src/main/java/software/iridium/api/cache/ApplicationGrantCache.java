@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which applications an identity has been granted as one bit per application. Only
+ * confirmed grants are recorded, so a miss always falls through to the database; grants are never
+ * revoked, which is what makes positive-only caching safe.
+ */
+@Component
+public class ApplicationGrantCache {
+
+  private final boolean enabled;
+  private final int maxIdentities;
+  private final int maxApplications;
+  private final Map<String, Integer> applicationOrdinals = new ConcurrentHashMap<>();
+  private final Map<String, BitSet> grants;
+
+  public ApplicationGrantCache(
+      @Value("${software.iridium.grant.cache.enabled:false}") final boolean enabled,
+      @Value("${software.iridium.grant.cache.identities:100000}") final int maxIdentities,
+      @Value("${software.iridium.grant.cache.applications:4096}") final int maxApplications) {
+    this.enabled = enabled;
+    this.maxIdentities = maxIdentities;
+    this.maxApplications = maxApplications;
+    this.grants =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, BitSet> eldest) {
+            return size() > ApplicationGrantCache.this.maxIdentities;
+          }
+        };
+  }
+
+  public boolean contains(final String identityId, final String applicationId) {
+    if (!enabled) {
+      return false;
+    }
+    final var ordinal = applicationOrdinals.get(applicationId);
+    if (ordinal == null) {
+      return false;
+    }
+    synchronized (grants) {
+      final var granted = grants.get(identityId);
+      return granted != null && granted.get(ordinal);
+    }
+  }
+
+  public void record(final String identityId, final String applicationId) {
+    if (!enabled) {
+      return;
+    }
+    final var ordinal = ordinalOf(applicationId);
+    if (ordinal < 0) {
+      return;
+    }
+    synchronized (grants) {
+      grants.computeIfAbsent(identityId, id -> new BitSet()).set(ordinal);
+    }
+  }
+
+  int size() {
+    synchronized (grants) {
+      return grants.size();
+    }
+  }
+
+  private int ordinalOf(final String applicationId) {
+    final var existing = applicationOrdinals.get(applicationId);
+    if (existing != null) {
+      return existing;
+    }
+    synchronized (applicationOrdinals) {
+      if (applicationOrdinals.size() >= maxApplications) {
+        return applicationOrdinals.getOrDefault(applicationId, -1);
+      }
+      return applicationOrdinals.computeIfAbsent(applicationId, id -> applicationOrdinals.size());
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Locale;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheStatisticsLogger {
+
+  private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsLogger.class);
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Value("${software.iridium.cache.statistics.enabled:true}")
+  private Boolean statisticsEnabled;
+
+  @Scheduled(
+      initialDelayString = "${software.iridium.cache.statistics.interval.ms:300000}",
+      fixedDelayString = "${software.iridium.cache.statistics.interval.ms:300000}")
+  public void logStatistics() {
+    if (!statisticsEnabled) {
+      return;
+    }
+    final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    if (!statistics.isStatisticsEnabled()) {
+      return;
+    }
+    for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+      final var region = statistics.getCacheRegionStatistics(regionName);
+      if (region == null) {
+        continue;
+      }
+      logger.info(
+          "cache region {}: {} hits, {} misses, {} puts, {} in memory, hit ratio {}",
+          regionName,
+          region.getHitCount(),
+          region.getMissCount(),
+          region.getPutCount(),
+          region.getElementCountInMemory(),
+          formatRatio(region.getHitCount(), region.getMissCount()));
+    }
+    logger.info(
+        "query cache: {} hits, {} misses, {} puts, hit ratio {}",
+        statistics.getQueryCacheHitCount(),
+        statistics.getQueryCacheMissCount(),
+        statistics.getQueryCachePutCount(),
+        formatRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+  }
+
+  static String formatRatio(final long hits, final long misses) {
+    final var total = hits + misses;
+    if (total == 0) {
+      return "n/a";
+    }
+    return String.format(Locale.ROOT, "%.2f", (double) hits / total);
+  }
+}
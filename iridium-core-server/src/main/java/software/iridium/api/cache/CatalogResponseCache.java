@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Keeps the serialized bodies of the static catalog endpoints. Each body carries a strong ETag over
+ * its bytes, so a GET with a matching If-None-Match is answered with a 304 by Spring MVC. Bodies
+ * are dropped on every refresh and rebuilt on the next call; unchanged data keeps its ETag.
+ */
+@Component
+public class CatalogResponseCache {
+
+  public static final String APPLICATION_TYPES = "application-types";
+  public static final String PROVIDERS = "providers";
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${software.iridium.catalog.max-age.seconds:0}")
+  private long maxAgeSeconds;
+
+  private final Map<String, SerializedResponse> responses = new ConcurrentHashMap<>();
+
+  public ResponseEntity<byte[]> respond(final String key, final Supplier<?> source) {
+    final var response = get(key, source);
+    return ResponseEntity.ok()
+        .eTag(response.eTag())
+        .cacheControl(
+            CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate().mustRevalidate())
+        .body(response.body());
+  }
+
+  public void evict(final String key) {
+    responses.remove(key);
+  }
+
+  // picks up catalog rows changed by migrations or on other nodes
+  @Scheduled(
+      initialDelayString = "${software.iridium.catalog.refresh.interval.ms:300000}",
+      fixedDelayString = "${software.iridium.catalog.refresh.interval.ms:300000}")
+  public void refresh() {
+    responses.clear();
+  }
+
+  SerializedResponse get(final String key, final Supplier<?> source) {
+    final var cached = responses.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    final var serialized = serialize(key, source.get());
+    responses.put(key, serialized);
+    return serialized;
+  }
+
+  private SerializedResponse serialize(final String key, final Object value) {
+    try {
+      final var body = objectMapper.writeValueAsBytes(value);
+      return new SerializedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("could not serialize catalog " + key, e);
+    }
+  }
+
+  record SerializedResponse(byte[] body, String eTag) {}
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import java.io.IOException;
+import java.util.Map;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+@Configuration
+public class HibernateCacheConfig {
+
+  public static final String EHCACHE_CONFIG = "ehcache.xml";
+
+  @Value("${software.iridium.cache.enabled:true}")
+  private Boolean cacheEnabled;
+
+  @Value("${software.iridium.cache.statistics.enabled:true}")
+  private Boolean statisticsEnabled;
+
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager() throws IOException {
+    final var provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+    return provider.getCacheManager(
+        new ClassPathResource(EHCACHE_CONFIG).getURI(), getClass().getClassLoader());
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheCustomizer(final CacheManager cacheManager) {
+    return properties -> customize(properties, cacheManager);
+  }
+
+  void customize(final Map<String, Object> properties, final CacheManager cacheManager) {
+    // values already supplied through spring.jpa.properties.* take precedence
+    properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheEnabled);
+    properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, cacheEnabled);
+    properties.putIfAbsent(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+    properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+    properties.putIfAbsent(ConfigSettings.CACHE_MANAGER, cacheManager);
+    properties.putIfAbsent(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+    properties.putIfAbsent(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+    properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+  }
+}
@@ -14,6 +14,7 @@ package software.iridium.api.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import software.iridium.api.authentication.domain.*;
+import software.iridium.api.base.domain.CursorListResponse;
 import software.iridium.api.base.domain.PagedListResponse;
 import software.iridium.api.service.ApplicationService;
 
@@ -44,6 +45,17 @@ public class ApplicationController {
     return applicationService.getPageByTenantId(tenantId, page, size, active);
   }
 
+  @GetMapping(
+      value = "/tenants/{tenant-id}/applications",
+      produces = ApplicationSummary.MEDIA_TYPE_CURSOR_LIST)
+  public CursorListResponse<ApplicationSummary> getCursorPageByTenant(
+      @PathVariable("tenant-id") final String tenantId,
+      @RequestParam(value = "cursor", required = false) final String cursor,
+      @RequestParam(value = "size", required = false, defaultValue = "20") final Integer size,
+      @RequestParam(value = "active", defaultValue = "true") final Boolean active) {
+    return applicationService.getCursorPageByTenantId(tenantId, cursor, size, active);
+  }
+
   @PutMapping(
       value = "/tenants/{tenant-id}/applications/{application-id}",
       consumes = ApplicationUpdateRequest.MEDIA_TYPE,
@@ -11,12 +11,13 @@
  */
 package software.iridium.api.controller;
 
-import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import software.iridium.api.authentication.domain.ApplicationTypeSummary;
+import software.iridium.api.cache.CatalogResponseCache;
 import software.iridium.api.service.ApplicationTypeService;
 
 @CrossOrigin
@@ -24,9 +25,11 @@ import software.iridium.api.service.ApplicationTypeService;
 public class ApplicationTypeController {
 
   @Autowired private ApplicationTypeService applicationTypeService;
+  @Autowired private CatalogResponseCache catalogResponseCache;
 
   @GetMapping(value = "/application-types", produces = ApplicationTypeSummary.MEDIA_TYPE_LIST)
-  public List<ApplicationTypeSummary> getAll() {
-    return applicationTypeService.getAll();
+  public ResponseEntity<byte[]> getAll() {
+    return catalogResponseCache.respond(
+        CatalogResponseCache.APPLICATION_TYPES, applicationTypeService::getAll);
   }
 }
@@ -12,6 +12,7 @@
 package software.iridium.api.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.view.RedirectView;
 import software.iridium.api.authentication.domain.AuthenticationRequest;
+import software.iridium.api.handoff.AuthorizeHandoff;
+import software.iridium.api.handoff.AuthorizeHandoffCookie;
 import software.iridium.api.service.AuthenticationService;
 
 @CrossOrigin
@@ -29,6 +32,7 @@ public class AuthenticationController {
   private static final Logger logger = LoggerFactory.getLogger(AuthenticationController.class);
 
   @Autowired private AuthenticationService authenticationService;
+  @Autowired private AuthorizeHandoffCookie handoffCookie;
 
   @PostMapping(value = "/authenticate")
   public RedirectView authenticateWithFormSubmit(
@@ -42,7 +46,8 @@ public class AuthenticationController {
       @RequestParam(value = "code_challenge_method", required = false)
           final String codeChallengeMethod,
       @RequestParam(value = "code_challenge", required = false) final String codeChallenge,
-      HttpServletRequest servletRequest) {
+      HttpServletRequest servletRequest,
+      HttpServletResponse servletResponse) {
 
     logger.info("query String {}", servletRequest.getQueryString());
     logger.info("request url {}", servletRequest.getRequestURL().toString());
@@ -63,10 +68,13 @@ public class AuthenticationController {
       redirectAttributes.addAttribute("client_id", clientId);
       redirectAttributes.addAttribute("code_challenge_method", codeChallengeMethod);
       redirectAttributes.addAttribute("code_challenge", codeChallenge);
-      redirectAttributes.addFlashAttribute("X-IRIDIUM-AUTH-TOKEN", response.getUserToken());
-      redirectAttributes.addFlashAttribute("appBaseUrl", response.getAppBaseurl());
-      redirectAttributes.addFlashAttribute("applicationName", response.getApplicationName());
-      redirectAttributes.addFlashAttribute("tenantWebsite", response.getTenantWebsite());
+      handoffCookie.write(
+          servletResponse,
+          new AuthorizeHandoff(
+              response.getUserToken(),
+              response.getAppBaseurl(),
+              response.getApplicationName(),
+              response.getTenantWebsite()));
 
       return new RedirectView("/authorize", true);
     }
@@ -11,16 +11,26 @@
  */
 package software.iridium.api.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.view.RedirectView;
 import software.iridium.api.authentication.domain.CreateIdentityRequest;
 import software.iridium.api.authentication.domain.IdentityResponse;
+import software.iridium.api.authentication.domain.IdentitySummary;
 import software.iridium.api.base.domain.ApiDataResponse;
+import software.iridium.api.base.domain.CursorListResponse;
+import software.iridium.api.handoff.AuthorizeHandoff;
+import software.iridium.api.handoff.AuthorizeHandoffCookie;
+import software.iridium.api.service.IdentityListingService;
 import software.iridium.api.service.IdentityService;
 
 @CrossOrigin
@@ -28,13 +38,45 @@ import software.iridium.api.service.IdentityService;
 public class IdentityController {
 
   @Autowired private IdentityService identityService;
+  @Autowired private IdentityListingService identityListingService;
+  @Autowired private AuthorizeHandoffCookie handoffCookie;
 
   @RequestMapping(
       value = "/identities",
       method = RequestMethod.GET,
       produces = IdentityResponse.MEDIA_TYPE)
-  public ApiDataResponse<IdentityResponse> getIdentity(HttpServletRequest request) {
-    return new ApiDataResponse<>(identityService.getIdentity(request));
+  public ResponseEntity<ApiDataResponse<IdentityResponse>> getIdentity(final WebRequest request) {
+    final var eTag = identityService.getIdentityETag();
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .body(new ApiDataResponse<>(identityService.getIdentity()));
+  }
+
+  @GetMapping(
+      value = "/tenants/{tenant-id}/identities",
+      produces = IdentitySummary.MEDIA_TYPE_CURSOR_LIST)
+  public CursorListResponse<IdentitySummary> getPageByTenant(
+      @PathVariable("tenant-id") final String tenantId,
+      @RequestParam(value = "cursor", required = false) final String cursor,
+      @RequestParam(value = "size", required = false, defaultValue = "20") final Integer size) {
+    return identityListingService.getPageByTenantId(tenantId, cursor, size);
+  }
+
+  @GetMapping(
+      value = "/tenants/{tenant-id}/identities",
+      produces = IdentitySummary.MEDIA_TYPE_EXPORT)
+  public ResponseEntity<StreamingResponseBody> export(
+      @PathVariable("tenant-id") final String tenantId) {
+    identityListingService.verifyManagesTenant(tenantId);
+    return ResponseEntity.ok()
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"identities-" + tenantId + ".ndjson\"")
+        .body(outputStream -> identityListingService.export(tenantId, outputStream));
   }
 
   @PostMapping(value = "/identities")
@@ -48,7 +90,8 @@ public class IdentityController {
           final String codeChallengeMethod,
       @RequestParam(value = "code_challenge", required = false) final String codeChallenge,
       final ModelMap model,
-      final RedirectAttributes redirectAttributes) {
+      final RedirectAttributes redirectAttributes,
+      final HttpServletResponse servletResponse) {
     final var paramMap = new HashMap<String, String>();
     paramMap.put("response_type", responseType);
     paramMap.put("state", state);
@@ -64,10 +107,13 @@ public class IdentityController {
     redirectAttributes.addAttribute("client_id", clientId);
     redirectAttributes.addAttribute("code_challenge_method", codeChallengeMethod);
     redirectAttributes.addAttribute("code_challenge", codeChallenge);
-    redirectAttributes.addFlashAttribute("X-IRIDIUM-AUTH-TOKEN", response.getUserToken());
-    redirectAttributes.addFlashAttribute("appBaseUrl", response.getAppBaseUrl());
-    redirectAttributes.addFlashAttribute("applicationName", response.getApplicationName());
-    redirectAttributes.addFlashAttribute("tenantWebsite", response.getTenantWebsite());
+    handoffCookie.write(
+        servletResponse,
+        new AuthorizeHandoff(
+            response.getUserToken(),
+            response.getAppBaseUrl(),
+            response.getApplicationName(),
+            response.getTenantWebsite()));
 
     return new RedirectView("/authorize", true);
   }
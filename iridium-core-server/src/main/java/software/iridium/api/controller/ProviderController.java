@@ -12,11 +12,13 @@
 package software.iridium.api.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import software.iridium.api.authentication.domain.ProviderSummaryResponse;
 import software.iridium.api.base.domain.ApiListResponse;
+import software.iridium.api.cache.CatalogResponseCache;
 import software.iridium.api.service.ProviderService;
 
 @CrossOrigin
@@ -24,9 +26,12 @@ import software.iridium.api.service.ProviderService;
 public class ProviderController {
 
   @Autowired private ProviderService providerService;
+  @Autowired private CatalogResponseCache catalogResponseCache;
 
   @GetMapping(value = "providers", produces = ProviderSummaryResponse.MEDIA_TYPE_LIST)
-  public ApiListResponse<ProviderSummaryResponse> retrieveAllSummaries() {
-    return new ApiListResponse<>(providerService.retrieveAllSummaries());
+  public ResponseEntity<byte[]> retrieveAllSummaries() {
+    return catalogResponseCache.respond(
+        CatalogResponseCache.PROVIDERS,
+        () -> new ApiListResponse<>(providerService.retrieveAllSummaries()));
   }
 }
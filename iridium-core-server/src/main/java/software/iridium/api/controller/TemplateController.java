@@ -22,18 +22,19 @@ import org.springframework.ui.Model;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.servlet.support.RequestContextUtils;
 import software.iridium.api.authentication.domain.AuthenticationRequest;
 import software.iridium.api.authentication.domain.CreateIdentityRequest;
 import software.iridium.api.authentication.domain.InitiatePasswordResetRequest;
 import software.iridium.api.authentication.domain.PasswordResetRequest;
+import software.iridium.api.handoff.AuthorizeHandoffCookie;
 import software.iridium.api.service.TemplateService;
-import software.iridium.api.util.ServletTokenExtractor;
+import software.iridium.api.tenant.TenantContext;
 
 @Controller
 public class TemplateController {
 
   @Autowired private TemplateService templateService;
+  @Autowired private AuthorizeHandoffCookie handoffCookie;
 
   private static final Logger logger = LoggerFactory.getLogger(TemplateController.class);
 
@@ -43,10 +44,7 @@ public class TemplateController {
       final Model model,
       final @RequestParam Map<String, String> params,
       final HttpServletRequest servletRequest) {
-    logger.info("loading login for: {}", servletRequest.getRequestURL().toString());
-    logger.info(
-        "loading login for subdomain: {}",
-        servletRequest.getRequestURL().toString().split("\\.")[0]);
+    logger.info("loading login for subdomain: {}", TenantContext.of(servletRequest).subdomain());
     return templateService.describeIndex(model, servletRequest, params);
   }
 
@@ -76,10 +74,7 @@ public class TemplateController {
       final CreateIdentityRequest createIdentityRequest,
       final Model model,
       final HttpServletRequest servletRequest) {
-    logger.info("loading login for: {}", servletRequest.getRequestURL().toString());
-    logger.info(
-        "loading login for subdomain: {}",
-        servletRequest.getRequestURL().toString().split("\\.")[0]);
+    logger.info("loading login for subdomain: {}", TenantContext.of(servletRequest).subdomain());
     return templateService.describeRegister(model, servletRequest);
   }
 
@@ -88,11 +83,15 @@ public class TemplateController {
       ModelMap model, HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
     logger.info("request headers: {}", servletRequest.getHeaderNames().toString());
     logger.info("response headers: {}", servletResponse.getHeaderNames());
-    Map<String, ?> inputFlashMap = RequestContextUtils.getInputFlashMap(servletRequest);
-    if (inputFlashMap != null) {
-      String token = (String) inputFlashMap.get(ServletTokenExtractor.IRIDIUM_TOKEN_HEADER_VALUE);
-      model.addAttribute("userToken", token);
-    }
+    handoffCookie
+        .consume(servletRequest, servletResponse)
+        .ifPresent(
+            handoff -> {
+              model.addAttribute("userToken", handoff.userToken());
+              model.addAttribute("appBaseUrl", handoff.appBaseUrl());
+              model.addAttribute("applicationName", handoff.applicationName());
+              model.addAttribute("tenantWebsite", handoff.tenantWebsite());
+            });
     return "authorize";
   }
 }
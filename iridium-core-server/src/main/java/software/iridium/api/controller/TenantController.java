@@ -11,12 +11,14 @@
  */
 package software.iridium.api.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import software.iridium.api.authentication.domain.CreateTenantRequest;
 import software.iridium.api.authentication.domain.CreateTenantResponse;
 import software.iridium.api.authentication.domain.TenantSummary;
@@ -31,17 +33,23 @@ public class TenantController {
   @Autowired private TenantService tenantService;
 
   @GetMapping(value = "tenants", produces = TenantSummary.MEDIA_TYPE_LIST)
-  public List<TenantSummary> getTenantSummaries(HttpServletRequest request) {
+  public ResponseEntity<List<TenantSummary>> getTenantSummaries(final WebRequest request) {
     logger.info("get summaries");
-    return tenantService.getTenantSummaries(request);
+    final var eTag = tenantService.getTenantSummariesETag();
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .body(tenantService.getTenantSummaries());
   }
 
   @PostMapping(
       value = "tenants",
       consumes = CreateTenantRequest.MEDIA_TYPE,
       produces = CreateTenantResponse.MEDIA_TYPE)
-  public CreateTenantResponse create(
-      final HttpServletRequest request, @RequestBody final CreateTenantRequest tenantRequest) {
-    return tenantService.create(request, tenantRequest);
+  public CreateTenantResponse create(@RequestBody final CreateTenantRequest tenantRequest) {
+    return tenantService.create(tenantRequest);
   }
 }
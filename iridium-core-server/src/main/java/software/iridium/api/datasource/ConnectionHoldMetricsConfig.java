@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(
+    name = "software.iridium.datasource.hold.metrics.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ConnectionHoldMetricsConfig {
+
+  @Bean
+  public static BeanPostProcessor connectionHoldTimingPostProcessor(
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+          return bean;
+        }
+        // time the physical connection, not the lazy handle given out at transaction start
+        if (bean instanceof LazyConnectionDataSourceProxy lazy) {
+          lazy.setTargetDataSource(
+              new ConnectionHoldTimingDataSource(
+                  lazy.getTargetDataSource(), meterRegistry::getIfAvailable));
+          return lazy;
+        }
+        return new ConnectionHoldTimingDataSource(dataSource, meterRegistry::getIfAvailable);
+      }
+    };
+  }
+}
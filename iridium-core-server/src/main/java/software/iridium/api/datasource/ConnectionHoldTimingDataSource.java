@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how long each connection is held, from checkout until it is closed, tagged with the
+ * endpoint that checked it out. Comparing this with request latency shows how much of a request
+ * really needs a pooled connection.
+ */
+public class ConnectionHoldTimingDataSource extends DelegatingDataSource {
+
+  public static final String METRIC_NAME = "iridium.db.connection.hold";
+  public static final String NO_REQUEST = "none";
+  // requests no handler matched carry arbitrary paths, which would mint a timer per path
+  public static final String UNMAPPED = "unmapped";
+
+  private final Supplier<MeterRegistry> meterRegistry;
+
+  public ConnectionHoldTimingDataSource(
+      final DataSource targetDataSource, final Supplier<MeterRegistry> meterRegistry) {
+    super(targetDataSource);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return timed(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return timed(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private Connection timed(final Connection connection) {
+    final var endpoint = currentEndpoint();
+    final var checkedOut = System.nanoTime();
+    final var closed = new boolean[1];
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if ("close".equals(method.getName()) && !closed[0]) {
+                closed[0] = true;
+                record(endpoint, System.nanoTime() - checkedOut);
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+              }
+            });
+  }
+
+  private void record(final String endpoint, final long nanos) {
+    final var registry = meterRegistry.get();
+    if (registry != null) {
+      Timer.builder(METRIC_NAME)
+          .tag("endpoint", endpoint)
+          .register(registry)
+          .record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  static String currentEndpoint() {
+    if (RequestContextHolder.getRequestAttributes()
+        instanceof ServletRequestAttributes attributes) {
+      final var request = attributes.getRequest();
+      final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      return pattern == null ? UNMAPPED : request.getMethod() + " " + pattern;
+    }
+    return NO_REQUEST;
+  }
+}
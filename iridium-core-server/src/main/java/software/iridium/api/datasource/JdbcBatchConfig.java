@@ -0,0 +1,40 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JdbcBatchConfig {
+
+  @Value("${software.iridium.jdbc.batch.size:50}")
+  private Integer batchSize;
+
+  @Bean
+  public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+    return this::customize;
+  }
+
+  void customize(final Map<String, Object> properties) {
+    // ids are assigned before insert, so consecutive rows of one table can share a batch; this pays
+    // off where a flush writes several rows per table, e.g. the properties of a provider sign-up
+    properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+    properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+    properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+    properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(name = "software.iridium.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+
+  @Value("${software.iridium.datasource.replica.urls}")
+  private String replicaUrls;
+
+  @Value("${software.iridium.datasource.replica.username:${spring.datasource.username}}")
+  private String replicaUsername;
+
+  @Value("${software.iridium.datasource.replica.password:${spring.datasource.password}}")
+  private String replicaPassword;
+
+  @Value("${software.iridium.datasource.replica.lag.query:SHOW SLAVE STATUS}")
+  private String lagQuery;
+
+  @Value("${software.iridium.datasource.replica.lag.column:Seconds_Behind_Master}")
+  private String lagColumn;
+
+  @Value("${software.iridium.datasource.replica.lag.max.seconds:5}")
+  private Long maxLagSeconds;
+
+  @Value("${software.iridium.datasource.replica.connection.timeout.ms:2000}")
+  private Long connectionTimeoutMs;
+
+  @Bean
+  public ReplicaHealthMonitor replicaHealthMonitor(final DataSourceProperties properties) {
+    final List<DataSource> replicas =
+        Arrays.stream(replicaUrls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(url -> (DataSource) replica(properties, url))
+            .toList();
+    // replicas stay out of rotation until the scheduler's first check, so startup never waits on
+    // one that cannot be reached
+    return new ReplicaHealthMonitor(replicas, lagQuery, lagColumn, maxLagSeconds);
+  }
+
+  private HikariDataSource replica(final DataSourceProperties properties, final String url) {
+    final var replica =
+        properties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(replicaUsername)
+            .password(replicaPassword)
+            .build();
+    // an unreachable replica fails its check quickly instead of holding up the scheduler
+    replica.setConnectionTimeout(connectionTimeoutMs);
+    replica.setInitializationFailTimeout(-1);
+    return replica;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      final DataSourceProperties properties, final ReplicaHealthMonitor replicaHealthMonitor) {
+    final var primary = properties.initializeDataSourceBuilder().build();
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(
+            primary, replicaHealthMonitor.getReplicas(), replicaHealthMonitor));
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+    // hold connections per transaction only, so a read on a replica never leaks into a later write
+    return properties ->
+        properties.putIfAbsent(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Tracks which replicas may serve reads. A replica is healthy when it answers within the validation
+ * timeout and, if a lag query is configured, reports a replication lag no greater than the
+ * tolerance. Replicas start unhealthy until their first successful check.
+ */
+public class ReplicaHealthMonitor {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+  private final List<DataSource> replicas;
+  private final String lagQuery;
+  private final String lagColumn;
+  private final long maxLagSeconds;
+  private final AtomicReferenceArray<Boolean> healthy;
+
+  public ReplicaHealthMonitor(
+      final List<DataSource> replicas,
+      final String lagQuery,
+      final String lagColumn,
+      final long maxLagSeconds) {
+    this.replicas = replicas;
+    this.lagQuery = lagQuery;
+    this.lagColumn = lagColumn;
+    this.maxLagSeconds = maxLagSeconds;
+    this.healthy = new AtomicReferenceArray<>(replicas.size());
+    for (int index = 0; index < replicas.size(); index++) {
+      healthy.set(index, false);
+    }
+  }
+
+  public boolean isHealthy(final int index) {
+    return healthy.get(index);
+  }
+
+  public List<DataSource> getReplicas() {
+    return replicas;
+  }
+
+  @Scheduled(
+      initialDelayString = "${software.iridium.datasource.replica.check.initial.delay.ms:0}",
+      fixedDelayString = "${software.iridium.datasource.replica.check.interval.ms:5000}")
+  public void checkAll() {
+    for (int index = 0; index < replicas.size(); index++) {
+      final var wasHealthy = healthy.get(index);
+      final var isHealthy = check(index);
+      healthy.set(index, isHealthy);
+      if (wasHealthy != isHealthy) {
+        logger.info("replica {} is now {}", index, isHealthy ? "serving reads" : "out of rotation");
+      }
+    }
+  }
+
+  boolean check(final int index) {
+    try (var connection = replicas.get(index).getConnection()) {
+      if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+        return false;
+      }
+      if (lagQuery == null || lagQuery.isBlank()) {
+        return true;
+      }
+      try (var statement = connection.createStatement();
+          var resultSet = statement.executeQuery(lagQuery)) {
+        if (!resultSet.next()) {
+          logger.warn("replica {} reports no replication status", index);
+          return false;
+        }
+        final var lag = resultSet.getLong(lagColumn);
+        if (resultSet.wasNull()) {
+          logger.warn("replica {} is not replicating", index);
+          return false;
+        }
+        if (lag > maxLagSeconds) {
+          logger.warn("replica {} is {}s behind, tolerance is {}s", index, lag, maxLagSeconds);
+          return false;
+        }
+        return true;
+      }
+    } catch (SQLException e) {
+      logger.warn("replica {} health check failed: {}", index, e.getMessage());
+      return false;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica, round robin, and everything else to the
+ * primary. Must be wrapped in a LazyConnectionDataSourceProxy so the lookup happens after the
+ * transaction's read-only flag has been bound.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  public static final String PRIMARY = "primary";
+  public static final String REPLICA_PREFIX = "replica-";
+
+  private final ReplicaHealthMonitor healthMonitor;
+  private final int replicaCount;
+  private final AtomicInteger counter = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(
+      final DataSource primary,
+      final List<DataSource> replicas,
+      final ReplicaHealthMonitor healthMonitor) {
+    this.healthMonitor = healthMonitor;
+    this.replicaCount = replicas.size();
+    final var targets = new HashMap<Object, Object>();
+    targets.put(PRIMARY, primary);
+    IntStream.range(0, replicas.size())
+        .forEach(index -> targets.put(replicaKey(index), replicas.get(index)));
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return PRIMARY;
+    }
+    final var start = Math.floorMod(counter.getAndIncrement(), replicaCount);
+    for (int offset = 0; offset < replicaCount; offset++) {
+      final var index = (start + offset) % replicaCount;
+      if (healthMonitor.isHealthy(index)) {
+        return replicaKey(index);
+      }
+    }
+    return PRIMARY;
+  }
+
+  public static String replicaKey(final int index) {
+    return REPLICA_PREFIX + index;
+  }
+}
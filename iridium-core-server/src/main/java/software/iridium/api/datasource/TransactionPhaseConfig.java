@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Short programmatic transactions for flows that do CPU heavy work, such as password hashing,
+ * between their reads and writes. Running that work outside of a transaction keeps the pooled
+ * connection free while it runs.
+ */
+@Configuration
+public class TransactionPhaseConfig {
+
+  public static final String READ_PHASE = "readPhase";
+  public static final String WRITE_PHASE = "writePhase";
+
+  @Bean(READ_PHASE)
+  public TransactionOperations readPhase(final PlatformTransactionManager transactionManager) {
+    final var template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+    return template;
+  }
+
+  @Bean(WRITE_PHASE)
+  public TransactionOperations writePhase(final PlatformTransactionManager transactionManager) {
+    return new TransactionTemplate(transactionManager);
+  }
+}
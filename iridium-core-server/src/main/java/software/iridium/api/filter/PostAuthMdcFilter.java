@@ -16,7 +16,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -31,16 +30,9 @@ public class PostAuthMdcFilter extends PreAuthMdcFilter {
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
-    String path = getRequestPath(request);
-    if (!path.equals("status")) {
+    if (!isStatusRequest(request)) {
       MDC.put(MDC_CONTEXT_USER_ID, retrieveUserId());
-      filterChain.doFilter(request, response);
     }
-  }
-
-  private String getRequestPath(HttpServletRequest request) {
-    String url = request.getRequestURL().toString();
-    int pathSegmentMarker = StringUtils.ordinalIndexOf(url, "/", 3);
-    return url.substring(pathSegmentMarker + 1);
+    filterChain.doFilter(request, response);
   }
 }
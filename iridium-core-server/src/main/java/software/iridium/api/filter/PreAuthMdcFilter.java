@@ -16,7 +16,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -31,6 +30,8 @@ public class PreAuthMdcFilter extends OncePerRequestFilter {
   public static final String MDC_CONTEXT_REQUEST_ID = "RequestId";
   public static final String MDC_CONTEXT_USER_ID = "UserId";
 
+  private static final String STATUS_PATH = "/status";
+
   @Value("${HOSTNAME:localhost}")
   private String hostname;
 
@@ -40,8 +41,7 @@ public class PreAuthMdcFilter extends OncePerRequestFilter {
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
-    String path = getRequestPath(request);
-    if (!path.equals("status")) {
+    if (!isStatusRequest(request)) {
       try {
 
         MDC.put(MDC_CONTEXT_HOST_NAME, hostname);
@@ -69,9 +69,7 @@ public class PreAuthMdcFilter extends OncePerRequestFilter {
     return "anonymous";
   }
 
-  private String getRequestPath(HttpServletRequest request) {
-    String url = request.getRequestURL().toString();
-    int pathSegmentMarker = StringUtils.ordinalIndexOf(url, "/", 3);
-    return url.substring(pathSegmentMarker + 1);
+  protected boolean isStatusRequest(HttpServletRequest request) {
+    return STATUS_PATH.equals(request.getRequestURI());
   }
 }
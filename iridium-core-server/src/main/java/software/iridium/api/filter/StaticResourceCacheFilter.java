@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sets Cache-Control on the login page assets. Urls fingerprinted by the resource chain name one
+ * version of a file for good and are cached as immutable; plain urls and missing files are
+ * revalidated so a redeploy is picked up.
+ */
+@Component
+public class StaticResourceCacheFilter extends OncePerRequestFilter {
+
+  private static final String[] STATIC_PATHS = {"/styles/", "/img/"};
+
+  // the content version strategy appends "-" and the md5 hex of the file before its extension
+  private static final int CONTENT_VERSION_LENGTH = 32;
+
+  private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+  private final String immutable;
+
+  public StaticResourceCacheFilter(
+      @Value("${software.iridium.static.max-age.days:365}") final long maxAgeDays) {
+    this.immutable =
+        CacheControl.maxAge(Duration.ofDays(maxAgeDays)).cachePublic().immutable().getHeaderValue();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    final var path = request.getRequestURI();
+    for (String staticPath : STATIC_PATHS) {
+      if (path.startsWith(staticPath)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL,
+        isFingerprinted(request.getRequestURI()) ? immutable : REVALIDATE);
+    filterChain.doFilter(request, new RevalidateErrors(response));
+  }
+
+  static boolean isFingerprinted(final String path) {
+    final var extension = path.lastIndexOf('.');
+    final var version = extension - CONTENT_VERSION_LENGTH;
+    if (version < 1 || path.charAt(version - 1) != '-' || path.lastIndexOf('/') >= version) {
+      return false;
+    }
+    for (int i = version; i < extension; i++) {
+      if (Character.digit(path.charAt(i), 16) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // a fingerprint that no longer matches the file is answered with a 404, which must not stick
+  private static class RevalidateErrors extends HttpServletResponseWrapper {
+
+    RevalidateErrors(final HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public void sendError(final int status) throws IOException {
+      setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+      super.sendError(status);
+    }
+
+    @Override
+    public void sendError(final int status, final String message) throws IOException {
+      setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+      super.sendError(status, message);
+    }
+  }
+}
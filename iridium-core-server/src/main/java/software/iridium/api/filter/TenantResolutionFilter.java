@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import software.iridium.api.tenant.TenantContext;
+import software.iridium.api.tenant.TenantDirectory;
+import software.iridium.api.util.SubdomainExtractor;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TenantResolutionFilter extends OncePerRequestFilter {
+
+  @Autowired private SubdomainExtractor subdomainExtractor;
+  @Autowired private TenantDirectory tenantDirectory;
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    final var subdomain = subdomainExtractor.extractFromHost(request.getServerName());
+    request.setAttribute(
+        TenantContext.ATTRIBUTE,
+        new TenantContext(subdomain, tenantDirectory.findTenantId(subdomain)));
+    filterChain.doFilter(request, response);
+  }
+}
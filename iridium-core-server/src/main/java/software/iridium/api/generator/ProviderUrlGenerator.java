@@ -13,18 +13,18 @@ package software.iridium.api.generator;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
-import software.iridium.entity.ExternalIdentityProviderEntity;
+import software.iridium.api.provider.ProviderConfig;
 
 @Component
 public class ProviderUrlGenerator {
 
-  public String generate(final ExternalIdentityProviderEntity provider, final String code) {
+  public String generate(final ProviderConfig provider, final String code) {
 
-    return UriComponentsBuilder.fromUriString(provider.getAccessTokenRequestBaseUrl())
-        .queryParam("client_id", provider.getClientId())
-        .queryParam("client_secret", provider.getClientSecret())
+    return UriComponentsBuilder.fromUriString(provider.accessTokenRequestBaseUrl())
+        .queryParam("client_id", provider.clientId())
+        .queryParam("client_secret", provider.clientSecret())
         .queryParam("code", code)
-        .queryParam("redirect_url", provider.getRedirectUri())
+        .queryParam("redirect_url", provider.redirectUri())
         .buildAndExpand()
         .toUriString();
   }
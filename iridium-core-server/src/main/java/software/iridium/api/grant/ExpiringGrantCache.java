@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded map whose entries expire, swept by a hashed timer wheel. Each entry's key is placed in
+ * the slot for the tick it expires in; advancing the wheel only visits the slots that have come
+ * due, so expiry costs are proportional to the entries expiring rather than to the size of the map.
+ * Entries due more than one revolution ahead stay in their slot until their own tick comes round.
+ */
+public class ExpiringGrantCache<V> {
+
+  private record Entry<V>(V value, long expiresAt) {}
+
+  private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final Queue<String>[] wheel;
+  private final long tickMillis;
+  private final int capacity;
+  private final AtomicInteger size = new AtomicInteger();
+  private long currentTick;
+
+  @SuppressWarnings("unchecked")
+  public ExpiringGrantCache(
+      final int capacity, final int slots, final long tickMillis, final long now) {
+    this.capacity = capacity;
+    this.tickMillis = tickMillis;
+    this.wheel = new Queue[slots];
+    for (int index = 0; index < slots; index++) {
+      wheel[index] = new ConcurrentLinkedQueue<>();
+    }
+    this.currentTick = now / tickMillis;
+  }
+
+  /**
+   * @throws IllegalStateException when the cache already holds its capacity of live entries
+   */
+  public void put(final String key, final V value, final long expiresAt) {
+    final var entry = new Entry<>(value, expiresAt);
+    if (entries.replace(key, entry) == null) {
+      if (size.incrementAndGet() > capacity) {
+        size.decrementAndGet();
+        throw new IllegalStateException("grant capacity of " + capacity + " reached");
+      }
+      if (entries.put(key, entry) != null) {
+        size.decrementAndGet();
+      }
+    }
+    wheel[slotFor(expiresAt)].add(key);
+  }
+
+  public Optional<V> get(final String key, final long now) {
+    final var entry = entries.get(key);
+    if (entry == null || entry.expiresAt() <= now) {
+      return Optional.empty();
+    }
+    return Optional.of(entry.value());
+  }
+
+  /** Removes and returns the entry; of several concurrent callers only one receives it. */
+  public Optional<V> take(final String key, final long now) {
+    final var entry = entries.remove(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    size.decrementAndGet();
+    return entry.expiresAt() > now ? Optional.of(entry.value()) : Optional.empty();
+  }
+
+  public void remove(final String key) {
+    if (entries.remove(key) != null) {
+      size.decrementAndGet();
+    }
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  /** Expires every entry due up to now, visiting each slot passed since the previous call once. */
+  public synchronized void advance(final long now) {
+    final var targetTick = now / tickMillis;
+    final var ticks = Math.min(targetTick - currentTick, wheel.length);
+    for (long tick = 0; tick < ticks; tick++) {
+      expire(slotForTick(currentTick + 1 + tick), now);
+    }
+    currentTick = Math.max(currentTick, targetTick);
+  }
+
+  private void expire(final int slotIndex, final long now) {
+    final var slot = wheel[slotIndex];
+    final var pending = slot.size();
+    for (int index = 0; index < pending; index++) {
+      final var key = slot.poll();
+      if (key == null) {
+        return;
+      }
+      final var entry = entries.get(key);
+      if (entry == null) {
+        continue;
+      }
+      if (entry.expiresAt() <= now) {
+        if (entries.remove(key, entry)) {
+          size.decrementAndGet();
+        }
+      } else if (slotFor(entry.expiresAt()) == slotIndex) {
+        // not due yet: it is at least one revolution ahead, check it again next time round
+        slot.add(key);
+      }
+    }
+  }
+
+  private int slotFor(final long expiresAt) {
+    return slotForTick(expiresAt / tickMillis);
+  }
+
+  private int slotForTick(final long tick) {
+    return (int) Math.floorMod(tick, (long) wheel.length);
+  }
+}
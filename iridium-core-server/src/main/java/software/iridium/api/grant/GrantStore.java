@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import java.util.Date;
+import java.util.Optional;
+import software.iridium.entity.AuthorizationCodeEntity;
+import software.iridium.entity.InProgressExternalIdentityProviderAuthorizationEntity;
+
+/**
+ * Holds the short-lived grants of the authorization code flow: issued authorization codes and
+ * external provider authorizations that are waiting for the provider's callback.
+ */
+public interface GrantStore {
+
+  String STORE_PROPERTY = "software.iridium.grant.store";
+
+  void saveAuthorizationCode(AuthorizationCodeEntity authorizationCode);
+
+  /**
+   * Atomically marks the code as used. Returns the code only to the single caller that claimed it
+   * while it was active and unexpired.
+   */
+  Optional<AuthorizationCodeEntity> claimAuthorizationCode(String authorizationCode, Date now);
+
+  void saveInProgressAuthorization(
+      InProgressExternalIdentityProviderAuthorizationEntity inProgressAuthorization);
+
+  Optional<InProgressExternalIdentityProviderAuthorizationEntity> findInProgressAuthorization(
+      String state);
+
+  void removeInProgressAuthorization(
+      InProgressExternalIdentityProviderAuthorizationEntity inProgressAuthorization);
+}
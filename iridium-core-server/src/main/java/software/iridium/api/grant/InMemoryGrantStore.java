@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.iridium.entity.AuthorizationCodeEntity;
+import software.iridium.entity.InProgressExternalIdentityProviderAuthorizationEntity;
+
+/**
+ * Keeps grants in this node's memory only. Suitable for single node deployments or when requests of
+ * one login are pinned to the same node; grants are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = GrantStore.STORE_PROPERTY, havingValue = "memory")
+public class InMemoryGrantStore implements GrantStore {
+
+  private static final int WHEEL_SLOTS = 512;
+  private static final long TICK_MILLIS = 1000L;
+
+  private final ExpiringGrantCache<AuthorizationCodeEntity> authorizationCodes;
+  private final ExpiringGrantCache<InProgressExternalIdentityProviderAuthorizationEntity>
+      inProgressAuthorizations;
+
+  public InMemoryGrantStore(
+      @Value("${software.iridium.grant.memory.capacity:100000}") final int capacity) {
+    final var now = System.currentTimeMillis();
+    this.authorizationCodes = new ExpiringGrantCache<>(capacity, WHEEL_SLOTS, TICK_MILLIS, now);
+    this.inProgressAuthorizations =
+        new ExpiringGrantCache<>(capacity, WHEEL_SLOTS, TICK_MILLIS, now);
+  }
+
+  @Override
+  public void saveAuthorizationCode(final AuthorizationCodeEntity authorizationCode) {
+    authorizationCodes.put(
+        authorizationCode.getAuthorizationCode(),
+        authorizationCode,
+        authorizationCode.getExpiration().getTime());
+  }
+
+  @Override
+  public Optional<AuthorizationCodeEntity> claimAuthorizationCode(
+      final String authorizationCode, final Date now) {
+    return authorizationCodes
+        .take(authorizationCode, now.getTime())
+        .map(
+            code -> {
+              code.setActive(false);
+              return code;
+            });
+  }
+
+  @Override
+  public void saveInProgressAuthorization(
+      final InProgressExternalIdentityProviderAuthorizationEntity inProgressAuthorization) {
+    inProgressAuthorizations.put(
+        inProgressAuthorization.getState(),
+        inProgressAuthorization,
+        inProgressAuthorization.getExpiration().getTime());
+  }
+
+  @Override
+  public Optional<InProgressExternalIdentityProviderAuthorizationEntity>
+      findInProgressAuthorization(final String state) {
+    return inProgressAuthorizations.get(state, System.currentTimeMillis());
+  }
+
+  @Override
+  public void removeInProgressAuthorization(
+      final InProgressExternalIdentityProviderAuthorizationEntity inProgressAuthorization) {
+    inProgressAuthorizations.remove(inProgressAuthorization.getState());
+  }
+
+  @Scheduled(fixedDelay = TICK_MILLIS)
+  public void expire() {
+    final var now = System.currentTimeMillis();
+    authorizationCodes.advance(now);
+    inProgressAuthorizations.advance(now);
+  }
+}
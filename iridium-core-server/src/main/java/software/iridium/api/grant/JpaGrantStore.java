@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import software.iridium.api.repository.AuthorizationCodeEntityRepository;
+import software.iridium.api.repository.InProgressExternalIdentityProviderAuthorizationEntityRepository;
+import software.iridium.entity.AuthorizationCodeEntity;
+import software.iridium.entity.InProgressExternalIdentityProviderAuthorizationEntity;
+
+@Component
+@ConditionalOnProperty(name = GrantStore.STORE_PROPERTY, havingValue = "jpa", matchIfMissing = true)
+public class JpaGrantStore implements GrantStore {
+
+  @Autowired private AuthorizationCodeEntityRepository authCodeRepository;
+
+  @Autowired
+  private InProgressExternalIdentityProviderAuthorizationEntityRepository inProgressAuthRepository;
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public void saveAuthorizationCode(final AuthorizationCodeEntity authorizationCode) {
+    authCodeRepository.save(authorizationCode);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public Optional<AuthorizationCodeEntity> claimAuthorizationCode(
+      final String authorizationCode, final Date now) {
+    if (authCodeRepository.claim(authorizationCode, now) == 0) {
+      return Optional.empty();
+    }
+    return authCodeRepository.findByAuthorizationCode(authorizationCode);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public void saveInProgressAuthorization(
+      final InProgressExternalIdentityProviderAuthorizationEntity inProgressAuthorization) {
+    inProgressAuthRepository.save(inProgressAuthorization);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public Optional<InProgressExternalIdentityProviderAuthorizationEntity>
+      findInProgressAuthorization(final String state) {
+    return inProgressAuthRepository.findByState(state);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public void removeInProgressAuthorization(
+      final InProgressExternalIdentityProviderAuthorizationEntity inProgressAuthorization) {
+    inProgressAuthRepository.delete(inProgressAuthorization);
+  }
+}
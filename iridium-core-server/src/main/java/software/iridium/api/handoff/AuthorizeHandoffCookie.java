@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.handoff;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries an {@link AuthorizeHandoff} from the login and registration form posts to the authorize
+ * page in a short-lived cookie, encrypted and authenticated with AES-GCM, so that the page can be
+ * rendered by any node without a server side session. Nodes behind one load balancer must share the
+ * key configured in {@value #KEY_PROPERTY}.
+ */
+@Component
+public class AuthorizeHandoffCookie {
+
+  private static final Logger logger = LoggerFactory.getLogger(AuthorizeHandoffCookie.class);
+
+  public static final String COOKIE_NAME = "IRIDIUM_AUTHORIZE";
+  public static final String KEY_PROPERTY = "software.iridium.handoff.key";
+
+  private static final String COOKIE_PATH = "/authorize";
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_BYTES = 12;
+  private static final int TAG_BITS = 128;
+  private static final byte[] ASSOCIATED_DATA = COOKIE_NAME.getBytes(StandardCharsets.US_ASCII);
+
+  private final SecureRandom random = new SecureRandom();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Value("${" + KEY_PROPERTY + ":}")
+  private String configuredKey;
+
+  @Value("${software.iridium.handoff.ttl.seconds:120}")
+  private Long ttlSeconds;
+
+  @Value("${software.iridium.handoff.cookie.secure:true}")
+  private Boolean secureCookie;
+
+  private SecretKey key;
+
+  @PostConstruct
+  public void initialize() {
+    final byte[] keyBytes;
+    if (configuredKey == null || configuredKey.isBlank()) {
+      logger.warn(
+          "{} is not set, using a random key; authorize handoffs only work on this node",
+          KEY_PROPERTY);
+      keyBytes = new byte[32];
+      random.nextBytes(keyBytes);
+    } else {
+      keyBytes = decodeKey(configuredKey.trim());
+    }
+    key = new SecretKeySpec(keyBytes, "AES");
+  }
+
+  // fails startup here rather than on the first login, where the cipher would reject the key
+  private static byte[] decodeKey(final String encodedKey) {
+    final byte[] keyBytes;
+    try {
+      keyBytes = Base64.getDecoder().decode(encodedKey);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(KEY_PROPERTY + " is not valid base64: " + e.getMessage());
+    }
+    if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+      throw new IllegalStateException(
+          KEY_PROPERTY
+              + " must decode to a 16, 24 or 32 byte AES key, got "
+              + keyBytes.length
+              + " bytes");
+    }
+    return keyBytes;
+  }
+
+  public void write(final HttpServletResponse response, final AuthorizeHandoff handoff) {
+    final var expiresAt = System.currentTimeMillis() + ttlSeconds * 1000L;
+    response.addHeader(
+        HttpHeaders.SET_COOKIE,
+        cookie(encode(handoff, expiresAt), Duration.ofSeconds(ttlSeconds)).toString());
+  }
+
+  /** Reads the handoff and clears the cookie so that it is used once. */
+  public Optional<AuthorizeHandoff> consume(
+      final HttpServletRequest request, final HttpServletResponse response) {
+    if (request.getCookies() == null) {
+      return Optional.empty();
+    }
+    final var value =
+        Arrays.stream(request.getCookies())
+            .filter(cookie -> COOKIE_NAME.equals(cookie.getName()))
+            .map(Cookie::getValue)
+            .findFirst();
+    if (value.isEmpty()) {
+      return Optional.empty();
+    }
+    response.addHeader(HttpHeaders.SET_COOKIE, cookie("", Duration.ZERO).toString());
+    return decode(value.get(), System.currentTimeMillis());
+  }
+
+  String encode(final AuthorizeHandoff handoff, final long expiresAt) {
+    try {
+      final var json = objectMapper.writeValueAsBytes(handoff);
+      final var plaintext =
+          ByteBuffer.allocate(Long.BYTES + json.length).putLong(expiresAt).put(json).array();
+      final var iv = new byte[IV_BYTES];
+      random.nextBytes(iv);
+      final var cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+      cipher.updateAAD(ASSOCIATED_DATA);
+      final var ciphertext = cipher.doFinal(plaintext);
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(
+              ByteBuffer.allocate(IV_BYTES + ciphertext.length).put(iv).put(ciphertext).array());
+    } catch (GeneralSecurityException | JsonProcessingException e) {
+      throw new IllegalStateException("unable to encode authorize handoff", e);
+    }
+  }
+
+  Optional<AuthorizeHandoff> decode(final String value, final long now) {
+    try {
+      final var bytes = Base64.getUrlDecoder().decode(value);
+      if (bytes.length <= IV_BYTES) {
+        return Optional.empty();
+      }
+      final var cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+      cipher.updateAAD(ASSOCIATED_DATA);
+      final var plaintext =
+          ByteBuffer.wrap(cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES));
+      if (plaintext.getLong() <= now) {
+        return Optional.empty();
+      }
+      final var json = new byte[plaintext.remaining()];
+      plaintext.get(json);
+      return Optional.of(objectMapper.readValue(json, AuthorizeHandoff.class));
+    } catch (IllegalArgumentException | GeneralSecurityException | IOException e) {
+      logger.warn("rejected authorize handoff: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private ResponseCookie cookie(final String value, final Duration maxAge) {
+    return ResponseCookie.from(COOKIE_NAME, value)
+        .path(COOKIE_PATH)
+        .maxAge(maxAge)
+        .httpOnly(true)
+        .secure(secureCookie)
+        .sameSite("Lax")
+        .build();
+  }
+}
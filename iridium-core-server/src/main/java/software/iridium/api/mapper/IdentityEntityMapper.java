@@ -11,6 +11,7 @@
  */
 package software.iridium.api.mapper;
 
+import java.util.List;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,4 +38,17 @@ public class IdentityEntityMapper {
     response.getRoles().addAll(entity.getRoles().stream().map(RoleEntity::getName).toList());
     return response;
   }
+
+  public IdentityResponse map(final IdentityEntity entity, final List<String> managedTenantIds) {
+    if (entity == null) {
+      return null;
+    }
+
+    final var response = new IdentityResponse();
+    response.setId(entity.getId());
+    response.setUsername(entity.getPrimaryEmail().getEmailAddress());
+    response.getTenantIds().addAll(managedTenantIds);
+    response.getRoles().addAll(entity.getRoles().stream().map(RoleEntity::getName).toList());
+    return response;
+  }
 }
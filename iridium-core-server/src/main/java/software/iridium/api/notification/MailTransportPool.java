@@ -0,0 +1,229 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends mail over a few long-lived SMTP connections instead of one connection per message. Workers
+ * take whatever is queued, up to a batch, and send it over their own connection; a connection is
+ * replaced after a number of messages and closed once its worker has been idle for a while. With no
+ * workers, or with the queue full, mail is sent on the caller's thread as before.
+ */
+@Component
+public class MailTransportPool {
+
+  private static final Logger logger = LoggerFactory.getLogger(MailTransportPool.class);
+
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000L;
+  private static final String DEFAULT_PROTOCOL = "smtp";
+
+  private final JavaMailSenderImpl mailSender;
+  private final BlockingQueue<MimeMessage> queue;
+  private final int workers;
+  private final int batchSize;
+  private final int messagesPerConnection;
+  private final long idleTimeoutMillis;
+  private final List<Thread> threads = new ArrayList<>();
+
+  private final Counter sent;
+  private final Counter failed;
+  private final Counter connections;
+  private final DistributionSummary batches;
+
+  private volatile boolean running;
+
+  public MailTransportPool(
+      final JavaMailSender mailSender,
+      final ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${software.iridium.mail.pool.workers:2}") final int workers,
+      @Value("${software.iridium.mail.pool.queue.capacity:1000}") final int queueCapacity,
+      @Value("${software.iridium.mail.pool.batch.size:50}") final int batchSize,
+      @Value("${software.iridium.mail.pool.messages.per.connection:100}")
+          final int messagesPerConnection,
+      @Value("${software.iridium.mail.pool.idle.timeout.ms:30000}") final long idleTimeoutMillis) {
+    this.mailSender = (JavaMailSenderImpl) mailSender;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.workers = workers;
+    this.batchSize = batchSize;
+    this.messagesPerConnection = messagesPerConnection;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+
+    final var registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    this.sent = registry.counter("iridium.mail.sent");
+    this.failed = registry.counter("iridium.mail.failed");
+    this.connections = registry.counter("iridium.mail.connections");
+    this.batches = registry.summary("iridium.mail.batch.size");
+    registry.gaugeCollectionSize("iridium.mail.queue.size", List.of(), queue);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    for (int i = 0; i < workers; i++) {
+      final var thread = new Thread(new Worker(), "mail-transport-" + i);
+      thread.setDaemon(true);
+      thread.start();
+      threads.add(thread);
+    }
+  }
+
+  // queued mail is still sent; workers are only interrupted out of waiting for more
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    threads.forEach(Thread::interrupt);
+    final var deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+    for (Thread thread : threads) {
+      thread.join(Math.max(1L, deadline - System.currentTimeMillis()));
+    }
+    if (!queue.isEmpty()) {
+      logger.warn("{} queued emails were not sent before shutdown", queue.size());
+    }
+  }
+
+  public void send(final MimeMessage message) {
+    if (running && !threads.isEmpty() && queue.offer(message)) {
+      return;
+    }
+    mailSender.send(message);
+    sent.increment();
+  }
+
+  double getSentCount() {
+    return sent.count();
+  }
+
+  double getFailedCount() {
+    return failed.count();
+  }
+
+  double getConnectionCount() {
+    return connections.count();
+  }
+
+  private class Worker implements Runnable {
+
+    private Transport transport;
+    private int sentOnConnection;
+
+    @Override
+    public void run() {
+      final var batch = new ArrayList<MimeMessage>(batchSize);
+      while (running || !queue.isEmpty()) {
+        final MimeMessage first;
+        try {
+          first = running ? queue.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS) : queue.poll();
+        } catch (InterruptedException e) {
+          continue;
+        }
+        if (first == null) {
+          close();
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        batches.record(batch.size());
+        batch.forEach(this::deliver);
+        batch.clear();
+      }
+      close();
+    }
+
+    private void deliver(final MimeMessage message) {
+      try {
+        if (message.getSentDate() == null) {
+          message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        if (sentOnConnection >= messagesPerConnection) {
+          close();
+        }
+        final var reused = transport != null;
+        try {
+          sendOverConnection(message);
+        } catch (MessagingException e) {
+          if (!reused) {
+            throw e;
+          }
+          // the server may have dropped a connection we kept open; retry once on a fresh one
+          close();
+          sendOverConnection(message);
+        }
+        sent.increment();
+      } catch (MessagingException e) {
+        failed.increment();
+        close();
+        logger.error("failed to send queued email", e);
+      }
+    }
+
+    private void sendOverConnection(final MimeMessage message) throws MessagingException {
+      if (transport == null) {
+        transport = connect();
+      }
+      transport.sendMessage(message, message.getAllRecipients());
+      sentOnConnection++;
+    }
+
+    private Transport connect() throws MessagingException {
+      final var protocol = mailSender.getProtocol();
+      final var connection =
+          mailSender.getSession().getTransport(protocol == null ? DEFAULT_PROTOCOL : protocol);
+      connection.connect(
+          mailSender.getHost(),
+          mailSender.getPort(),
+          emptyToNull(mailSender.getUsername()),
+          emptyToNull(mailSender.getPassword()));
+      connections.increment();
+      sentOnConnection = 0;
+      return connection;
+    }
+
+    private void close() {
+      if (transport == null) {
+        return;
+      }
+      try {
+        transport.close();
+      } catch (MessagingException e) {
+        logger.debug("failed to close smtp connection", e);
+      }
+      transport = null;
+    }
+  }
+
+  private static String emptyToNull(final String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+}
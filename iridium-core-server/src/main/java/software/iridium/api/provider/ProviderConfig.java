@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.provider;
+
+import software.iridium.entity.ExternalIdentityProviderEntity;
+
+/**
+ * The settings of an external provider needed to run its authorization flow, copied out of the
+ * entity when the tenant's providers are loaded so nothing mutable or lazily loaded is cached.
+ */
+public record ProviderConfig(
+    String id,
+    String name,
+    String clientId,
+    String clientSecret,
+    String redirectUri,
+    String baseAuthorizationUrl,
+    String scope,
+    String accessTokenRequestBaseUrl,
+    String profileRequestBaseUrl) {
+
+  public static ProviderConfig of(final ExternalIdentityProviderEntity provider) {
+    return new ProviderConfig(
+        provider.getId(),
+        provider.getName(),
+        provider.getClientId(),
+        provider.getClientSecret(),
+        provider.getRedirectUri(),
+        provider.getBaseAuthorizationUrl(),
+        provider.getScope(),
+        provider.getAccessTokenRequestBaseUrl(),
+        provider.getProfileRequestBaseUrl());
+  }
+
+  // keeps the client secret out of logs and exception messages
+  @Override
+  public String toString() {
+    return "ProviderConfig[id=" + id + ", name=" + name + ", clientId=" + clientId + "]";
+  }
+}
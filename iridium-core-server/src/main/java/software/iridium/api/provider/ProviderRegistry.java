@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.provider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import software.iridium.api.base.error.ResourceNotFoundException;
+import software.iridium.api.repository.ApplicationEntityRepository;
+import software.iridium.api.repository.TenantEntityRepository;
+
+/**
+ * Resolves the active external providers for an application's client id. The first lookup of a
+ * client id loads the application and tenant; later lookups are answered from memory until the
+ * registry is refreshed.
+ */
+@Component
+public class ProviderRegistry {
+
+  @Autowired private ApplicationEntityRepository applicationRepository;
+  @Autowired private TenantEntityRepository tenantRepository;
+
+  private final Map<String, TenantProviders> byClientId = new ConcurrentHashMap<>();
+
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public TenantProviders resolve(final String clientId) {
+    final var cached = byClientId.get(clientId);
+    if (cached != null) {
+      return cached;
+    }
+    final var loaded = load(clientId);
+    final var existing = byClientId.putIfAbsent(clientId, loaded);
+    return existing == null ? loaded : existing;
+  }
+
+  // providers are maintained outside of this server, so pick up their changes periodically
+  @Scheduled(
+      initialDelayString = "${software.iridium.provider.registry.refresh.interval.ms:60000}",
+      fixedDelayString = "${software.iridium.provider.registry.refresh.interval.ms:60000}")
+  public void refresh() {
+    byClientId.clear();
+  }
+
+  int size() {
+    return byClientId.size();
+  }
+
+  private TenantProviders load(final String clientId) {
+    final var application =
+        applicationRepository
+            .findByClientId(clientId)
+            .orElseThrow(
+                () ->
+                    new ResourceNotFoundException(
+                        "application not found for clientId: " + clientId));
+    final var tenant =
+        tenantRepository
+            .findById(application.getTenantId())
+            .orElseThrow(
+                () ->
+                    new ResourceNotFoundException(
+                        String.format(
+                            "tenant %s not found with clientId: %s",
+                            application.getTenantId(), clientId)));
+    return TenantProviders.of(
+        tenant.getId(), application.getId(), tenant.getExternalIdentityProviders());
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.provider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import software.iridium.entity.ExternalIdentityProviderEntity;
+
+/** The active external providers of the tenant owning an application, keyed by normalized name. */
+public record TenantProviders(
+    String tenantId, String applicationId, Map<String, ProviderConfig> providers) {
+
+  public static TenantProviders of(
+      final String tenantId,
+      final String applicationId,
+      final List<ExternalIdentityProviderEntity> providers) {
+    final var byName = new HashMap<String, ProviderConfig>();
+    for (ExternalIdentityProviderEntity provider : providers) {
+      if (provider.isActive()) {
+        byName.putIfAbsent(normalize(provider.getName()), ProviderConfig.of(provider));
+      }
+    }
+    return new TenantProviders(tenantId, applicationId, Map.copyOf(byName));
+  }
+
+  public Optional<ProviderConfig> find(final String providerName) {
+    return Optional.ofNullable(providers.get(normalize(providerName)));
+  }
+
+  public Optional<ProviderConfig> findById(final String providerId) {
+    return providers.values().stream()
+        .filter(provider -> provider.id().equals(providerId))
+        .findAny();
+  }
+
+  static String normalize(final String providerName) {
+    return providerName.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -11,6 +11,7 @@
  */
 package software.iridium.api.repository;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -26,5 +27,8 @@ public interface ApplicationEntityRepository extends JpaRepository<ApplicationEn
   Page<ApplicationEntity> findAllByTenantIdAndActive(
       final String tenantId, final Boolean active, final Pageable of);
 
+  List<ApplicationEntity> findAllByTenantIdAndActiveAndIdGreaterThanOrderByIdAsc(
+      final String tenantId, final Boolean active, final String afterId, final Pageable limit);
+
   Optional<ApplicationEntity> findByTenantIdAndId(String tenantId, String id);
 }
@@ -11,10 +11,18 @@
  */
 package software.iridium.api.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import software.iridium.entity.ApplicationTypeEntity;
 
 public interface ApplicationTypeEntityRepository
     extends JpaRepository<ApplicationTypeEntity, String> {
-  // intentionally left blank
+
+  @Override
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  List<ApplicationTypeEntity> findAll();
 }
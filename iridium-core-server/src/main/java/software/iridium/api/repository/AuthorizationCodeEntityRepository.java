@@ -11,13 +11,28 @@
  */
 package software.iridium.api.repository;
 
+import java.util.Date;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import software.iridium.entity.AuthorizationCodeEntity;
 
 public interface AuthorizationCodeEntityRepository
     extends JpaRepository<AuthorizationCodeEntity, String> {
 
-  Optional<AuthorizationCodeEntity> findByAuthorizationCodeAndActiveTrue(
-      final String authorizationCode);
+  Optional<AuthorizationCodeEntity> findByAuthorizationCode(final String authorizationCode);
+
+  /**
+   * Marks an active, unexpired code as used. Only one caller can see a count of 1 for a given code,
+   * so concurrent redemptions of the same code cannot both succeed.
+   */
+  @Modifying
+  @Query(
+      "update AuthorizationCodeEntity c set c.active = false, c.version = c.version + 1"
+          + " where c.authorizationCode = :authorizationCode and c.active = true"
+          + " and c.expiration > :now")
+  int claim(
+      @Param("authorizationCode") final String authorizationCode, @Param("now") final Date now);
 }
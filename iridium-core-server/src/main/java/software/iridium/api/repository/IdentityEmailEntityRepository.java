@@ -12,6 +12,7 @@
 package software.iridium.api.repository;
 
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import software.iridium.entity.IdentityEmailEntity;
 
@@ -21,4 +22,8 @@ public interface IdentityEmailEntityRepository extends JpaRepository<IdentityEma
 
   Optional<IdentityEmailEntity> findByEmailAddressAndIdentity_ParentTenantId(
       final String emailAddress, final String parentTenantId);
+
+  @EntityGraph(attributePaths = {"identity"})
+  Optional<IdentityEmailEntity> findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+      final String emailAddress, final String parentTenantId);
 }
@@ -11,12 +11,83 @@
  */
 package software.iridium.api.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import software.iridium.api.authentication.domain.IdentitySummary;
 import software.iridium.entity.IdentityEntity;
 
 public interface IdentityEntityRepository extends JpaRepository<IdentityEntity, String> {
 
   Optional<IdentityEntity> findByProvider_IdAndExternalId(
       final String providerId, final String externalId);
+
+  @EntityGraph(IdentityEntity.EMAILS_AND_ROLES_GRAPH)
+  Optional<IdentityEntity> findWithEmailsAndRolesById(final String id);
+
+  @Query("select t.id from IdentityEntity i join i.managedTenants t where i.id = :identityId")
+  List<String> findManagedTenantIds(@Param("identityId") final String identityId);
+
+  // version columns only; enough to tell whether the identity response changed
+  @Query(
+      "select concat(i.id, ':', cast(i.version as String), ':', coalesce(e.id, ''), ':',"
+          + " coalesce(cast(e.version as String), '')) from IdentityEntity i left join i.emails e"
+          + " on e.primary = true where i.id = :identityId")
+  Optional<String> findVersionTagById(@Param("identityId") final String identityId);
+
+  @Query(
+      "select concat(t.id, ':', cast(t.version as String)) "
+          + "from IdentityEntity i join i.managedTenants t where i.id = :identityId order by t.id")
+  List<String> findManagedTenantVersionTags(@Param("identityId") final String identityId);
+
+  @Query(
+      "select case when count(a) > 0 then true else false end "
+          + "from IdentityEntity i join i.authorizedApplications a "
+          + "where i.id = :identityId and a.id = :applicationId")
+  boolean isApplicationGranted(
+      @Param("identityId") final String identityId,
+      @Param("applicationId") final String applicationId);
+
+  @Modifying
+  @Query(
+      value =
+          "insert ignore into identities_applications (identity_id, application_id) "
+              + "values (:identityId, :applicationId)",
+      nativeQuery = true)
+  int grantApplication(
+      @Param("identityId") final String identityId,
+      @Param("applicationId") final String applicationId);
+
+  @Query(
+      "select new software.iridium.api.authentication.domain.IdentitySummary("
+          + "i.id, e.emailAddress, e.verified, i.locked, i.created, i.lastSuccessfulLogin) "
+          + "from IdentityEntity i left join i.emails e on e.primary = true "
+          + "where i.parentTenantId = :tenantId and i.id > :afterId order by i.id")
+  List<IdentitySummary> findSummariesByParentTenantIdAfter(
+      @Param("tenantId") final String tenantId,
+      @Param("afterId") final String afterId,
+      final Pageable limit);
+
+  // a fetch size of Integer.MIN_VALUE makes the mysql driver stream rows instead of buffering
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "select new software.iridium.api.authentication.domain.IdentitySummary("
+          + "i.id, e.emailAddress, e.verified, i.locked, i.created, i.lastSuccessfulLogin) "
+          + "from IdentityEntity i left join i.emails e on e.primary = true "
+          + "where i.parentTenantId = :tenantId order by i.id")
+  Stream<IdentitySummary> streamSummariesByParentTenantId(@Param("tenantId") final String tenantId);
 }
@@ -11,14 +11,23 @@
  */
 package software.iridium.api.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import software.iridium.entity.LoginDescriptorEntity;
 
 public interface LoginDescriptorEntityRepository
     extends JpaRepository<LoginDescriptorEntity, String> {
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   Optional<LoginDescriptorEntity> findByTenantId(final String tenantId);
 
+  // the login page renders the tenant's providers, so fetch them with the descriptor
+  @EntityGraph(attributePaths = {"tenant", "tenant.externalIdentityProviders"})
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   Optional<LoginDescriptorEntity> findByTenant_Subdomain(final String subdomain);
 }
@@ -11,14 +11,24 @@
  */
 package software.iridium.api.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import software.iridium.entity.TenantEntity;
 
 public interface TenantEntityRepository extends JpaRepository<TenantEntity, String> {
 
   Optional<List<TenantEntity>> findByIdIn(final List<String> ids);
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   Optional<TenantEntity> findBySubdomain(final String subdomain);
+
+  @Query("select t.id from TenantEntity t where t.subdomain = :subdomain")
+  Optional<String> findIdBySubdomain(@Param("subdomain") final String subdomain);
 }
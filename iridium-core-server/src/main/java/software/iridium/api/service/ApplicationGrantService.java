@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import software.iridium.api.cache.ApplicationGrantCache;
+import software.iridium.api.repository.IdentityEntityRepository;
+
+@Service
+public class ApplicationGrantService {
+
+  @Autowired private IdentityEntityRepository identityRepository;
+  @Autowired private ApplicationGrantCache grantCache;
+
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public boolean isGranted(final String identityId, final String applicationId) {
+    if (grantCache.contains(identityId, applicationId)) {
+      return true;
+    }
+    final var granted = identityRepository.isApplicationGranted(identityId, applicationId);
+    if (granted) {
+      grantCache.record(identityId, applicationId);
+    }
+    return granted;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void grant(final String identityId, final String applicationId) {
+    if (grantCache.contains(identityId, applicationId)) {
+      return;
+    }
+    identityRepository.grantApplication(identityId, applicationId);
+    // only remember the grant once it is durable so a rollback cannot leave a false positive
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              grantCache.record(identityId, applicationId);
+            }
+          });
+    } else {
+      grantCache.record(identityId, applicationId);
+    }
+  }
+}
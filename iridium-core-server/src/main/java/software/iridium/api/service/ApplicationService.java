@@ -20,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import software.iridium.api.authentication.domain.*;
+import software.iridium.api.base.domain.CursorListResponse;
 import software.iridium.api.base.domain.PagedListResponse;
 import software.iridium.api.base.error.DuplicateResourceException;
 import software.iridium.api.base.error.ResourceNotFoundException;
@@ -41,6 +42,9 @@ import software.iridium.entity.ApplicationType;
 @Service
 public class ApplicationService {
 
+  // sorts before every uuid, so it selects the first page of an id ordered keyset
+  private static final String FIRST_PAGE_CURSOR = "";
+
   @Autowired private AttributeValidator attributeValidator;
   @Autowired private TenantEntityRepository tenantRepository;
   @Autowired private ApplicationEntityRepository applicationRepository;
@@ -93,7 +97,7 @@ public class ApplicationService {
             entityInstantiator.instantiate(request, applicationType, tenantId)));
   }
 
-  @Transactional(propagation = Propagation.SUPPORTS)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public PagedListResponse<ApplicationSummary> getPageByTenantId(
       final String tenantId, final Integer page, final Integer size, final Boolean active) {
     checkArgument(
@@ -113,6 +117,31 @@ public class ApplicationService {
         summaryMapper.mapToSummaries(content), pageOfEntityInstances.getTotalPages(), page, size);
   }
 
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public CursorListResponse<ApplicationSummary> getCursorPageByTenantId(
+      final String tenantId, final String cursor, final Integer size, final Boolean active) {
+    checkArgument(
+        attributeValidator.isUuid(tenantId), "tenantId must be a valid uuid: " + tenantId);
+    checkArgument(
+        cursor == null || attributeValidator.isUuid(cursor),
+        "cursor must be a valid uuid: " + cursor);
+    checkArgument(attributeValidator.isPositive(size), "size must be a positive integer: " + size);
+    checkArgument(
+        attributeValidator.isNotNull(active), "active must be either true or false: " + active);
+
+    // one extra row tells us whether there is a next page without a count query
+    final var entities =
+        applicationRepository.findAllByTenantIdAndActiveAndIdGreaterThanOrderByIdAsc(
+            tenantId,
+            active,
+            cursor == null ? FIRST_PAGE_CURSOR : cursor,
+            PageRequest.ofSize(size + 1));
+    final var hasMore = entities.size() > size;
+    final var page = hasMore ? entities.subList(0, size) : entities;
+    final var nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+    return new CursorListResponse<>(summaryMapper.mapToSummaries(page), size, nextCursor);
+  }
+
   @Transactional(propagation = Propagation.REQUIRED)
   public ApplicationUpdateResponse update(
       final ApplicationUpdateRequest request, final String tenantId, final String applicationId) {
@@ -146,7 +175,7 @@ public class ApplicationService {
     return updateResponseMapper.map(updator.update(entity, applicationType, request));
   }
 
-  @Transactional(propagation = Propagation.SUPPORTS)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public ApplicationResponse get(final String tenantId, final String applicationId) {
     checkArgument(
         attributeValidator.isUuid(tenantId), "tenantId must be a valid uuid: " + tenantId);
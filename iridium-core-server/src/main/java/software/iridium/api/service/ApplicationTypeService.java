@@ -26,7 +26,7 @@ public class ApplicationTypeService {
   @Autowired private ApplicationTypeEntityRepository applicationTypeRepository;
   @Autowired private ApplicationTypeSummaryMapper summaryMapper;
 
-  @Transactional(propagation = Propagation.SUPPORTS)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public List<ApplicationTypeSummary> getAll() {
     return summaryMapper.mapToList(applicationTypeRepository.findAll());
   }
@@ -13,20 +13,29 @@ package software.iridium.api.service;
 
 import java.util.Date;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import software.iridium.api.authentication.domain.AuthenticationRequest;
 import software.iridium.api.authentication.domain.AuthenticationResponse;
 import software.iridium.api.base.error.NotAuthorizedException;
 import software.iridium.api.base.error.ResourceNotFoundException;
+import software.iridium.api.datasource.TransactionPhaseConfig;
+import software.iridium.api.grant.GrantStore;
 import software.iridium.api.instantiator.AuthorizationCodeEntityInstantiator;
 import software.iridium.api.repository.*;
 import software.iridium.api.validator.AuthenticationRequestParamValidator;
 import software.iridium.api.validator.AuthenticationRequestValidator;
 import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.IdentityEmailEntity;
+import software.iridium.entity.IdentityEntity;
+import software.iridium.entity.TenantEntity;
 
 @Service
 public class AuthenticationService {
@@ -40,80 +49,137 @@ public class AuthenticationService {
   @Autowired private ApplicationEntityRepository applicationRepository;
   @Autowired private TenantEntityRepository tenantRepository;
   @Autowired private AuthorizationCodeEntityInstantiator authCodeInstantiator;
-  @Autowired private AuthorizationCodeEntityRepository authCodeEntityRepository;
+  @Autowired private GrantStore grantStore;
+  @Autowired private ApplicationGrantService grantService;
 
-  @Transactional(propagation = Propagation.REQUIRED, noRollbackFor = NotAuthorizedException.class)
+  @Autowired
+  @Qualifier(TransactionPhaseConfig.READ_PHASE)
+  private TransactionOperations readPhase;
+
+  @Autowired
+  @Qualifier(TransactionPhaseConfig.WRITE_PHASE)
+  private TransactionOperations writePhase;
+
+  // no transaction spans the password check, so no connection is held while the hash is computed
   public AuthenticationResponse authenticate(
       final AuthenticationRequest request, final Map<String, String> params) {
     authenticationRequestValidator.validate(request);
     authRequestParamValidator.validate(params);
 
-    var application =
+    final var candidate = readPhase.execute(status -> findLoginCandidate(request));
+    final var candidateIdentity = candidate.identity().orElseThrow(NotAuthorizedException::new);
+    final var identityId = candidateIdentity.getId();
+    final var checkedPassword = candidateIdentity.getEncodedPassword();
+    final var checkedNotLocked = candidateIdentity.isNotLocked();
+    final var passwordMatches =
+        checkedNotLocked && encoder.matches(request.getPassword(), checkedPassword);
+
+    final var response =
+        writePhase.execute(
+            status -> {
+              final var identity =
+                  identityRepository.findById(identityId).orElseThrow(NotAuthorizedException::new);
+              // a password change or lock between the phases makes the check above stale
+              if (!Objects.equals(identity.getEncodedPassword(), checkedPassword)
+                  || identity.isNotLocked() != checkedNotLocked) {
+                throw new NotAuthorizedException();
+              }
+              return passwordMatches
+                  ? completeLogin(identity, candidate.application(), params)
+                  : recordFailedLogin(identity);
+            });
+    if (response == null) {
+      throw new NotAuthorizedException();
+    }
+    return response;
+  }
+
+  private LoginCandidate findLoginCandidate(final AuthenticationRequest request) {
+    final var application =
         applicationRepository
             .findByClientId(request.getClientId())
             .orElseThrow(
                 () ->
                     new ResourceNotFoundException(
                         "application not found for client id: " + request.getClientId()));
-    var emailOptional =
-        emailRepository.findByEmailAddressAndIdentity_ParentTenantId(
-            request.getUsername(), application.getTenantId());
-    if (emailOptional.isPresent()) {
-      var identity = emailOptional.get().getIdentity();
-      if (identity.isNotLocked()
-          && encoder.matches(request.getPassword(), identity.getEncodedPassword())) {
-
-        var tokens = tokenManager.getOrGenerateToken(identity);
-        boolean isAuthorized = false;
+    final var identity =
+        emailRepository
+            .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+                request.getUsername(), application.getTenantId())
+            .map(IdentityEmailEntity::getIdentity);
+    return new LoginCandidate(application, identity);
+  }
 
-        for (ApplicationEntity authorizedApplication : identity.getAuthorizedApplications()) {
-          if (application.equals(authorizedApplication)) {
-            isAuthorized = true;
-            break;
-          }
-        }
+  private AuthenticationResponse completeLogin(
+      final IdentityEntity identity,
+      final ApplicationEntity application,
+      final Map<String, String> params) {
+    final var tokens = tokenManager.getOrGenerateToken(identity);
+    final var isAuthorized = grantService.isGranted(identity.getId(), application.getId());
 
-        if (identity.doesNotRequirePasswordChange()) {
-          final var tenant =
-              tenantRepository
-                  .findById(application.getTenantId())
-                  .orElseThrow(
-                      () ->
-                          new ResourceNotFoundException(
-                              "Tenant not found for id: " + application.getTenantId()));
-          if (isAuthorized) {
-            final var authCode = authCodeInstantiator.instantiate(identity, params);
-            authCodeEntityRepository.save(authCode);
-            identity.setLastSuccessfulLogin(new Date());
-            identity.setFailedLoginAttempts(0);
-            identityRepository.save(identity);
-            return AuthenticationResponse.of(
-                tokens.getLeft(),
-                tokens.getRight(),
-                isAuthorized,
-                application.getName(),
-                tenant.getWebsiteUrl(),
-                application.getHomePageUrl(),
-                application.getRedirectUri(),
-                authCode.getAuthorizationCode());
-          }
-          identity.setLastSuccessfulLogin(new Date());
-          identity.setFailedLoginAttempts(0);
-          identityRepository.save(identity);
-          return AuthenticationResponse.of(
-              tokens.getLeft(),
-              tokens.getRight(),
-              isAuthorized,
-              application.getName(),
-              tenant.getWebsiteUrl(),
-              application.getHomePageUrl(),
-              application.getRedirectUri(),
-              null);
-        }
+    if (identity.doesNotRequirePasswordChange()) {
+      final var tenant =
+          tenantRepository
+              .findById(application.getTenantId())
+              .orElseThrow(
+                  () ->
+                      new ResourceNotFoundException(
+                          "Tenant not found for id: " + application.getTenantId()));
+      String authorizationCode = null;
+      if (isAuthorized) {
+        final var authCode = authCodeInstantiator.instantiate(identity, params);
+        grantStore.saveAuthorizationCode(authCode);
+        authorizationCode = authCode.getAuthorizationCode();
       }
-      identity.setFailedLoginAttempts(identity.getFailedLoginAttempts() + 1);
+      identity.setLastSuccessfulLogin(new Date());
+      identity.setFailedLoginAttempts(0);
       identityRepository.save(identity);
+      return AuthenticationResponse.of(
+          tokens.getLeft(),
+          tokens.getRight(),
+          isAuthorized,
+          application.getName(),
+          tenant.getWebsiteUrl(),
+          application.getHomePageUrl(),
+          application.getRedirectUri(),
+          authorizationCode);
     }
-    throw new NotAuthorizedException();
+    return recordFailedLogin(identity);
   }
+
+  private AuthenticationResponse recordFailedLogin(final IdentityEntity identity) {
+    identity.setFailedLoginAttempts(identity.getFailedLoginAttempts() + 1);
+    identityRepository.save(identity);
+    return null;
+  }
+
+  /**
+   * Issues a session for an identity created earlier in the current transaction. The caller has
+   * already resolved the application and tenant and hashed the password, so neither the lookups nor
+   * the password check of {@link #authenticate} are repeated. A new identity is not yet authorized
+   * for any application, so no authorization code is issued.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public AuthenticationResponse authenticateNewIdentity(
+      final IdentityEntity identity,
+      final ApplicationEntity application,
+      final TenantEntity tenant,
+      final Map<String, String> params) {
+    authRequestParamValidator.validate(params);
+
+    identity.setLastSuccessfulLogin(new Date());
+    identity.setFailedLoginAttempts(0);
+    final var tokens = tokenManager.generateToken(identityRepository.save(identity));
+    return AuthenticationResponse.of(
+        tokens.getLeft(),
+        tokens.getRight(),
+        false,
+        application.getName(),
+        tenant.getWebsiteUrl(),
+        application.getHomePageUrl(),
+        application.getRedirectUri(),
+        null);
+  }
+
+  private record LoginCandidate(ApplicationEntity application, Optional<IdentityEntity> identity) {}
 }
@@ -14,9 +14,9 @@ package software.iridium.api.service;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,21 +38,23 @@ import software.iridium.api.base.error.ResourceNotFoundException;
 import software.iridium.api.generator.ProviderUrlGenerator;
 import software.iridium.api.generator.RedirectUrlGenerator;
 import software.iridium.api.generator.SuccessAuthorizationParameterGenerator;
+import software.iridium.api.grant.GrantStore;
 import software.iridium.api.instantiator.*;
 import software.iridium.api.mapper.AccessTokenResponseMapper;
 import software.iridium.api.mapper.IdentityResponseMapper;
+import software.iridium.api.provider.ProviderRegistry;
 import software.iridium.api.repository.*;
+import software.iridium.api.tenant.TenantContext;
+import software.iridium.api.token.TokenStore;
 import software.iridium.api.util.AttributeValidator;
 import software.iridium.api.util.AuthorizationCodeFlowConstants;
-import software.iridium.api.util.SHA256Hasher;
 import software.iridium.api.util.ServletTokenExtractor;
-import software.iridium.api.util.SubdomainExtractor;
 import software.iridium.api.validator.AccessTokenRequestParameterValidator;
 import software.iridium.api.validator.ApplicationEntityAccessTokenRequestValidator;
 import software.iridium.api.validator.AuthorizationGrantTypeParamValidator;
 import software.iridium.api.validator.AuthorizationRequestParameterValidator;
+import software.iridium.api.validator.PkceVerifier;
 import software.iridium.entity.ClientSecretEntity;
-import software.iridium.entity.ExternalIdentityProviderEntity;
 
 @Service
 public class AuthorizationService {
@@ -70,26 +72,24 @@ public class AuthorizationService {
   @Autowired private RedirectUrlGenerator redirectUrlGenerator;
   @Autowired private AttributeValidator attributeValidator;
   @Autowired private AuthorizationCodeEntityInstantiator authCodeInstantiator;
-  @Autowired private AuthorizationCodeEntityRepository authCodeRepository;
+  @Autowired private GrantStore grantStore;
+  @Autowired private ApplicationGrantService grantService;
   @Autowired private AuthorizationRequestParameterValidator requestParameterValidator;
   @Autowired private SuccessAuthorizationParameterGenerator successParamGenerator;
   @Autowired private AccessTokenRequestParameterValidator accessTokenRequestParameterValidator;
   @Autowired private ApplicationEntityAccessTokenRequestValidator applicationAccessTokenValidator;
-  @Autowired private SHA256Hasher sha256Hasher;
+  @Autowired private PkceVerifier pkceVerifier;
   @Autowired private AccessTokenEntityInstantiator accessTokenInstantiator;
-  @Autowired private AccessTokenEntityRepository accessTokenRepository;
+  @Autowired private TokenStore tokenStore;
   @Autowired private AccessTokenResponseMapper accessTokenResponseMapper;
   @Autowired private RefreshTokenEntityInstantiator refreshTokenInstantiator;
-  @Autowired private SubdomainExtractor subdomainExtractor;
-  @Autowired private TenantEntityRepository tenantRepository;
+  @Autowired private ProviderRegistry providerRegistry;
+  @Autowired private ExternalIdentityProviderEntityRepository providerRepository;
   @Autowired private AuthenticationEntityRepository authenticationRepository;
 
   @Autowired
   private InProgressExternalIdentityProviderAuthorizationInstantiator inProgressAuthInstantiator;
 
-  @Autowired
-  private InProgressExternalIdentityProviderAuthorizationEntityRepository inProgressAuthRepository;
-
   @Autowired private ServletTokenExtractor tokenExtractor;
   @Autowired private BCryptPasswordEncoder encoder;
 
@@ -103,50 +103,31 @@ public class AuthorizationService {
         "clientId must not be blank and no longer than 32 characters");
     checkArgument(attributeValidator.isNotBlank(state), "state must be not be blank");
 
-    final var application =
-        applicationRepository
-            .findByClientId(clientId)
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "application not found for clientId: " + clientId));
-
-    final var tenant =
-        tenantRepository
-            .findById(application.getTenantId())
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        String.format(
-                            "tenant %s not found with clientId: %s",
-                            application.getTenantId(), clientId)));
-
-    var providerFound = false;
-    ExternalIdentityProviderEntity provider = null;
-    for (ExternalIdentityProviderEntity providerEntity : tenant.getExternalIdentityProviders()) {
-      if (providerEntity.getName().equalsIgnoreCase(providerName) && providerEntity.isActive()) {
-        providerFound = true;
-        provider = providerEntity;
-      }
-    }
+    final var tenantProviders = providerRegistry.resolve(clientId);
+    final var providerOptional = tenantProviders.find(providerName);
 
-    if (providerFound) {
+    if (providerOptional.isPresent()) {
+      final var provider = providerOptional.get();
       final var providerUrl = providerUrlGenerator.generate(provider, code);
 
       final var response = accessTokenRequestor.requestAccessToken(providerUrl);
 
       final var githubProfile =
           providerProfileRequestor.requestGithubProfile(
-              provider.getProfileRequestBaseUrl(), response.getAccessToken());
+              provider.profileRequestBaseUrl(), response.getAccessToken());
 
       final var emailOptional =
           emailRepository.findByEmailAddressAndIdentity_ParentTenantId(
-              githubProfile.getEmail(), tenant.getId());
+              githubProfile.getEmail(), tenantProviders.tenantId());
       if (emailOptional.isEmpty()) {
 
-        final var identity = identityInstantiator.instantiateFromGithub(githubProfile, provider);
-        identity.getAuthorizedApplications().add(application);
-        identity.setParentTenantId(tenant.getId());
+        final var identity =
+            identityInstantiator.instantiateFromGithub(
+                githubProfile, providerRepository.getReferenceById(provider.id()));
+        identity
+            .getAuthorizedApplications()
+            .add(applicationRepository.getReferenceById(tenantProviders.applicationId()));
+        identity.setParentTenantId(tenantProviders.tenantId());
         return identityResponseMapper.map(identityRepository.save(identity));
       }
       // todo: add logic for continuous property sync for external providers
@@ -155,7 +136,8 @@ public class AuthorizationService {
     }
     throw new ResourceNotFoundException(
         String.format(
-            "active provider: %s not found for tenant: %s", providerName, tenant.getId()));
+            "active provider: %s not found for tenant: %s",
+            providerName, tenantProviders.tenantId()));
   }
 
   @Transactional(propagation = Propagation.REQUIRED)
@@ -165,12 +147,10 @@ public class AuthorizationService {
       final HttpServletRequest servletRequest) {
     grantTypeValidator.validate(params);
 
-    final var subdomain = subdomainExtractor.extract(servletRequest.getRequestURL().toString());
-
-    tenantRepository
-        .findBySubdomain(subdomain)
-        .orElseThrow(
-            () -> new ResourceNotFoundException("tenant not found for subdomain " + subdomain));
+    final var tenant = TenantContext.of(servletRequest);
+    if (!tenant.isResolved()) {
+      throw new ResourceNotFoundException("tenant not found for subdomain " + tenant.subdomain());
+    }
 
     final var authentication =
         authenticationRepository
@@ -204,15 +184,15 @@ public class AuthorizationService {
     }
 
     final var identity = authentication.getIdentity();
-    identity.getAuthorizedApplications().add(application);
+    grantService.grant(identity.getId(), application.getId());
 
     // todo: think about what to do if there is an authorization code already present for the user
     final var authCode = authCodeInstantiator.instantiate(identity, params);
 
+    grantStore.saveAuthorizationCode(authCode);
     return redirectUrlGenerator.generate(
         application.getRedirectUri(),
-        successParamGenerator.generate(
-            params, authCodeRepository.save(authCode).getAuthorizationCode()));
+        successParamGenerator.generate(params, authCode.getAuthorizationCode()));
   }
 
   @Transactional(propagation = Propagation.REQUIRED)
@@ -296,7 +276,7 @@ public class AuthorizationService {
             return AccessTokenResponse.withError("redirectUri");
           }
           return accessTokenResponseMapper.map(
-              accessTokenRepository.save(accessTokenInstantiator.instantiate(application.getId())));
+              tokenStore.save(accessTokenInstantiator.instantiate(application.getId())));
         }
       }
     }
@@ -328,69 +308,65 @@ public class AuthorizationService {
       }
 
       final var inProgressExternalAuthorizationOpt =
-          inProgressAuthRepository.findByState(
+          grantStore.findInProgressAuthorization(
               params.getOrDefault(AuthorizationCodeFlowConstants.STATE.getValue(), ""));
 
       if (inProgressExternalAuthorizationOpt.isPresent()) {
         // this is an external authorization
         // need to create user on the fly if they don't exist yet
         final var externalInProgressAuth = inProgressExternalAuthorizationOpt.get();
-        final var provider = externalInProgressAuth.getProvider();
+        // the stored provider may be an uninitialized reference whose session is gone, so only
+        // its id is read and the provider itself comes from the registry
+        final var providerId = externalInProgressAuth.getProvider().getId();
+        final var provider =
+            providerRegistry
+                .resolve(params.get(AuthorizationCodeFlowConstants.CLIENT_ID.getValue()))
+                .findById(providerId)
+                .orElseThrow(
+                    () ->
+                        new ResourceNotFoundException("provider not found for id: " + providerId));
         final var identityResponse =
             completeAuthorizationWithProvider(
                 params.get(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()),
-                provider.getName(),
+                provider.name(),
                 params.get(AuthorizationCodeFlowConstants.CLIENT_ID.getValue()),
                 params.get(AuthorizationCodeFlowConstants.STATE.getValue()));
-        inProgressAuthRepository.delete(inProgressExternalAuthorizationOpt.get());
+        grantStore.removeInProgressAuthorization(externalInProgressAuth);
         return accessTokenResponseMapper.map(
-            accessTokenRepository.save(
-                accessTokenInstantiator.instantiate(identityResponse.getId())));
+            tokenStore.save(accessTokenInstantiator.instantiate(identityResponse.getId())));
       }
 
-      // check authorization code
+      // claim the authorization code so it cannot be used again, even by a concurrent request
+      // todo: if an access code is used more than once we should consider it fraudulent
       final var authorizationCode =
-          authCodeRepository
-              .findByAuthorizationCodeAndActiveTrue(
-                  params.get(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()))
+          grantStore
+              .claimAuthorizationCode(
+                  params.get(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()),
+                  new Date())
               .orElseThrow(() -> new BadRequestException("invalid authorization code"));
 
-      // now that authorization code has been used it needs to be set inactive to prevent reuse
-      // todo: if an access code is used more than once we should consider it fraudulent
-      authorizationCode.setActive(false);
-
       final var codeVerifier = params.get(AuthorizationCodeFlowConstants.CODE_VERIFIER.getValue());
-      // check code_verifier / pkce
-      if (authorizationCode.getCodeChallengeMethod().equals(CodeChallengeMethod.S256)) {
-        // todo UrlEncoding is adding ==.  Need to address at some point.
-        final String otherOutStr =
-            Base64.getUrlEncoder()
-                .encodeToString(sha256Hasher.hash(codeVerifier).getBytes(StandardCharsets.UTF_8))
-                .replace("==", "");
-        if (attributeValidator.equals(otherOutStr, authorizationCode.getCodeChallenge())) {
-          return accessTokenResponseMapper.map(
-              accessTokenRepository.save(
-                  accessTokenInstantiator.instantiate(authorizationCode.getIdentityId())));
-        } else {
-          // todo potentially need to redirect
-          return null;
-        }
+      if (!pkceVerifier.verify(
+          authorizationCode.getCodeChallengeMethod(),
+          codeVerifier,
+          authorizationCode.getCodeChallenge())) {
+        // todo potentially need to redirect
+        return null;
       }
 
-      if (attributeValidator.equals(codeVerifier, authorizationCode.getCodeChallenge())) {
-        final var accessToken =
-            accessTokenRepository.save(
-                accessTokenInstantiator.instantiate(authorizationCode.getIdentityId()));
+      if (authorizationCode.getCodeChallengeMethod().equals(CodeChallengeMethod.S256)) {
+        return accessTokenResponseMapper.map(
+            tokenStore.save(
+                accessTokenInstantiator.instantiate(authorizationCode.getIdentityId())));
+      }
 
-        final var refreshToken = refreshTokenInstantiator.instantiate(accessToken.getAccessToken());
-        accessToken.setRefreshToken(refreshToken);
-        refreshToken.setAccessToken(accessToken);
+      final var accessToken =
+          accessTokenInstantiator.instantiate(authorizationCode.getIdentityId());
+      final var refreshToken = refreshTokenInstantiator.instantiate(accessToken.getAccessToken());
+      accessToken.setRefreshToken(refreshToken);
+      refreshToken.setAccessToken(accessToken);
 
-        return accessTokenResponseMapper.map(accessToken);
-      } else {
-        // potentially need to redirect
-        return null;
-      }
+      return accessTokenResponseMapper.map(tokenStore.save(accessToken));
     }
 
     return AccessTokenResponse.withError("Not Authorized");
@@ -409,46 +385,22 @@ public class AuthorizationService {
     checkArgument(attributeValidator.isNotBlank(clientId));
     checkArgument(attributeValidator.isNotBlank(providerName));
 
-    final var application =
-        applicationRepository
-            .findByClientId(clientId)
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "application not found for clientId: " + clientId));
-
-    final var tenant =
-        tenantRepository
-            .findById(application.getTenantId())
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        String.format(
-                            "tenant %s not found with application: %s",
-                            application.getTenantId(), clientId)));
-
-    var providerFound = false;
-    ExternalIdentityProviderEntity provider = null;
-    for (ExternalIdentityProviderEntity providerEntity : tenant.getExternalIdentityProviders()) {
-      if (providerEntity.getName().equalsIgnoreCase(providerName) && providerEntity.isActive()) {
-        providerFound = true;
-        provider = providerEntity;
-      }
-    }
+    final var providerOptional = providerRegistry.resolve(clientId).find(providerName);
 
-    if (providerFound) {
+    if (providerOptional.isPresent()) {
+      final var provider = providerOptional.get();
 
-      final var inProgressAuth =
-          inProgressAuthRepository.save(
-              inProgressAuthInstantiator.instantiate(provider, state, redirectUri, clientId));
+      grantStore.saveInProgressAuthorization(
+          inProgressAuthInstantiator.instantiate(
+              providerRepository.getReferenceById(provider.id()), state, redirectUri, clientId));
 
       MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
 
-      params.add("scope", provider.getScope());
-      params.add("client_id", provider.getClientId());
+      params.add("scope", provider.scope());
+      params.add("client_id", provider.clientId());
       params.add("state", state);
 
-      return redirectUrlGenerator.generate(provider.getBaseAuthorizationUrl(), params);
+      return redirectUrlGenerator.generate(provider.baseAuthorizationUrl(), params);
     }
     // todo: throw exception for provider not found
     return null;
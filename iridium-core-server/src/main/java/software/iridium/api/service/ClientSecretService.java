@@ -73,6 +73,7 @@ public class ClientSecretService {
     }
   }
 
+  @Transactional(propagation = Propagation.REQUIRED)
   public void delete(final String applicationId, final String clientSecretId) {
     checkArgument(attributeValidator.isUuid(applicationId), "applicationId must be a valid uuid");
     checkArgument(attributeValidator.isUuid(clientSecretId), "clientSecretId must be a valid uuid");
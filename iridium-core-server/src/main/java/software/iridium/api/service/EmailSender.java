@@ -23,6 +23,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import software.iridium.api.email.domain.EmailSendRequest;
+import software.iridium.api.notification.MailTransportPool;
 import software.iridium.api.util.EmailTemplateProcessor;
 import software.iridium.api.util.MimeMessageHelperInstantiator;
 
@@ -37,6 +38,8 @@ public class EmailSender {
 
   @Autowired private MimeMessageHelperInstantiator messageHelperInstantiator;
 
+  @Autowired private MailTransportPool transportPool;
+
   @Value("${spring.mail.from.address}")
   private String fromAddress;
 
@@ -51,7 +54,7 @@ public class EmailSender {
     helper.setText(htmlBody, true);
     helper.setSubject(request.getSubject());
     helper.setFrom(fromAddress);
-    mailSender.send(message);
-    logger.info("email sent with subject: " + request.getSubject());
+    transportPool.send(message);
+    logger.info("email queued with subject: " + request.getSubject());
   }
 }
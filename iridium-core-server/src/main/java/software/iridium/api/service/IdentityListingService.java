@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import software.iridium.api.authentication.domain.IdentitySummary;
+import software.iridium.api.base.domain.CursorListResponse;
+import software.iridium.api.base.error.NotAuthorizedException;
+import software.iridium.api.repository.IdentityEntityRepository;
+import software.iridium.api.user.AuthenticatedRequestContext;
+import software.iridium.api.util.AttributeValidator;
+
+@Service
+public class IdentityListingService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdentityListingService.class);
+
+  // sorts before every uuid, so it selects the first page of an id ordered keyset
+  private static final String FIRST_PAGE_CURSOR = "";
+
+  private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
+  @Autowired private AuthenticatedRequestContext requestContext;
+  @Autowired private IdentityEntityRepository identityRepository;
+  @Autowired private AttributeValidator attributeValidator;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public CursorListResponse<IdentitySummary> getPageByTenantId(
+      final String tenantId, final String cursor, final Integer size) {
+    checkArgument(
+        attributeValidator.isUuid(tenantId), "tenantId must be a valid uuid: " + tenantId);
+    checkArgument(
+        cursor == null || attributeValidator.isUuid(cursor),
+        "cursor must be a valid uuid: " + cursor);
+    checkArgument(attributeValidator.isPositive(size), "size must be a positive integer: " + size);
+
+    verifyManagesTenant(tenantId);
+
+    // one extra row tells us whether there is a next page without a count query
+    final var summaries =
+        identityRepository.findSummariesByParentTenantIdAfter(
+            tenantId, cursor == null ? FIRST_PAGE_CURSOR : cursor, PageRequest.ofSize(size + 1));
+    final var hasMore = summaries.size() > size;
+    final var page = hasMore ? summaries.subList(0, size) : summaries;
+    final var nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+    return new CursorListResponse<>(page, size, nextCursor);
+  }
+
+  public void verifyManagesTenant(final String tenantId) {
+    checkArgument(
+        attributeValidator.isUuid(tenantId), "tenantId must be a valid uuid: " + tenantId);
+    if (!requestContext.getIdentity().getTenantIds().contains(tenantId)) {
+      throw new NotAuthorizedException("identity does not manage tenant: " + tenantId);
+    }
+  }
+
+  @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+  public long export(final String tenantId, final OutputStream outputStream) throws IOException {
+    logger.info("exporting identities for tenant " + tenantId);
+    var count = 0L;
+    try (var summaries = identityRepository.streamSummariesByParentTenantId(tenantId)) {
+      final var iterator = summaries.iterator();
+      while (iterator.hasNext()) {
+        outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+        outputStream.write('\n');
+        if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+          outputStream.flush();
+        }
+      }
+    }
+    outputStream.flush();
+    logger.info("exported " + count + " identities for tenant " + tenantId);
+    return count;
+  }
+}
@@ -13,32 +13,35 @@ package software.iridium.api.service;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
-import jakarta.servlet.http.HttpServletRequest;
-import java.util.Calendar;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import software.iridium.api.authentication.domain.AuthenticationRequest;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.DigestUtils;
 import software.iridium.api.authentication.domain.CreateIdentityRequest;
 import software.iridium.api.authentication.domain.IdentityResponse;
 import software.iridium.api.base.error.DuplicateResourceException;
 import software.iridium.api.base.error.NotAuthorizedException;
 import software.iridium.api.base.error.ResourceNotFoundException;
+import software.iridium.api.datasource.TransactionPhaseConfig;
 import software.iridium.api.handler.NewIdentityEventHandler;
-import software.iridium.api.instantiator.AuthenticationRequestInstantiator;
 import software.iridium.api.instantiator.IdentityCreateRequestDetailsInstantiator;
 import software.iridium.api.instantiator.IdentityEntityInstantiator;
 import software.iridium.api.mapper.IdentityEntityMapper;
 import software.iridium.api.mapper.IdentityResponseMapper;
 import software.iridium.api.repository.*;
+import software.iridium.api.user.AuthenticatedRequestContext;
 import software.iridium.api.util.AttributeValidator;
-import software.iridium.api.util.ServletTokenExtractor;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.TenantEntity;
 
 @Service
 public class IdentityService {
@@ -51,37 +54,38 @@ public class IdentityService {
   @Autowired private BCryptPasswordEncoder encoder;
   @Autowired private NewIdentityEventHandler eventHandler;
   @Autowired private IdentityEmailEntityRepository emailRepository;
-  @Autowired private ServletTokenExtractor tokenExtractor;
   @Autowired private TenantEntityRepository tenantRepository;
   @Autowired private ApplicationEntityRepository applicationRepository;
   @Autowired private AttributeValidator attributeValidator;
   @Autowired private IdentityCreateRequestDetailsInstantiator requestDetailsInstantiator;
   @Autowired private AuthenticationService authenticationService;
-  @Autowired private AuthenticationRequestInstantiator authenticationRequestInstantiator;
-  @Autowired private AccessTokenEntityRepository accessTokenRepository;
+  @Autowired private AuthenticatedRequestContext requestContext;
 
-  private static final Logger logger = LoggerFactory.getLogger(IdentityService.class);
+  @Autowired
+  @Qualifier(TransactionPhaseConfig.READ_PHASE)
+  private TransactionOperations readPhase;
 
-  @Transactional(propagation = Propagation.REQUIRED)
-  public IdentityResponse getIdentity(final HttpServletRequest request) {
-    logger.info("retrieving identity " + request.getServerName());
+  @Autowired
+  @Qualifier(TransactionPhaseConfig.WRITE_PHASE)
+  private TransactionOperations writePhase;
 
-    final var now = Calendar.getInstance().getTime();
-    final var token = tokenExtractor.extractBearerToken(request);
-    final var accessToken =
-        accessTokenRepository
-            .findFirstByAccessTokenAndExpirationAfter(token, now)
-            .orElseThrow(NotAuthorizedException::new);
+  private static final Logger logger = LoggerFactory.getLogger(IdentityService.class);
 
-    final var identity =
-        identityRepository
-            .findById(accessToken.getIdentityId())
-            .orElseThrow(NotAuthorizedException::new);
+  public IdentityResponse getIdentity() {
+    logger.info("retrieving identity " + requestContext.getIdentityId());
+    return requestContext.getIdentity();
+  }
 
-    return identityEntityMapper.map(identity);
+  // managed tenants and roles are owned by the identity, so changing them bumps its version
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public String getIdentityETag() {
+    return identityRepository
+        .findVersionTagById(requestContext.getIdentityId())
+        .map(tag -> DigestUtils.md5DigestAsHex(tag.getBytes(StandardCharsets.UTF_8)))
+        .orElseThrow(NotAuthorizedException::new);
   }
 
-  @Transactional(propagation = Propagation.REQUIRED)
+  // the password is hashed between the lookups and the insert, outside of any transaction
   public IdentityResponse create(
       final CreateIdentityRequest request, final Map<String, String> requestParams) {
     final var emailAddress = request.getUsername();
@@ -92,6 +96,29 @@ public class IdentityService {
         attributeValidator.isNotBlank(request.getClientId()),
         String.format("clientId must not be blank: %s", request.getClientId()));
     // todo add password requirements
+    final var target = readPhase.execute(status -> findRegistrationTarget(request));
+    final var application = target.application();
+    final var encodedPassword = encoder.encode(request.getPassword());
+
+    return writePhase.execute(
+        status -> {
+          // the identity is complete before it is saved, so its insert is the only write to it
+          final var identity =
+              identityInstantiator.instantiate(request, encodedPassword, application.getTenantId());
+          final var sessionDetails =
+              requestDetailsInstantiator.instantiate(requestParams, identity);
+          identity.setCreateSessionDetails(sessionDetails);
+
+          final var authenticationResponse =
+              authenticationService.authenticateNewIdentity(
+                  identity, application, target.tenant(), requestParams);
+          eventHandler.handleEvent(identity, application, target.tenant());
+          return responseMapper.map(identity, authenticationResponse);
+        });
+  }
+
+  private RegistrationTarget findRegistrationTarget(final CreateIdentityRequest request) {
+    final var emailAddress = request.getUsername();
     final var application =
         applicationRepository
             .findByClientId(request.getClientId())
@@ -100,10 +127,13 @@ public class IdentityService {
                     new ResourceNotFoundException(
                         "application not found for clientId: " + request.getClientId()));
 
-    if (tenantRepository.findById(application.getTenantId()).isEmpty()) {
-      throw new ResourceNotFoundException(
-          String.format("tenant not found for id: %s", application.getTenantId()));
-    }
+    final var tenant =
+        tenantRepository
+            .findById(application.getTenantId())
+            .orElseThrow(
+                () ->
+                    new ResourceNotFoundException(
+                        String.format("tenant not found for id: %s", application.getTenantId())));
 
     if (emailRepository
         .findByEmailAddressAndIdentity_ParentTenantId(emailAddress, application.getTenantId())
@@ -113,19 +143,8 @@ public class IdentityService {
               "Account already registered with: %s in tenant: %s",
               emailAddress, application.getTenantId()));
     }
-
-    final var identity =
-        identityRepository.save(
-            identityInstantiator.instantiate(
-                request, encoder.encode(request.getPassword()), application.getTenantId()));
-    final var sessionDetails = requestDetailsInstantiator.instantiate(requestParams, identity);
-    identity.setCreateSessionDetails(sessionDetails);
-
-    eventHandler.handleEvent(identity, application.getClientId());
-    final AuthenticationRequest authenticationRequest =
-        authenticationRequestInstantiator.instantiate(request);
-    final var authenticationResponse =
-        authenticationService.authenticate(authenticationRequest, requestParams);
-    return responseMapper.map(identity, authenticationResponse);
+    return new RegistrationTarget(application, tenant);
   }
+
+  private record RegistrationTarget(ApplicationEntity application, TenantEntity tenant) {}
 }
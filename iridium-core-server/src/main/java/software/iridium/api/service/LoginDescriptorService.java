@@ -31,7 +31,7 @@ public class LoginDescriptorService {
   @Autowired private LoginDescriptorResponseMapper responseMapper;
   @Autowired private AttributeValidator attributeValidator;
 
-  @Transactional(propagation = Propagation.SUPPORTS)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public LoginDescriptorResponse getBySubdomain(final String subdomain) {
     checkArgument(attributeValidator.isValidSubdomain(subdomain), "subdomain must be valid format");
 
@@ -26,7 +26,6 @@ import software.iridium.api.repository.ApplicationEntityRepository;
 import software.iridium.api.repository.IdentityEmailEntityRepository;
 import software.iridium.api.repository.IdentityEntityRepository;
 import software.iridium.api.repository.PasswordResetTokenEntityRepository;
-import software.iridium.entity.ApplicationEntity;
 
 @Service
 public class PasswordService {
@@ -37,6 +36,7 @@ public class PasswordService {
   @Autowired private PasswordEventHandler passwordEventHandler;
   @Autowired private PasswordResetTokenEntityRepository resetTokenRepository;
   @Autowired private ApplicationEntityRepository applicationRepository;
+  @Autowired private ApplicationGrantService grantService;
 
   @Transactional(propagation = Propagation.REQUIRED)
   public Boolean initiatePasswordReset(final InitiatePasswordResetRequest request) {
@@ -80,14 +80,7 @@ public class PasswordService {
       throw new IllegalStateException("token expired: ");
     }
     final var identity = resetToken.getIdentity();
-    boolean isValidResetRequest = false;
-    for (ApplicationEntity authorizedApplication : identity.getAuthorizedApplications()) {
-      if (authorizedApplication.equals(application)) {
-        isValidResetRequest = true;
-        break;
-      }
-    }
-    if (isValidResetRequest) {
+    if (grantService.isGranted(identity.getId(), application.getId())) {
       String newPlainTextPassword = request.getNewPassword();
       String encryptedPassword = BCrypt.hashpw(newPlainTextPassword, BCrypt.gensalt());
       identity.setEncodedPassword(encryptedPassword);
@@ -26,7 +26,7 @@ public class ProviderService {
   @Autowired private ExternalIdentityProviderTemplateEntityRepository providerRepository;
   @Autowired private ProviderSummaryResponseMapper responseMapper;
 
-  @Transactional(propagation = Propagation.SUPPORTS)
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public List<ProviderSummaryResponse> retrieveAllSummaries() {
 
     return responseMapper.mapList(providerRepository.findAll());
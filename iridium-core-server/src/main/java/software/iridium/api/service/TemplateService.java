@@ -15,24 +15,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
-import software.iridium.api.util.SubdomainExtractor;
+import software.iridium.api.tenant.TenantContext;
 
 @Service
 public class TemplateService {
 
-  @Autowired private SubdomainExtractor subdomainExtractor;
   @Autowired private LoginDescriptorService loginDescriptorService;
 
-  @Transactional(propagation = Propagation.SUPPORTS)
+  // the descriptor arrives fully mapped, so no session is open while the model is built
   public String describeIndex(
       final Model model,
       final HttpServletRequest servletRequest,
       final Map<String, String> params) {
 
-    final var subdomain = subdomainExtractor.extract(servletRequest.getRequestURL().toString());
+    final var subdomain = TenantContext.of(servletRequest).subdomain();
 
     final var loginDescriptor = loginDescriptorService.getBySubdomain(subdomain);
 
@@ -43,9 +40,8 @@ public class TemplateService {
     return "index";
   }
 
-  @Transactional(propagation = Propagation.SUPPORTS)
   public String describeRegister(final Model model, final HttpServletRequest servletRequest) {
-    final var subdomain = subdomainExtractor.extract(servletRequest.getRequestURL().toString());
+    final var subdomain = TenantContext.of(servletRequest).subdomain();
 
     final var loginDescriptor = loginDescriptorService.getBySubdomain(subdomain);
 
@@ -13,12 +13,15 @@ package software.iridium.api.service;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
-import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
 import software.iridium.api.authentication.domain.CreateTenantRequest;
 import software.iridium.api.authentication.domain.CreateTenantResponse;
 import software.iridium.api.authentication.domain.TenantSummary;
@@ -30,12 +33,15 @@ import software.iridium.api.mapper.CreateTenantResponseMapper;
 import software.iridium.api.mapper.TenantSummaryMapper;
 import software.iridium.api.repository.IdentityEntityRepository;
 import software.iridium.api.repository.TenantEntityRepository;
+import software.iridium.api.tenant.TenantDirectory;
+import software.iridium.api.user.AuthenticatedRequestContext;
 import software.iridium.api.util.AttributeValidator;
 
 @Service
 public class TenantService {
 
-  @Autowired private IdentityService identityService;
+  @Autowired private AuthenticatedRequestContext requestContext;
+  @Autowired private TenantDirectory tenantDirectory;
   @Autowired private TenantEntityRepository tenantRepository;
   @Autowired private TenantSummaryMapper summaryMapper;
   @Autowired private AttributeValidator attributeValidator;
@@ -45,23 +51,30 @@ public class TenantService {
   @Autowired private LoginDescriptorEntityInstantiator loginDescriptorInstantiator;
 
   @Transactional(propagation = Propagation.REQUIRED)
-  public List<TenantSummary> getTenantSummaries(final HttpServletRequest request) {
+  public List<TenantSummary> getTenantSummaries() {
 
-    final var identity = identityService.getIdentity(request);
+    final var tenantIds = identityRepository.findManagedTenantIds(requestContext.getIdentityId());
 
     final var tenants =
         tenantRepository
-            .findByIdIn(identity.getTenantIds())
+            .findByIdIn(tenantIds)
             .orElseThrow(
                 () ->
                     new ResourceNotFoundException(
-                        "one or more tenants not found for id(s) " + identity.getTenantIds()));
+                        "one or more tenants not found for id(s) " + tenantIds));
     return summaryMapper.mapToList(tenants);
   }
 
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public String getTenantSummariesETag() {
+    final var identityId = requestContext.getIdentityId();
+    final var tags = identityRepository.findManagedTenantVersionTags(identityId);
+    return DigestUtils.md5DigestAsHex(
+        (identityId + "|" + String.join(",", tags)).getBytes(StandardCharsets.UTF_8));
+  }
+
   @Transactional(propagation = Propagation.REQUIRED)
-  public CreateTenantResponse create(
-      final HttpServletRequest servletRequest, final CreateTenantRequest request) {
+  public CreateTenantResponse create(final CreateTenantRequest request) {
     checkArgument(
         attributeValidator.isValidSubdomain(request.getSubdomain()),
         "subdomain must only contains alphanumeric characters and hyphens");
@@ -75,17 +88,15 @@ public class TenantService {
       throw new DuplicateResourceException("duplicate subdomain: " + request.getSubdomain());
     }
 
-    final var identityResponse = identityService.getIdentity(servletRequest);
-
+    final var identityId = requestContext.getIdentityId();
     final var identity =
         identityRepository
-            .findById(identityResponse.getId())
+            .findById(identityId)
             .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "identity not found for id: " + identityResponse.getId()));
+                () -> new ResourceNotFoundException("identity not found for id: " + identityId));
 
     final var tenant = tenantRepository.save(tenantInstantiator.instantiate(request));
+    forgetUnknownSubdomainAfterCommit(tenant.getSubdomain());
     // todo: fix this ugliness
     loginDescriptorInstantiator.instantiate(tenant);
 
@@ -94,4 +105,20 @@ public class TenantService {
 
     return responseMapper.map(tenant);
   }
+
+  // a request arriving before the commit would not find the tenant yet and mark the subdomain
+  // unknown again, so the directory only forgets it once the tenant is visible to other requests
+  private void forgetUnknownSubdomainAfterCommit(final String subdomain) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              tenantDirectory.evict(subdomain);
+            }
+          });
+    } else {
+      tenantDirectory.evict(subdomain);
+    }
+  }
 }
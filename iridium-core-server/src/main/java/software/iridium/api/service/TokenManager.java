@@ -34,15 +34,20 @@ public class TokenManager {
 
     if (authenticationOptional.isEmpty()
         || new Date().after(authenticationOptional.get().getExpiration())) {
-      final var generatedAuthentication =
-          authenticationGenerator.generateAuthentication(identityEntity);
-      authenticationEntityRepository.save(generatedAuthentication);
-      return new ImmutablePair<>(
-          generatedAuthentication.getAuthToken(), generatedAuthentication.getRefreshToken());
+      return generateToken(identityEntity);
     }
 
     return new ImmutablePair<>(
         authenticationOptional.get().getAuthToken(),
         authenticationOptional.get().getRefreshToken());
   }
+
+  @Transactional(propagation = Propagation.REQUIRED)
+  public ImmutablePair<String, String> generateToken(IdentityEntity identityEntity) {
+    final var generatedAuthentication =
+        authenticationGenerator.generateAuthentication(identityEntity);
+    authenticationEntityRepository.save(generatedAuthentication);
+    return new ImmutablePair<>(
+        generatedAuthentication.getAuthToken(), generatedAuthentication.getRefreshToken());
+  }
 }
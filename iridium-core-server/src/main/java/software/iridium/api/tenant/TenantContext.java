@@ -0,0 +1,35 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.tenant;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The tenant a request was addressed to, resolved once from its host by the tenant resolution
+ * filter. The tenant id is null when no tenant owns the subdomain.
+ */
+public record TenantContext(String subdomain, String tenantId) {
+
+  public static final String ATTRIBUTE = TenantContext.class.getName();
+
+  public static TenantContext of(final HttpServletRequest request) {
+    final var context = (TenantContext) request.getAttribute(ATTRIBUTE);
+    if (context == null) {
+      throw new IllegalStateException("tenant context was not resolved for this request");
+    }
+    return context;
+  }
+
+  public boolean isResolved() {
+    return tenantId != null;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.tenant;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import software.iridium.api.repository.TenantEntityRepository;
+import software.iridium.api.util.AttributeValidator;
+
+/**
+ * Maps subdomains to tenant ids. A subdomain never changes once a tenant is created, so found
+ * tenants are kept for good; subdomains without a tenant are remembered until the next refresh.
+ */
+@Component
+public class TenantDirectory {
+
+  @Autowired private TenantEntityRepository tenantRepository;
+  @Autowired private AttributeValidator attributeValidator;
+
+  @Value("${software.iridium.tenant.directory.unknown.max:10000}")
+  private int maxUnknown;
+
+  private final Map<String, String> tenantIds = new ConcurrentHashMap<>();
+  private final Set<String> unknown = ConcurrentHashMap.newKeySet();
+
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public String findTenantId(final String subdomain) {
+    final var cached = tenantIds.get(subdomain);
+    if (cached != null || unknown.contains(subdomain)) {
+      return cached;
+    }
+    if (!attributeValidator.isValidSubdomain(subdomain)) {
+      return null;
+    }
+    final var tenantId = tenantRepository.findIdBySubdomain(subdomain);
+    if (tenantId.isPresent()) {
+      tenantIds.put(subdomain, tenantId.get());
+      return tenantId.get();
+    }
+    if (unknown.size() >= maxUnknown) {
+      unknown.clear();
+    }
+    unknown.add(subdomain);
+    return null;
+  }
+
+  public void evict(final String subdomain) {
+    unknown.remove(subdomain);
+  }
+
+  // tenants created on other nodes become visible here once the unknown subdomains are dropped
+  @Scheduled(
+      initialDelayString = "${software.iridium.tenant.directory.refresh.interval.ms:60000}",
+      fixedDelayString = "${software.iridium.tenant.directory.refresh.interval.ms:60000}")
+  public void refresh() {
+    unknown.clear();
+  }
+
+  int size() {
+    return tenantIds.size();
+  }
+}
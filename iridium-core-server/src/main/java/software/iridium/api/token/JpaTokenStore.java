@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import software.iridium.api.repository.AccessTokenEntityRepository;
+import software.iridium.entity.AccessTokenEntity;
+
+@Component
+@ConditionalOnProperty(name = TokenStore.STORE_PROPERTY, havingValue = "jpa", matchIfMissing = true)
+public class JpaTokenStore implements TokenStore {
+
+  @Autowired private AccessTokenEntityRepository accessTokenRepository;
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public AccessTokenEntity save(final AccessTokenEntity accessToken) {
+    return accessTokenRepository.save(accessToken);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public Optional<AccessTokenEntity> findActive(final String accessToken, final Date now) {
+    return accessTokenRepository.findFirstByAccessTokenAndExpirationAfter(accessToken, now);
+  }
+}
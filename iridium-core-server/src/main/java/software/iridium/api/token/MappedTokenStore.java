@@ -0,0 +1,307 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.iridium.entity.AccessTokenEntity;
+import software.iridium.entity.RefreshTokenEntity;
+
+/**
+ * Keeps access tokens in a memory-mapped {@link TokenLog} on local disk with an {@link
+ * OffHeapTokenIndex} over it, so tokens are issued and validated without a database round trip and
+ * survive a restart of the node. Expired and superseded records are dropped by compaction, which
+ * rewrites the live records to a new file alongside lookups and saves, and atomically swaps it in.
+ */
+@Component
+@ConditionalOnProperty(name = TokenStore.STORE_PROPERTY, havingValue = "mapped")
+public class MappedTokenStore implements TokenStore, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedTokenStore.class);
+
+  private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+  private static final int EXPECTED_RECORD_BYTES = 256;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ReentrantLock compactionLock = new ReentrantLock();
+  private final Path path;
+  private final int capacity;
+  private TokenLog log;
+  private OffHeapTokenIndex index;
+
+  public MappedTokenStore(
+      @Value("${software.iridium.token.mapped.path:data/tokens.log}") final String path,
+      @Value("${software.iridium.token.mapped.size.mb:256}") final int sizeInMegabytes)
+      throws IOException {
+    this.path = Path.of(path).toAbsolutePath();
+    this.capacity = Math.multiplyExact(sizeInMegabytes, BYTES_PER_MEGABYTE);
+    Files.createDirectories(this.path.getParent());
+    open();
+    logger.info("opened token log {} with {} tokens", this.path, index.size());
+  }
+
+  /**
+   * Appends the token. When the log is full the save compacts it first, on the calling thread, and
+   * fails if that does not free enough room; that request waits for the whole rewrite, so size the
+   * log to keep the scheduled compaction ahead of it. Other lookups and saves only wait for the
+   * final swap.
+   */
+  @Override
+  public AccessTokenEntity save(final AccessTokenEntity accessToken) {
+    final var record = toRecord(accessToken);
+    if (!append(record)) {
+      compact();
+      if (!append(record)) {
+        throw new IllegalStateException("token log is full: " + path);
+      }
+    }
+    return accessToken;
+  }
+
+  @Override
+  public Optional<AccessTokenEntity> findActive(final String accessToken, final Date now) {
+    lock.readLock().lock();
+    try {
+      final var offset = index.find(OffHeapTokenIndex.hash(accessToken), matches(accessToken));
+      if (offset < 0) {
+        return Optional.empty();
+      }
+      final var record = log.read(offset);
+      return record.expiration() > now.getTime() ? Optional.of(toEntity(record)) : Optional.empty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${software.iridium.token.mapped.compaction.interval.ms:600000}",
+      initialDelayString = "${software.iridium.token.mapped.compaction.interval.ms:600000}")
+  public void compact() {
+    compactionLock.lock();
+    try {
+      compact(System.currentTimeMillis());
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${software.iridium.token.mapped.sync.interval.ms:1000}")
+  public void sync() {
+    lock.readLock().lock();
+    try {
+      log.force();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    compactionLock.lock();
+    lock.writeLock().lock();
+    try {
+      log.close();
+    } finally {
+      lock.writeLock().unlock();
+      compactionLock.unlock();
+    }
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  private boolean append(final TokenRecord record) {
+    lock.writeLock().lock();
+    try {
+      final var offset = log.append(record);
+      if (offset < 0) {
+        return false;
+      }
+      index.put(
+          OffHeapTokenIndex.hash(record.accessToken()), offset, matches(record.accessToken()));
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // the live records are copied and indexed in a new log while the current one stays open and in
+  // use, so a failure at any step leaves the store serving from the log it had. Only the records
+  // saved during the copy, the rename and the swap happen under the write lock.
+  private void compact(final long now) {
+    final TokenLog source;
+    final int copiedUpTo;
+    lock.readLock().lock();
+    try {
+      source = log;
+      copiedUpTo = source.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+    final var compacted = path.resolveSibling(path.getFileName() + ".compact");
+    final TokenLog next;
+    try {
+      Files.deleteIfExists(compacted);
+      next = TokenLog.open(compacted, capacity);
+    } catch (IOException e) {
+      throw new UncheckedIOException("failed to compact token log: " + path, e);
+    }
+    final TokenLog previous;
+    try {
+      // the shared index changes with every save, so the latest record of each token is found
+      // with an index of its own over the records being copied
+      final var latest = new OffHeapTokenIndex(Math.max(1, copiedUpTo / EXPECTED_RECORD_BYTES));
+      source.forEach(
+          0,
+          copiedUpTo,
+          (record, offset) ->
+              latest.put(
+                  OffHeapTokenIndex.hash(record.accessToken()),
+                  offset,
+                  matches(source, record.accessToken())));
+      final var nextIndex = new OffHeapTokenIndex(Math.max(1, latest.size()));
+      source.forEach(
+          0,
+          copiedUpTo,
+          (record, offset) -> {
+            if (record.expiration() > now
+                && latest.find(
+                        OffHeapTokenIndex.hash(record.accessToken()),
+                        matches(source, record.accessToken()))
+                    == offset) {
+              copy(record, next, nextIndex);
+            }
+          });
+      next.force();
+      copied();
+
+      lock.writeLock().lock();
+      try {
+        source.forEach(
+            copiedUpTo,
+            source.size(),
+            (record, offset) -> {
+              if (record.expiration() > now) {
+                copy(record, next, nextIndex);
+              }
+            });
+        next.force();
+        // the new log stays mapped across the rename, so it keeps writing to the file now at path
+        replace(compacted, path);
+        previous = log;
+        log = next;
+        index = nextIndex;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } catch (IOException | RuntimeException e) {
+      discard(next, compacted);
+      if (e instanceof IOException ioException) {
+        throw new UncheckedIOException("failed to compact token log: " + path, ioException);
+      }
+      throw (RuntimeException) e;
+    }
+    try {
+      previous.close();
+    } catch (IOException e) {
+      logger.warn("failed to close replaced token log {}: {}", path, e.getMessage());
+    }
+    logger.info("compacted token log {} from {} to {} bytes", path, copiedUpTo, next.size());
+  }
+
+  private void copy(final TokenRecord record, final TokenLog target, final OffHeapTokenIndex into) {
+    final var offset = target.append(record);
+    if (offset < 0) {
+      throw new IllegalStateException("token log is full: " + path);
+    }
+    into.put(
+        OffHeapTokenIndex.hash(record.accessToken()),
+        offset,
+        matches(target, record.accessToken()));
+  }
+
+  void copied() {
+    // a point for tests to act between the copy and the swap
+  }
+
+  void replace(final Path source, final Path target) throws IOException {
+    Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private void discard(final TokenLog next, final Path compacted) {
+    try {
+      next.close();
+      Files.deleteIfExists(compacted);
+    } catch (IOException e) {
+      logger.warn("failed to remove partial token log {}: {}", compacted, e.getMessage());
+    }
+  }
+
+  private void open() throws IOException {
+    log = TokenLog.open(path, capacity);
+    final var rebuilt = new OffHeapTokenIndex(Math.max(1, log.size() / EXPECTED_RECORD_BYTES));
+    log.forEach(
+        (record, offset) ->
+            rebuilt.put(
+                OffHeapTokenIndex.hash(record.accessToken()),
+                offset,
+                matches(record.accessToken())));
+    index = rebuilt;
+  }
+
+  private IntPredicate matches(final String accessToken) {
+    return matches(log, accessToken);
+  }
+
+  private static IntPredicate matches(final TokenLog target, final String accessToken) {
+    return offset -> target.readAccessToken(offset).equals(accessToken);
+  }
+
+  private static TokenRecord toRecord(final AccessTokenEntity entity) {
+    return new TokenRecord(
+        entity.getAccessToken(),
+        entity.getTokenType(),
+        entity.getIdentityId(),
+        entity.getRefreshToken() == null ? null : entity.getRefreshToken().getRefreshToken(),
+        entity.getExpiration().getTime());
+  }
+
+  private static AccessTokenEntity toEntity(final TokenRecord record) {
+    final var entity = new AccessTokenEntity();
+    entity.setAccessToken(record.accessToken());
+    entity.setTokenType(record.tokenType());
+    entity.setIdentityId(record.identityId());
+    entity.setExpiration(new Date(record.expiration()));
+    if (record.refreshToken() != null) {
+      final var refreshToken = new RefreshTokenEntity();
+      refreshToken.setRefreshToken(record.refreshToken());
+      refreshToken.setAccessToken(entity);
+      entity.setRefreshToken(refreshToken);
+    }
+    return entity;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntPredicate;
+
+/**
+ * An open addressing hash table held in direct memory that maps a token's hash to the offset of its
+ * latest record in the {@link TokenLog}. Hashes can collide, so lookups confirm a candidate offset
+ * through the supplied predicate, which compares the token stored at that offset.
+ */
+final class OffHeapTokenIndex {
+
+  private static final int SLOT_BYTES = Integer.BYTES * 2;
+
+  private ByteBuffer slots;
+  private int mask;
+  private int size;
+
+  OffHeapTokenIndex(final int expectedEntries) {
+    allocate(Integer.highestOneBit(Math.max(16, expectedEntries * 2 - 1)) << 1);
+  }
+
+  static int hash(final String accessToken) {
+    final var hash = accessToken.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  int find(final int hash, final IntPredicate matchesOffset) {
+    var slot = hash & mask;
+    while (true) {
+      final var storedOffset = offsetAt(slot);
+      if (storedOffset < 0) {
+        return -1;
+      }
+      if (hashAt(slot) == hash && matchesOffset.test(storedOffset)) {
+        return storedOffset;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  void put(final int hash, final int offset, final IntPredicate matchesOffset) {
+    var slot = hash & mask;
+    while (true) {
+      final var storedOffset = offsetAt(slot);
+      if (storedOffset < 0) {
+        write(slot, hash, offset);
+        if (++size * 4 >= capacity() * 3) {
+          grow();
+        }
+        return;
+      }
+      if (hashAt(slot) == hash && matchesOffset.test(storedOffset)) {
+        write(slot, hash, offset);
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  private void grow() {
+    final var previous = slots;
+    final var previousCapacity = capacity();
+    allocate(previousCapacity << 1);
+    for (int slot = 0; slot < previousCapacity; slot++) {
+      final var storedOffset = previous.getInt(slot * SLOT_BYTES + Integer.BYTES) - 1;
+      if (storedOffset >= 0) {
+        final var hash = previous.getInt(slot * SLOT_BYTES);
+        var target = hash & mask;
+        while (offsetAt(target) >= 0) {
+          target = (target + 1) & mask;
+        }
+        write(target, hash, storedOffset);
+        size++;
+      }
+    }
+  }
+
+  private void allocate(final int capacity) {
+    slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+    mask = capacity - 1;
+    size = 0;
+  }
+
+  private int hashAt(final int slot) {
+    return slots.getInt(slot * SLOT_BYTES);
+  }
+
+  // offsets are stored plus one so that the zeroed memory of an empty slot reads as -1
+  private int offsetAt(final int slot) {
+    return slots.getInt(slot * SLOT_BYTES + Integer.BYTES) - 1;
+  }
+
+  private void write(final int slot, final int hash, final int offset) {
+    slots.putInt(slot * SLOT_BYTES, hash);
+    slots.putInt(slot * SLOT_BYTES + Integer.BYTES, offset + 1);
+  }
+}
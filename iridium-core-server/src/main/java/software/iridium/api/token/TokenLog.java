@@ -0,0 +1,198 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of token records, mapped into memory. Each record is laid out as
+ *
+ * <pre>
+ * int length | int crc32 | long expiration | access token | token type | identity id | refresh token
+ * </pre>
+ *
+ * with every string written as an unsigned short length followed by its UTF-8 bytes. A length of
+ * zero marks the end of the log. When the log is opened it is scanned up to the first record that
+ * is incomplete or fails its checksum, so a record torn by a crash is discarded and overwritten.
+ */
+final class TokenLog implements Closeable {
+
+  static final int HEADER_BYTES = Integer.BYTES * 2;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private int writePosition;
+
+  private TokenLog(final FileChannel channel, final MappedByteBuffer buffer, final int capacity) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.capacity = capacity;
+  }
+
+  static TokenLog open(final Path path, final int capacity) throws IOException {
+    final var channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    final var log =
+        new TokenLog(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+    log.writePosition = log.scan(null, 0, capacity);
+    return log;
+  }
+
+  /** Returns the offset of the appended record, or -1 when the log has no room left for it. */
+  int append(final TokenRecord record) {
+    final var payload = encode(record);
+    final var end = writePosition + HEADER_BYTES + payload.length;
+    if (end > capacity) {
+      return -1;
+    }
+    final var offset = writePosition;
+    buffer.put(offset + HEADER_BYTES, payload);
+    buffer.putInt(offset + Integer.BYTES, checksum(payload));
+    // the length goes last so a reader never sees a complete header in front of a partial payload
+    buffer.putInt(offset, payload.length);
+    if (end + Integer.BYTES <= capacity) {
+      buffer.putInt(end, 0);
+    }
+    writePosition = end;
+    return offset;
+  }
+
+  TokenRecord read(final int offset) {
+    final var length = buffer.getInt(offset);
+    final var payload = new byte[length];
+    buffer.get(offset + HEADER_BYTES, payload);
+    return decode(ByteBuffer.wrap(payload));
+  }
+
+  /** Reads only the access token of the record at the offset. */
+  String readAccessToken(final int offset) {
+    final var start = offset + HEADER_BYTES + Long.BYTES;
+    final var bytes = new byte[Short.toUnsignedInt(buffer.getShort(start))];
+    buffer.get(start + Short.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  void forEach(final ObjIntConsumer<TokenRecord> consumer) {
+    scan(consumer, 0, capacity);
+  }
+
+  /**
+   * Visits the records between the offsets. Records below the current size are never written again,
+   * so another thread may do this while appends continue behind {@code to}.
+   */
+  void forEach(final int from, final int to, final ObjIntConsumer<TokenRecord> consumer) {
+    scan(consumer, from, to);
+  }
+
+  int size() {
+    return writePosition;
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  @Override
+  public void close() throws IOException {
+    force();
+    channel.close();
+  }
+
+  private int scan(final ObjIntConsumer<TokenRecord> consumer, final int from, final int limit) {
+    var position = from;
+    while (position + HEADER_BYTES <= limit) {
+      final var length = buffer.getInt(position);
+      if (length <= 0 || position + HEADER_BYTES + length > limit) {
+        break;
+      }
+      final var payload = new byte[length];
+      buffer.get(position + HEADER_BYTES, payload);
+      if (checksum(payload) != buffer.getInt(position + Integer.BYTES)) {
+        break;
+      }
+      if (consumer != null) {
+        consumer.accept(decode(ByteBuffer.wrap(payload)), position);
+      }
+      position += HEADER_BYTES + length;
+    }
+    return position;
+  }
+
+  private static byte[] encode(final TokenRecord record) {
+    final var accessToken = record.accessToken().getBytes(StandardCharsets.UTF_8);
+    final var tokenType = record.tokenType().getBytes(StandardCharsets.UTF_8);
+    final var identityId = record.identityId().getBytes(StandardCharsets.UTF_8);
+    final var refreshToken =
+        record.refreshToken() == null
+            ? new byte[0]
+            : record.refreshToken().getBytes(StandardCharsets.UTF_8);
+    final var payload =
+        ByteBuffer.allocate(
+            Long.BYTES
+                + Short.BYTES * 4
+                + accessToken.length
+                + tokenType.length
+                + identityId.length
+                + refreshToken.length);
+    payload.putLong(record.expiration());
+    putString(payload, accessToken);
+    putString(payload, tokenType);
+    putString(payload, identityId);
+    putString(payload, refreshToken);
+    return payload.array();
+  }
+
+  private static TokenRecord decode(final ByteBuffer payload) {
+    final var expiration = payload.getLong();
+    final var accessToken = getString(payload);
+    final var tokenType = getString(payload);
+    final var identityId = getString(payload);
+    final var refreshToken = getString(payload);
+    return new TokenRecord(
+        accessToken,
+        tokenType,
+        identityId,
+        refreshToken.isEmpty() ? null : refreshToken,
+        expiration);
+  }
+
+  private static void putString(final ByteBuffer target, final byte[] value) {
+    if (value.length > 0xFFFF) {
+      throw new IllegalArgumentException("token field too long: " + value.length + " bytes");
+    }
+    target.putShort((short) value.length);
+    target.put(value);
+  }
+
+  private static String getString(final ByteBuffer source) {
+    final var bytes = new byte[Short.toUnsignedInt(source.getShort())];
+    source.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int checksum(final byte[] payload) {
+    final var crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+}
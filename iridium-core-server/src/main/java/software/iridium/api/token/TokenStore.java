@@ -0,0 +1,31 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import java.util.Date;
+import java.util.Optional;
+import software.iridium.entity.AccessTokenEntity;
+
+/**
+ * Persists issued access tokens and resolves bearer tokens presented to the api. The login tokens
+ * kept by {@link software.iridium.api.service.TokenManager} are not part of it: a login reads and
+ * updates the identity in the database anyway, so they stay next to it.
+ */
+public interface TokenStore {
+
+  String STORE_PROPERTY = "software.iridium.token.store";
+
+  /** Stores the token together with its refresh token, if one is attached. */
+  AccessTokenEntity save(AccessTokenEntity accessToken);
+
+  Optional<AccessTokenEntity> findActive(String accessToken, Date now);
+}
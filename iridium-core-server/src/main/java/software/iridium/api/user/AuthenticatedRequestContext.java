@@ -0,0 +1,59 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.annotation.RequestScope;
+import software.iridium.api.authentication.domain.IdentityResponse;
+import software.iridium.api.base.error.NotAuthorizedException;
+import software.iridium.api.mapper.IdentityEntityMapper;
+import software.iridium.api.repository.IdentityEntityRepository;
+
+/**
+ * The identity behind the bearer token of the current request, as already resolved by the token
+ * filter. The identity itself is only loaded on first use and then kept until the request ends.
+ */
+@Component
+@RequestScope
+public class AuthenticatedRequestContext {
+
+  @Autowired private IdentityEntityRepository identityRepository;
+  @Autowired private IdentityEntityMapper identityEntityMapper;
+
+  private IdentityResponse identity;
+
+  public String getIdentityId() {
+    final var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof PrincipalUser user) {
+      return user.getIdentityId();
+    }
+    throw new NotAuthorizedException();
+  }
+
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public IdentityResponse getIdentity() {
+    if (identity == null) {
+      final var identityId = getIdentityId();
+      final var entity =
+          identityRepository
+              .findWithEmailsAndRolesById(identityId)
+              .orElseThrow(NotAuthorizedException::new);
+      identity =
+          identityEntityMapper.map(entity, identityRepository.findManagedTenantIds(identityId));
+    }
+    return identity;
+  }
+}
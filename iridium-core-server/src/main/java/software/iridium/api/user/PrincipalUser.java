@@ -21,11 +21,13 @@ public class PrincipalUser extends User implements Principal {
 
   private String emailAddress;
   private String authToken;
+  private String identityId;
 
   public PrincipalUser(
-      final String authToken, final String emailAddress, final List<GrantedAuthority> authorities) {
-    super(emailAddress, "password", authorities);
+      final String authToken, final String identityId, final List<GrantedAuthority> authorities) {
+    super(identityId, "password", authorities);
     this.authToken = authToken;
+    this.identityId = identityId;
   }
 
   @Override
@@ -36,4 +38,8 @@ public class PrincipalUser extends User implements Principal {
   public String getAuthToken() {
     return authToken;
   }
+
+  public String getIdentityId() {
+    return identityId;
+  }
 }
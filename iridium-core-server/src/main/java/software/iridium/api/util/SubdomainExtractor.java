@@ -30,4 +30,12 @@ public class SubdomainExtractor {
     return requestUrl.substring(
         schemeEndIndex + SCHEME_SUBDOMAIN_SEPERATOR.length(), firstPeriodIndex);
   }
+
+  public String extractFromHost(final String host) {
+    if (host.contains(LOCALHOST)) {
+      return LOCALHOST;
+    }
+    final var firstPeriodIndex = host.indexOf(PERIOD);
+    return firstPeriodIndex < 0 ? host : host.substring(0, firstPeriodIndex);
+  }
 }
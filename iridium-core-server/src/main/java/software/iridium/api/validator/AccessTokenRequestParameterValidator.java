@@ -16,6 +16,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import software.iridium.api.base.error.BadRequestException;
@@ -33,6 +34,11 @@ public class AccessTokenRequestParameterValidator {
   @Autowired private AttributeValidator attributeValidator;
   @Autowired private RedirectUrlGenerator redirectUrlGenerator;
 
+  // clients written against earlier releases may send verifiers outside RFC 7636's 43 to 128
+  // unreserved characters; they are held to the rule once the legacy challenges are switched off
+  @Value("${software.iridium.pkce.legacy.enabled:true}")
+  private boolean legacyEnabled;
+
   public String validateAndOptionallyRedirect(
       final ApplicationEntity application, final Map<String, String> params) {
 
@@ -71,6 +77,14 @@ public class AccessTokenRequestParameterValidator {
       throw new BadRequestException("code_verifier is blank");
     }
 
+    final var codeVerifier = params.get(AuthorizationCodeFlowConstants.CODE_VERIFIER.getValue());
+    if (legacyEnabled
+        ? !attributeValidator.isVisibleAscii(codeVerifier)
+        : !attributeValidator.isValidCodeVerifier(codeVerifier)) {
+      logger.info("code_verifier is not valid");
+      throw new BadRequestException("code_verifier is not valid");
+    }
+
     if (attributeValidator.isBlank(
         params.getOrDefault(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue(), ""))) {
       logger.info("authorization code is blank");
@@ -42,8 +42,8 @@ public class ApplicationUpdateRequestValidator {
     }
 
     checkArgument(
-        validator.isValidUrl(request.getRedirectUri()),
-        "redirectUri must be a valid url: " + request.getRedirectUri());
+        validator.isValidRedirectUri(request.getRedirectUri()),
+        "redirectUri must be a valid redirect uri: " + request.getRedirectUri());
     if (validator.isNotBlank(request.getIconUrl())) {
       checkArgument(
           validator.isValidUrl(request.getIconUrl()),
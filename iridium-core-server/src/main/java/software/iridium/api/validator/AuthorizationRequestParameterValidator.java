@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -30,6 +31,12 @@ public class AuthorizationRequestParameterValidator {
   @Autowired private RedirectUrlGenerator redirectUrlGenerator;
   @Autowired private AttributeValidator attributeValidator;
 
+  // a plain challenge is the verifier itself, so it follows the same rule as the verifier at the
+  // token endpoint: any visible ascii while legacy challenges are accepted, RFC 7636 once they are
+  // not
+  @Value("${software.iridium.pkce.legacy.enabled:true}")
+  private boolean legacyEnabled;
+
   public String validateAndOptionallyRedirect(
       final String redirectUri, final Map<String, String> params) {
     final var containerErrorMap = new HashMap<String, MultiValueMap<String, String>>();
@@ -43,6 +50,15 @@ public class AuthorizationRequestParameterValidator {
       return redirectUrlGenerator.generate(redirectUri, detailErrorMap);
     }
 
+    if (!attributeValidator.isVisibleAscii(
+        params.get(AuthorizationCodeFlowConstants.STATE.getValue()))) {
+      final var detailErrorMap = new LinkedMultiValueMap<String, String>();
+      detailErrorMap.put(
+          AuthorizationErrorKeys.INVALID_REQUEST.getKey(), List.of("state parameter is not valid"));
+      containerErrorMap.put("error", detailErrorMap);
+      return redirectUrlGenerator.generate(redirectUri, detailErrorMap);
+    }
+
     if (attributeValidator.doesNotEqual(
         AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue(),
         params.get(AuthorizationCodeFlowConstants.RESPONSE_TYPE.getValue()))) {
@@ -82,6 +98,21 @@ public class AuthorizationRequestParameterValidator {
       containerErrorMap.put("error", detailErrorMap);
       return redirectUrlGenerator.generate(redirectUri, detailErrorMap);
     }
+
+    final var codeChallenge = params.get(AuthorizationCodeFlowConstants.CODE_CHALLENGE.getValue());
+    if (legacyEnabled
+        ? !attributeValidator.isVisibleAscii(codeChallenge)
+        : !attributeValidator.isValidCodeChallenge(codeChallenge)) {
+      final var detailErrorMap = new LinkedMultiValueMap<String, String>();
+      detailErrorMap.put(
+          AuthorizationErrorKeys.INVALID_REQUEST.getKey(),
+          List.of(
+              legacyEnabled
+                  ? "code_challenge must be visible ascii characters"
+                  : "code_challenge must be 43 to 128 unreserved characters"));
+      containerErrorMap.put("error", detailErrorMap);
+      return redirectUrlGenerator.generate(redirectUri, detailErrorMap);
+    }
     return "";
   }
 }
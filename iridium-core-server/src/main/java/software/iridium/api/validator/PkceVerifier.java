@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.validator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.iridium.api.authentication.domain.CodeChallengeMethod;
+
+/**
+ * Checks a token request's code_verifier against the code_challenge stored with the authorization
+ * code, as described in RFC 7636. Challenges are compared in constant time.
+ */
+@Component
+public class PkceVerifier {
+
+  private static final ThreadLocal<MessageDigest> SHA_256 =
+      ThreadLocal.withInitial(PkceVerifier::sha256);
+  private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  // clients written against earlier releases send base64url(hex(sha256(verifier)))
+  @Value("${software.iridium.pkce.legacy.enabled:true}")
+  private boolean legacyEnabled;
+
+  public boolean verify(
+      final CodeChallengeMethod method, final String codeVerifier, final String codeChallenge) {
+    if (method == null || codeVerifier == null || codeChallenge == null) {
+      return false;
+    }
+    final var verifier = codeVerifier.getBytes(StandardCharsets.UTF_8);
+    final var challenge = codeChallenge.getBytes(StandardCharsets.UTF_8);
+    if (method == CodeChallengeMethod.PLAIN) {
+      return MessageDigest.isEqual(verifier, challenge);
+    }
+    final var digest = SHA_256.get().digest(verifier);
+    if (MessageDigest.isEqual(BASE64_URL.encode(digest), challenge)) {
+      return true;
+    }
+    return legacyEnabled && MessageDigest.isEqual(BASE64_URL.encode(hex(digest)), challenge);
+  }
+
+  private static byte[] hex(final byte[] digest) {
+    final var hex = new byte[digest.length * 2];
+    for (int i = 0; i < digest.length; i++) {
+      hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0x0f];
+      hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0x0f];
+    }
+    return hex;
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
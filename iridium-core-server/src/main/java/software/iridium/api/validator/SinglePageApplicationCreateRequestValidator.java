@@ -29,8 +29,8 @@ public class SinglePageApplicationCreateRequestValidator {
         attributeValidator.isNotBlankAndNoLongerThan(request.getHomepageURL(), 100),
         "callback URL must not be blank and less than 100 characters");
     checkArgument(
-        attributeValidator.isValidUrl(request.getCallbackURL()),
-        "callback URL must be a valid URL");
+        attributeValidator.isValidRedirectUri(request.getCallbackURL()),
+        "callback URL must be a valid redirect uri");
     checkArgument(
         attributeValidator.isNotBlankAndNoLongerThan(request.getHomepageURL(), 100),
         "homepage URL must not be blank and less than 100 characters");
@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.util.Date;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.iridium.api.authentication.domain.IdentityResponse;
+import software.iridium.entity.AccessTokenEntity;
+import software.iridium.entity.IdentityEmailEntity;
+import software.iridium.entity.IdentityEntity;
+import software.iridium.entity.TenantEntity;
+
+/** Requests for the signed in identity, through the full filter chain against H2. */
+@SpringBootTest(
+    properties = {"spring.datasource.url=jdbc:h2:mem:securitychain;MODE=MySQL;NON_KEYWORDS=VALUE"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class IdentitySecurityChainTest {
+
+  private static final String TOKEN = "security-chain-token";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transaction;
+  private String identityId;
+
+  @BeforeEach
+  public void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    identityId =
+        transaction.execute(
+            status -> {
+              final var tenant = new TenantEntity();
+              tenant.setSubdomain("securitychain");
+              entityManager.persist(tenant);
+              final var identity = new IdentityEntity();
+              identity.setParentTenantId(tenant.getId());
+              final var email = new IdentityEmailEntity();
+              email.setEmailAddress("someone@iridium.software");
+              email.setPrimary(true);
+              email.setIdentity(identity);
+              identity.getEmails().add(email);
+              entityManager.persist(identity);
+              final var token = new AccessTokenEntity();
+              token.setAccessToken(TOKEN);
+              token.setTokenType("Bearer");
+              token.setIdentityId(identity.getId());
+              token.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+              entityManager.persist(token);
+              return identity.getId();
+            });
+  }
+
+  @AfterEach
+  public void tearDown() {
+    transaction.executeWithoutResult(
+        status -> {
+          entityManager
+              .createQuery("delete from AccessTokenEntity where identityId = :identityId")
+              .setParameter("identityId", identityId)
+              .executeUpdate();
+          final var identity = entityManager.find(IdentityEntity.class, identityId);
+          final var tenant = entityManager.find(TenantEntity.class, identity.getParentTenantId());
+          entityManager.remove(identity);
+          entityManager.remove(tenant);
+        });
+  }
+
+  @Test
+  public void getIdentity_ValidBearerToken_SignedInIdentityReturned() throws Exception {
+    mockMvc
+        .perform(
+            get("/identities")
+                .accept(IdentityResponse.MEDIA_TYPE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.id", equalTo(identityId)));
+  }
+
+  @Test
+  public void getIdentity_NoBearerToken_Forbidden() throws Exception {
+    mockMvc
+        .perform(get("/identities").accept(IdentityResponse.MEDIA_TYPE))
+        .andExpect(status().isForbidden());
+  }
+}
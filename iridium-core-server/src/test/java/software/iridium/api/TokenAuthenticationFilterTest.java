@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import software.iridium.api.base.error.NotAuthorizedException;
+import software.iridium.api.token.TokenStore;
+import software.iridium.api.user.PrincipalUser;
+import software.iridium.entity.AccessTokenEntity;
+
+@ExtendWith(MockitoExtension.class)
+class TokenAuthenticationFilterTest {
+
+  @Mock private AuthenticationManager mockAuthenticationManager;
+  @Mock private TokenStore mockTokenStore;
+  private TokenAuthenticationFilter subject;
+
+  @BeforeEach
+  public void setUp() {
+    subject =
+        new TokenAuthenticationFilter(
+            mockAuthenticationManager, mockTokenStore, SecurityConfig.PUBLIC_ENDPOINTS);
+  }
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    SecurityContextHolder.clearContext();
+    Mockito.verifyNoMoreInteractions(mockAuthenticationManager, mockTokenStore);
+  }
+
+  @Test
+  public void doFilter_PublicEndpointWithBearerToken_TokenNotLookedUp() throws Exception {
+    final var stylesChain = new MockFilterChain();
+    final var tokenChain = new MockFilterChain();
+
+    subject.doFilter(request("/styles/main.css"), new MockHttpServletResponse(), stylesChain);
+    subject.doFilter(request("/oauth/token"), new MockHttpServletResponse(), tokenChain);
+
+    assertThat(stylesChain.getRequest(), is(notNullValue()));
+    assertThat(tokenChain.getRequest(), is(notNullValue()));
+    assertThat(SecurityContextHolder.getContext().getAuthentication(), is(nullValue()));
+  }
+
+  @Test
+  public void doFilter_ProtectedEndpointWithUnknownToken_ExceptionThrown() {
+    when(mockTokenStore.findActive(eq("the-token"), any(Date.class))).thenReturn(Optional.empty());
+
+    assertThrows(
+        NotAuthorizedException.class,
+        () ->
+            subject.doFilter(
+                request("/identities/me"), new MockHttpServletResponse(), new MockFilterChain()));
+
+    verify(mockTokenStore).findActive(eq("the-token"), any(Date.class));
+  }
+
+  @Test
+  public void doFilter_GetIdentitiesWithBearerToken_PrincipalResolved() throws Exception {
+    final var token = new AccessTokenEntity();
+    token.setAccessToken("the-token");
+    token.setIdentityId("the identity id");
+
+    when(mockTokenStore.findActive(eq("the-token"), any(Date.class)))
+        .thenReturn(Optional.of(token));
+    when(mockAuthenticationManager.authenticate(any(Authentication.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    subject.doFilter(request("/identities"), new MockHttpServletResponse(), new MockFilterChain());
+
+    verify(mockTokenStore).findActive(eq("the-token"), any(Date.class));
+    verify(mockAuthenticationManager).authenticate(any(Authentication.class));
+    final var principal =
+        (PrincipalUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    assertThat(principal.getIdentityId(), is(equalTo("the identity id")));
+  }
+
+  @Test
+  public void doFilter_PostIdentities_TokenNotLookedUp() throws Exception {
+    final var chain = new MockFilterChain();
+
+    subject.doFilter(request("POST", "/identities"), new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest(), is(notNullValue()));
+    assertThat(SecurityContextHolder.getContext().getAuthentication(), is(nullValue()));
+  }
+
+  private MockHttpServletRequest request(final String path) {
+    return request("GET", path);
+  }
+
+  private MockHttpServletRequest request(final String method, final String path) {
+    final var request = new MockHttpServletRequest(method, path);
+    request.setServletPath(path);
+    request.addHeader(
+        HttpHeaders.AUTHORIZATION,
+        TokenAuthenticationFilter.BEARER_PREFIX_WITH_SPACE + "the-token");
+    return request;
+  }
+}
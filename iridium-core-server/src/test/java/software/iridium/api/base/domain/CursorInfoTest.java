@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.base.domain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class CursorInfoTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void serialize_NextCursorPresent_HasMoreWritten() throws Exception {
+    final var json =
+        objectMapper.readTree(objectMapper.writeValueAsString(new CursorInfo(20, "id")));
+
+    assertThat(json.get("hasMore").asBoolean(), is(true));
+    assertThat(json.get("nextCursor").asText(), is(equalTo("id")));
+  }
+
+  @Test
+  public void serialize_LastPage_HasMoreFalse() throws Exception {
+    final var json =
+        objectMapper.readTree(objectMapper.writeValueAsString(new CursorInfo(20, null)));
+
+    assertThat(json.get("hasMore").asBoolean(), is(false));
+  }
+
+  @Test
+  public void deserialize_HasMoreInPayload_DerivedFromCursor() throws Exception {
+    final var cursorInfo =
+        objectMapper.readValue(
+            "{\"pageSize\":5,\"nextCursor\":null,\"hasMore\":true}", CursorInfo.class);
+
+    assertThat(cursorInfo.getPageSize(), is(equalTo(5)));
+    assertThat(cursorInfo.getNextCursor(), is(nullValue()));
+    assertThat(cursorInfo.getHasMore(), is(false));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+class ApplicationGrantCacheTest {
+
+  @Test
+  public void contains_RecordedGrant_True() {
+    final var subject = new ApplicationGrantCache(true, 10, 10);
+
+    subject.record("identity", "app-1");
+
+    assertThat(subject.contains("identity", "app-1"), is(true));
+    assertThat(subject.contains("identity", "app-2"), is(false));
+    assertThat(subject.contains("other", "app-1"), is(false));
+  }
+
+  @Test
+  public void contains_Disabled_AlwaysFalse() {
+    final var subject = new ApplicationGrantCache(false, 10, 10);
+
+    subject.record("identity", "app-1");
+
+    assertThat(subject.contains("identity", "app-1"), is(false));
+    assertThat(subject.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void record_IdentityCapacityReached_LeastRecentlyUsedEvicted() {
+    final var subject = new ApplicationGrantCache(true, 2, 10);
+
+    subject.record("first", "app-1");
+    subject.record("second", "app-1");
+    subject.contains("first", "app-1");
+    subject.record("third", "app-1");
+
+    assertThat(subject.size(), is(equalTo(2)));
+    assertThat(subject.contains("first", "app-1"), is(true));
+    assertThat(subject.contains("second", "app-1"), is(false));
+    assertThat(subject.contains("third", "app-1"), is(true));
+  }
+
+  @Test
+  public void record_ApplicationCapacityReached_NotCached() {
+    final var subject = new ApplicationGrantCache(true, 10, 1);
+
+    subject.record("identity", "app-1");
+    subject.record("identity", "app-2");
+
+    assertThat(subject.contains("identity", "app-1"), is(true));
+    assertThat(subject.contains("identity", "app-2"), is(false));
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+class CacheStatisticsLoggerTest {
+
+  @Test
+  public void formatRatio_NoRequests_NotApplicable() {
+    assertThat(CacheStatisticsLogger.formatRatio(0, 0), is(equalTo("n/a")));
+  }
+
+  @Test
+  public void formatRatio_HitsAndMisses_FormatsRatio() {
+    assertThat(CacheStatisticsLogger.formatRatio(3, 1), is(equalTo("0.75")));
+  }
+}
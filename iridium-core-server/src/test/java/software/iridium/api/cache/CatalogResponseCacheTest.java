@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class CatalogResponseCacheTest {
+
+  private CatalogResponseCache subject;
+
+  @BeforeEach
+  public void setupForEachTestCase() {
+    subject = new CatalogResponseCache();
+    ReflectionTestUtils.setField(subject, "objectMapper", new ObjectMapper());
+    ReflectionTestUtils.setField(subject, "maxAgeSeconds", 0L);
+  }
+
+  @Test
+  public void get_CalledTwice_SerializesOnce() {
+    final var calls = new AtomicInteger();
+
+    final var first = subject.get("catalog", () -> List.of("a", calls.incrementAndGet()));
+    final var second = subject.get("catalog", () -> List.of("a", calls.incrementAndGet()));
+
+    assertThat(second, is(sameInstance(first)));
+    assertThat(calls.get(), is(equalTo(1)));
+    assertThat(new String(first.body()), is(equalTo("[\"a\",1]")));
+  }
+
+  @Test
+  public void get_RefreshedWithSameData_KeepsETag() {
+    final var first = subject.get("catalog", () -> List.of("a"));
+
+    subject.refresh();
+    final var second = subject.get("catalog", () -> List.of("a"));
+    subject.evict("catalog");
+    final var third = subject.get("catalog", () -> List.of("b"));
+
+    assertThat(second, is(not(sameInstance(first))));
+    assertThat(second.eTag(), is(equalTo(first.eTag())));
+    assertThat(third.eTag(), is(not(equalTo(first.eTag()))));
+  }
+
+  @Test
+  public void respond_MatchingIfNoneMatch_NotModified() throws Exception {
+    final var mockMvc = MockMvcBuilders.standaloneSetup(new CatalogController(subject)).build();
+    final var eTag = subject.get("catalog", () -> List.of("a")).eTag();
+
+    mockMvc
+        .perform(get("/catalog"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(
+            header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, must-revalidate, private"))
+        .andExpect(content().string("[\"a\"]"));
+    mockMvc
+        .perform(get("/catalog").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @RestController
+  static class CatalogController {
+
+    private final CatalogResponseCache cache;
+
+    CatalogController(final CatalogResponseCache cache) {
+      this.cache = cache;
+    }
+
+    @GetMapping("/catalog")
+    public ResponseEntity<byte[]> catalog() {
+      return cache.respond("catalog", () -> List.of("a"));
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashMap;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HibernateCacheConfigTest {
+
+  @Test
+  public void hibernateCacheManager_AllGood_RegionsConfigured() throws Exception {
+    final var subject = new HibernateCacheConfig();
+
+    try (var cacheManager = subject.hibernateCacheManager()) {
+      assertThat(cacheManager.getCache("software.iridium.entity.TenantEntity"), is(notNullValue()));
+      assertThat(
+          cacheManager.getCache("software.iridium.entity.TenantEntity.externalIdentityProviders"),
+          is(notNullValue()));
+      assertThat(
+          cacheManager.getCache("software.iridium.entity.ApplicationTypeEntity"),
+          is(notNullValue()));
+      assertThat(cacheManager.getCache("default-query-results-region"), is(notNullValue()));
+      assertThat(cacheManager.getCache("default-update-timestamps-region"), is(notNullValue()));
+    }
+  }
+
+  @Test
+  public void customize_AllGood_DoesNotOverrideExplicitProperties() throws Exception {
+    final var subject = new HibernateCacheConfig();
+    ReflectionTestUtils.setField(subject, "cacheEnabled", true);
+    ReflectionTestUtils.setField(subject, "statisticsEnabled", true);
+    final var properties = new HashMap<String, Object>();
+    properties.put(AvailableSettings.USE_QUERY_CACHE, "false");
+
+    try (var cacheManager = subject.hibernateCacheManager()) {
+      subject.customize(properties, cacheManager);
+
+      assertThat(properties.get(AvailableSettings.USE_QUERY_CACHE), is(equalTo("false")));
+      assertThat(properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE), is(equalTo(true)));
+      assertThat(properties.get(AvailableSettings.CACHE_REGION_FACTORY), is(equalTo("jcache")));
+      assertThat(properties.get(ConfigSettings.CACHE_MANAGER), is(sameInstance(cacheManager)));
+      assertThat(properties.get(AvailableSettings.GENERATE_STATISTICS), is(equalTo(true)));
+    }
+  }
+}
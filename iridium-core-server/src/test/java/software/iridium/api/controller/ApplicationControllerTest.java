@@ -68,6 +68,17 @@ public class ApplicationControllerTest {
     verify(mockService).getPageByTenantId(same(orgId), same(page), same(size), eq(true));
   }
 
+  @Test
+  public void getCursorPageByTenant_AllGood_BehavesAsExpected() {
+    final var tenantId = "the tenant id";
+    final var cursor = "the cursor";
+    final var size = 20;
+
+    subject.getCursorPageByTenant(tenantId, cursor, size, true);
+
+    verify(mockService).getCursorPageByTenantId(same(tenantId), same(cursor), same(size), eq(true));
+  }
+
   @Test
   public void update_AllGood_BehavesAsExpected() {
     final var tenantId = "the tenant id";
@@ -11,33 +11,42 @@
  */
 package software.iridium.api.controller;
 
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 
+import java.util.function.Supplier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.iridium.api.cache.CatalogResponseCache;
 import software.iridium.api.service.ApplicationTypeService;
 
 @ExtendWith(MockitoExtension.class)
 class ApplicationTypeControllerTest {
 
   @Mock private ApplicationTypeService mockApplicationTypeService;
+  @Mock private CatalogResponseCache mockCatalogResponseCache;
   @InjectMocks private ApplicationTypeController subject;
 
   @AfterEach
   public void ensureNoUnexpectedMockInteractions() {
-    Mockito.verifyNoMoreInteractions(mockApplicationTypeService);
+    Mockito.verifyNoMoreInteractions(mockApplicationTypeService, mockCatalogResponseCache);
   }
 
   @Test
   public void getAll_BehavesAsExpected() {
+    final ArgumentCaptor<Supplier<?>> sourceCaptor = ArgumentCaptor.forClass(Supplier.class);
 
     subject.getAll();
 
+    verify(mockCatalogResponseCache)
+        .respond(same(CatalogResponseCache.APPLICATION_TYPES), sourceCaptor.capture());
+    sourceCaptor.getValue().get();
     verify(mockApplicationTypeService).getAll();
   }
 }
@@ -12,11 +12,14 @@
 package software.iridium.api.controller;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.*;
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,29 +27,87 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import software.iridium.api.authentication.domain.IdentityResponse;
+import software.iridium.api.authentication.domain.IdentitySummary;
+import software.iridium.api.base.domain.CursorListResponse;
+import software.iridium.api.service.IdentityListingService;
 import software.iridium.api.service.IdentityService;
 
 @ExtendWith(MockitoExtension.class)
 class IdentityControllerTest {
 
   @Mock private IdentityService mockIdentityService;
-  @Mock private HttpServletRequest mockServletRequest;
+  @Mock private IdentityListingService mockIdentityListingService;
   @InjectMocks private IdentityController subject;
 
   @AfterEach
   public void verifyNoUnexpectedMockInteractions() {
-    Mockito.verifyNoMoreInteractions(mockIdentityService);
+    Mockito.verifyNoMoreInteractions(mockIdentityService, mockIdentityListingService);
   }
 
   @Test
   public void getIdentity_AllGood_BehavesAsExpected() {
     final var response = new IdentityResponse();
+    final var request =
+        new ServletWebRequest(
+            new MockHttpServletRequest("GET", "/identities"), new MockHttpServletResponse());
 
-    when(mockIdentityService.getIdentity(same(mockServletRequest))).thenReturn(response);
+    when(mockIdentityService.getIdentityETag()).thenReturn("the-etag");
+    when(mockIdentityService.getIdentity()).thenReturn(response);
 
-    assertThat(subject.getIdentity(mockServletRequest).getData(), sameInstance(response));
+    final var entity = subject.getIdentity(request);
 
-    verify(mockIdentityService).getIdentity(same(mockServletRequest));
+    verify(mockIdentityService).getIdentityETag();
+    verify(mockIdentityService).getIdentity();
+    assertThat(entity.getBody().getData(), sameInstance(response));
+    assertThat(entity.getHeaders().getETag(), is(equalTo("\"the-etag\"")));
+    assertThat(entity.getHeaders().getCacheControl(), is(equalTo("no-cache, private")));
+  }
+
+  @Test
+  public void getIdentity_ETagMatches_NotModified() {
+    final var servletRequest = new MockHttpServletRequest("GET", "/identities");
+    servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"the-etag\"");
+    final var servletResponse = new MockHttpServletResponse();
+
+    when(mockIdentityService.getIdentityETag()).thenReturn("the-etag");
+
+    assertThat(
+        subject.getIdentity(new ServletWebRequest(servletRequest, servletResponse)),
+        is(nullValue()));
+
+    verify(mockIdentityService).getIdentityETag();
+    assertThat(servletResponse.getStatus(), is(equalTo(HttpStatus.NOT_MODIFIED.value())));
+  }
+
+  @Test
+  public void getPageByTenant_AllGood_BehavesAsExpected() {
+    final var tenantId = "the tenant id";
+    final var cursor = "the cursor";
+    final var size = 20;
+    final var page = new CursorListResponse<IdentitySummary>();
+
+    when(mockIdentityListingService.getPageByTenantId(same(tenantId), same(cursor), same(size)))
+        .thenReturn(page);
+
+    assertThat(subject.getPageByTenant(tenantId, cursor, size), sameInstance(page));
+
+    verify(mockIdentityListingService).getPageByTenantId(same(tenantId), same(cursor), same(size));
+  }
+
+  @Test
+  public void export_AllGood_VerifiesTenantBeforeStreaming() {
+    final var tenantId = "the tenant id";
+
+    final var response = subject.export(tenantId);
+
+    verify(mockIdentityListingService).verifyManagesTenant(same(tenantId));
+    assertThat(response.getStatusCode(), is(equalTo(HttpStatus.OK)));
+    assertThat(response.getBody(), is(notNullValue()));
   }
 }
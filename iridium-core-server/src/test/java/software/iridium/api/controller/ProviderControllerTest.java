@@ -11,33 +11,45 @@
  */
 package software.iridium.api.controller;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 
+import java.util.function.Supplier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.iridium.api.base.domain.ApiListResponse;
+import software.iridium.api.cache.CatalogResponseCache;
 import software.iridium.api.service.ProviderService;
 
 @ExtendWith(MockitoExtension.class)
 class ProviderControllerTest {
 
   @Mock private ProviderService mockProviderService;
+  @Mock private CatalogResponseCache mockCatalogResponseCache;
   @InjectMocks private ProviderController subject;
 
   @AfterEach
   public void verifyNoMoreInteractions() {
-    Mockito.verifyNoMoreInteractions(mockProviderService);
+    Mockito.verifyNoMoreInteractions(mockProviderService, mockCatalogResponseCache);
   }
 
   @Test
   public void retrieveAllSummaries_AllGood_BehavesAsExpected() {
+    final ArgumentCaptor<Supplier<?>> sourceCaptor = ArgumentCaptor.forClass(Supplier.class);
 
     subject.retrieveAllSummaries();
 
+    verify(mockCatalogResponseCache)
+        .respond(same(CatalogResponseCache.PROVIDERS), sourceCaptor.capture());
+    assertThat(sourceCaptor.getValue().get(), instanceOf(ApiListResponse.class));
     verify(mockProviderService).retrieveAllSummaries();
   }
 }
@@ -12,12 +12,14 @@
 package software.iridium.api.controller;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import software.iridium.api.authentication.domain.CreateTenantRequest;
 import software.iridium.api.authentication.domain.TenantSummary;
 import software.iridium.api.service.TenantService;
@@ -34,31 +41,54 @@ import software.iridium.api.service.TenantService;
 class TenantControllerTest {
 
   @Mock private TenantService mockTenantService;
-  @Mock private HttpServletRequest mockServletRequest;
   @InjectMocks private TenantController subject;
 
   @AfterEach
   public void ensureNoUnexpectedMockInteractions() {
-    Mockito.verifyNoMoreInteractions(mockTenantService, mockServletRequest);
+    Mockito.verifyNoMoreInteractions(mockTenantService);
   }
 
   @Test
   public void getTenantSummaries_AllGood_BehavesAsExpected() {
     final var summaries = new ArrayList<TenantSummary>();
 
-    when(mockTenantService.getTenantSummaries(same(mockServletRequest))).thenReturn(summaries);
+    final var request =
+        new ServletWebRequest(
+            new MockHttpServletRequest("GET", "/tenants"), new MockHttpServletResponse());
 
-    assertThat(subject.getTenantSummaries(mockServletRequest), sameInstance(summaries));
+    when(mockTenantService.getTenantSummariesETag()).thenReturn("the-etag");
+    when(mockTenantService.getTenantSummaries()).thenReturn(summaries);
 
-    verify(mockTenantService).getTenantSummaries(same(mockServletRequest));
+    final var entity = subject.getTenantSummaries(request);
+
+    verify(mockTenantService).getTenantSummariesETag();
+    verify(mockTenantService).getTenantSummaries();
+    assertThat(entity.getBody(), sameInstance(summaries));
+    assertThat(entity.getHeaders().getETag(), is(equalTo("\"the-etag\"")));
+  }
+
+  @Test
+  public void getTenantSummaries_ETagMatches_NotModified() {
+    final var servletRequest = new MockHttpServletRequest("GET", "/tenants");
+    servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"the-etag\"");
+    final var servletResponse = new MockHttpServletResponse();
+
+    when(mockTenantService.getTenantSummariesETag()).thenReturn("the-etag");
+
+    assertThat(
+        subject.getTenantSummaries(new ServletWebRequest(servletRequest, servletResponse)),
+        is(nullValue()));
+
+    verify(mockTenantService).getTenantSummariesETag();
+    assertThat(servletResponse.getStatus(), is(equalTo(HttpStatus.NOT_MODIFIED.value())));
   }
 
   @Test
   public void create_AllGood_BehavesAsExpected() {
     final var request = new CreateTenantRequest();
 
-    subject.create(mockServletRequest, request);
+    subject.create(request);
 
-    verify(mockTenantService).create(same(mockServletRequest), same(request));
+    verify(mockTenantService).create(same(request));
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionHoldTimingDataSourceTest {
+
+  @Mock private DataSource mockDataSource;
+  @Mock private Connection mockConnection;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    RequestContextHolder.resetRequestAttributes();
+    Mockito.verifyNoMoreInteractions(mockDataSource, mockConnection);
+  }
+
+  @Test
+  public void getConnection_ClosedTwiceDuringRequest_RecordedOnceForEndpoint() throws Exception {
+    final var request = new MockHttpServletRequest("POST", "/authenticate");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/authenticate");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    final var subject = new ConnectionHoldTimingDataSource(mockDataSource, () -> meterRegistry);
+
+    when(mockDataSource.getConnection()).thenReturn(mockConnection);
+
+    final var connection = subject.getConnection();
+    connection.close();
+    connection.close();
+
+    final var timer =
+        meterRegistry
+            .get(ConnectionHoldTimingDataSource.METRIC_NAME)
+            .tag("endpoint", "POST /authenticate")
+            .timer();
+    assertThat(timer.count(), is(equalTo(1L)));
+    verify(mockDataSource).getConnection();
+    verify(mockConnection, Mockito.times(2)).close();
+  }
+
+  @Test
+  public void getConnection_OutsideOfRequest_RecordedAsNone() throws Exception {
+    final var subject = new ConnectionHoldTimingDataSource(mockDataSource, () -> meterRegistry);
+
+    when(mockDataSource.getConnection()).thenReturn(mockConnection);
+
+    subject.getConnection().close();
+
+    final var timer =
+        meterRegistry
+            .get(ConnectionHoldTimingDataSource.METRIC_NAME)
+            .tag("endpoint", ConnectionHoldTimingDataSource.NO_REQUEST)
+            .timer();
+    assertThat(timer.count(), is(equalTo(1L)));
+    verify(mockDataSource).getConnection();
+    verify(mockConnection).close();
+  }
+
+  @Test
+  public void getConnection_NoMatchingHandler_RecordedAsUnmapped() throws Exception {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest("GET", "/no/such/path/42")));
+    final var subject = new ConnectionHoldTimingDataSource(mockDataSource, () -> meterRegistry);
+
+    when(mockDataSource.getConnection()).thenReturn(mockConnection);
+
+    subject.getConnection().close();
+
+    final var timer =
+        meterRegistry
+            .get(ConnectionHoldTimingDataSource.METRIC_NAME)
+            .tag("endpoint", ConnectionHoldTimingDataSource.UNMAPPED)
+            .timer();
+    assertThat(timer.count(), is(equalTo(1L)));
+    assertThat(meterRegistry.getMeters().size(), is(equalTo(1)));
+    verify(mockDataSource).getConnection();
+    verify(mockConnection).close();
+  }
+}
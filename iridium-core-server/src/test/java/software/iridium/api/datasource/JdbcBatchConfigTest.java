@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashMap;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JdbcBatchConfigTest {
+
+  @Test
+  public void customize_AllGood_EnablesOrderedBatching() {
+    final var subject = new JdbcBatchConfig();
+    ReflectionTestUtils.setField(subject, "batchSize", 50);
+    final var properties = new HashMap<String, Object>();
+
+    subject.customize(properties);
+
+    assertThat(properties.get(AvailableSettings.STATEMENT_BATCH_SIZE), is(equalTo(50)));
+    assertThat(properties.get(AvailableSettings.ORDER_INSERTS), is(equalTo(true)));
+    assertThat(properties.get(AvailableSettings.ORDER_UPDATES), is(equalTo(true)));
+    assertThat(properties.get(AvailableSettings.BATCH_VERSIONED_DATA), is(equalTo(true)));
+  }
+
+  @Test
+  public void customize_AllGood_DoesNotOverrideExplicitProperties() {
+    final var subject = new JdbcBatchConfig();
+    ReflectionTestUtils.setField(subject, "batchSize", 50);
+    final var properties = new HashMap<String, Object>();
+    properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, "10");
+
+    subject.customize(properties);
+
+    assertThat(properties.get(AvailableSettings.STATEMENT_BATCH_SIZE), is(equalTo("10")));
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.iridium.api.authentication.client.ProviderAccessTokenRequestor;
+import software.iridium.api.authentication.client.ProviderProfileRequestor;
+import software.iridium.api.authentication.domain.AuthorizationResponse;
+import software.iridium.api.authentication.domain.CreateIdentityRequest;
+import software.iridium.api.authentication.domain.GithubProfileResponse;
+import software.iridium.api.service.AuthorizationService;
+import software.iridium.api.service.IdentityService;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.ExternalIdentityProviderEntity;
+import software.iridium.entity.ExternalIdentityProviderTemplateEntity;
+import software.iridium.entity.TenantEntity;
+
+/**
+ * Counts the JDBC work of the two registration paths with statement batching enabled. Every insert
+ * of a flush is still prepared once per statement shape, but the rows of one table go out in one
+ * batch.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:batching;MODE=MySQL;NON_KEYWORDS=VALUE",
+      "spring.jpa.properties.hibernate.session.events.auto="
+          + "software.iridium.api.datasource.JdbcBatchingTest$StatementCounter"
+    })
+@ActiveProfiles("test")
+class JdbcBatchingTest {
+
+  @Autowired private IdentityService identityService;
+  @Autowired private AuthorizationService authorizationService;
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @MockBean private ProviderAccessTokenRequestor mockAccessTokenRequestor;
+  @MockBean private ProviderProfileRequestor mockProfileRequestor;
+
+  private TransactionTemplate transaction;
+  private String clientId;
+
+  @BeforeEach
+  public void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    // each test registers into a tenant of its own, the database lives as long as the context
+    final var suffix = Long.toString(System.nanoTime(), 36);
+    clientId = "batching-" + suffix;
+    transaction.executeWithoutResult(
+        status -> {
+          final var tenant = new TenantEntity();
+          tenant.setSubdomain("batching" + suffix);
+          entityManager.persist(tenant);
+          final var application = new ApplicationEntity();
+          application.setName("batching");
+          application.setClientId(clientId);
+          application.setTenantId(tenant.getId());
+          entityManager.persist(application);
+          final var template = new ExternalIdentityProviderTemplateEntity();
+          template.setName("github");
+          template.setIconPath("/img/github.png");
+          template.setBaseAuthorizationUrl("https://github.com/login/oauth/authorize");
+          template.setAccessTokenRequestBaseUrl("https://github.com/login/oauth/access_token");
+          template.setProfileRequestBaseUrl("https://api.github.com/user");
+          entityManager.persist(template);
+          final var provider = new ExternalIdentityProviderEntity();
+          provider.setName("github");
+          provider.setClientId("github-client");
+          provider.setTemplate(template);
+          provider.setTenant(tenant);
+          provider.setIconPath(template.getIconPath());
+          provider.setRedirectUri("http://localhost/oauth/external/authorize");
+          provider.setBaseAuthorizationUrl(template.getBaseAuthorizationUrl());
+          provider.setAccessTokenRequestBaseUrl(template.getAccessTokenRequestBaseUrl());
+          provider.setProfileRequestBaseUrl(template.getProfileRequestBaseUrl());
+          entityManager.persist(provider);
+          tenant.getExternalIdentityProviders().add(provider);
+        });
+    StatementCounter.start();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    StatementCounter.stop();
+  }
+
+  @Test
+  public void create_NewIdentity_OneRowPerBatch() {
+    final var request = new CreateIdentityRequest();
+    request.setUsername("someone@iridium.software");
+    request.setPassword("a password");
+    request.setClientId(clientId);
+    final var params = new HashMap<String, String>();
+    params.put("client_id", clientId);
+    params.put("code_challenge", "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM");
+    params.put("code_challenge_method", "S256");
+    params.put("redirect_uri", "http://localhost/callback");
+    params.put("response_type", "code");
+    params.put("state", "state");
+
+    identityService.create(request, params);
+
+    // 2 lookups, then identity, email, session details and authentication inserts and the update
+    // that closes the identity's foreign key to its session details: 7 round trips
+    assertThat(StatementCounter.summary(), is(equalTo("prepared=7 executed=2 batches=5")));
+  }
+
+  @Test
+  public void completeAuthorizationWithProvider_NewIdentity_PropertyRowsShareABatch() {
+    final var tokenResponse = new AuthorizationResponse();
+    tokenResponse.setAccessToken("provider-token");
+    final var profile = new GithubProfileResponse();
+    profile.setId("12345");
+    profile.setEmail("someone.else@iridium.software");
+    profile.setLogin("someone-else");
+    profile.setName("Someone Else");
+
+    when(mockAccessTokenRequestor.requestAccessToken(anyString())).thenReturn(tokenResponse);
+    when(mockProfileRequestor.requestGithubProfile(anyString(), anyString())).thenReturn(profile);
+
+    authorizationService.completeAuthorizationWithProvider("code", "github", clientId, "state");
+
+    // 3 lookups, then identity, email, both github property rows in one batch and the application
+    // grant, with no update of the new identity: 7 round trips
+    assertThat(StatementCounter.summary(), is(equalTo("prepared=7 executed=3 batches=4")));
+  }
+
+  /** Counts the JDBC calls Hibernate makes on the thread under test. */
+  public static class StatementCounter implements SessionEventListener {
+
+    private static final AtomicInteger PREPARED = new AtomicInteger();
+    private static final AtomicInteger EXECUTED = new AtomicInteger();
+    private static final AtomicInteger BATCHES = new AtomicInteger();
+    private static volatile Thread measured;
+
+    static void start() {
+      PREPARED.set(0);
+      EXECUTED.set(0);
+      BATCHES.set(0);
+      measured = Thread.currentThread();
+    }
+
+    static void stop() {
+      measured = null;
+    }
+
+    static String summary() {
+      return String.format(
+          "prepared=%d executed=%d batches=%d", PREPARED.get(), EXECUTED.get(), BATCHES.get());
+    }
+
+    private static void count(final AtomicInteger counter) {
+      if (Thread.currentThread() == measured) {
+        counter.incrementAndGet();
+      }
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+      count(PREPARED);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+      count(EXECUTED);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      count(BATCHES);
+    }
+  }
+}
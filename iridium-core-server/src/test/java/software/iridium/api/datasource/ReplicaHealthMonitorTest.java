@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaHealthMonitorTest {
+
+  private static final String LAG_QUERY = "SHOW SLAVE STATUS";
+  private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+  @Mock private DataSource mockReplica;
+  @Mock private Connection mockConnection;
+  @Mock private Statement mockStatement;
+  @Mock private ResultSet mockResultSet;
+
+  @AfterEach
+  public void ensureNoUnexpectedCalls() {
+    verifyNoMoreInteractions(mockReplica, mockConnection, mockStatement, mockResultSet);
+  }
+
+  private ReplicaHealthMonitor monitor(final String lagQuery) {
+    return new ReplicaHealthMonitor(List.of(mockReplica), lagQuery, LAG_COLUMN, 5L);
+  }
+
+  private void givenLag(final long lag, final boolean wasNull) throws SQLException {
+    when(mockReplica.getConnection()).thenReturn(mockConnection);
+    when(mockConnection.isValid(anyInt())).thenReturn(true);
+    when(mockConnection.createStatement()).thenReturn(mockStatement);
+    when(mockStatement.executeQuery(LAG_QUERY)).thenReturn(mockResultSet);
+    when(mockResultSet.next()).thenReturn(true);
+    when(mockResultSet.getLong(LAG_COLUMN)).thenReturn(lag);
+    when(mockResultSet.wasNull()).thenReturn(wasNull);
+  }
+
+  private void verifyLagQueried() throws SQLException {
+    verify(mockReplica).getConnection();
+    verify(mockConnection).isValid(2);
+    verify(mockConnection).createStatement();
+    verify(mockStatement).executeQuery(LAG_QUERY);
+    verify(mockResultSet).next();
+    verify(mockResultSet).getLong(LAG_COLUMN);
+    verify(mockResultSet).wasNull();
+    verify(mockResultSet).close();
+    verify(mockStatement).close();
+    verify(mockConnection).close();
+  }
+
+  @Test
+  public void isHealthy_BeforeFirstCheck_ReturnsFalse() {
+    assertThat(monitor(LAG_QUERY).isHealthy(0), is(false));
+  }
+
+  @Test
+  public void checkAll_LagWithinTolerance_MarksHealthy() throws SQLException {
+    givenLag(5L, false);
+    final var subject = monitor(LAG_QUERY);
+
+    subject.checkAll();
+
+    assertThat(subject.isHealthy(0), is(true));
+    verifyLagQueried();
+  }
+
+  @Test
+  public void checkAll_LagBeyondTolerance_MarksUnhealthy() throws SQLException {
+    givenLag(6L, false);
+    final var subject = monitor(LAG_QUERY);
+
+    subject.checkAll();
+
+    assertThat(subject.isHealthy(0), is(false));
+    verifyLagQueried();
+  }
+
+  @Test
+  public void checkAll_ReplicationStopped_MarksUnhealthy() throws SQLException {
+    givenLag(0L, true);
+    final var subject = monitor(LAG_QUERY);
+
+    subject.checkAll();
+
+    assertThat(subject.isHealthy(0), is(false));
+    verifyLagQueried();
+  }
+
+  @Test
+  public void checkAll_ConnectionFails_MarksUnhealthy() throws SQLException {
+    when(mockReplica.getConnection()).thenThrow(new SQLException("refused"));
+    final var subject = monitor(LAG_QUERY);
+
+    subject.checkAll();
+
+    assertThat(subject.isHealthy(0), is(false));
+    verify(mockReplica).getConnection();
+  }
+
+  @Test
+  public void checkAll_BlankLagQuery_OnlyChecksConnectivity() throws SQLException {
+    when(mockReplica.getConnection()).thenReturn(mockConnection);
+    when(mockConnection.isValid(anyInt())).thenReturn(true);
+    final var subject = monitor("");
+
+    subject.checkAll();
+
+    assertThat(subject.isHealthy(0), is(true));
+    verify(mockReplica).getConnection();
+    verify(mockConnection).isValid(2);
+    verify(mockConnection).close();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+  @Mock private DataSource mockPrimary;
+  @Mock private DataSource mockFirstReplica;
+  @Mock private DataSource mockSecondReplica;
+  @Mock private ReplicaHealthMonitor mockHealthMonitor;
+  private ReplicaRoutingDataSource subject;
+
+  @BeforeEach
+  public void setup() {
+    subject =
+        new ReplicaRoutingDataSource(
+            mockPrimary, List.of(mockFirstReplica, mockSecondReplica), mockHealthMonitor);
+  }
+
+  @AfterEach
+  public void ensureNoUnexpectedCalls() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    verifyNoMoreInteractions(mockPrimary, mockFirstReplica, mockSecondReplica, mockHealthMonitor);
+  }
+
+  @Test
+  public void determineCurrentLookupKey_ReadWriteTransaction_RoutesToPrimary() {
+    assertThat(subject.determineCurrentLookupKey(), equalTo(ReplicaRoutingDataSource.PRIMARY));
+  }
+
+  @Test
+  public void determineCurrentLookupKey_ReadOnlyTransaction_AlternatesBetweenReplicas() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(mockHealthMonitor.isHealthy(anyInt())).thenReturn(true);
+
+    assertThat(subject.determineCurrentLookupKey(), equalTo("replica-0"));
+    assertThat(subject.determineCurrentLookupKey(), equalTo("replica-1"));
+    assertThat(subject.determineCurrentLookupKey(), equalTo("replica-0"));
+
+    verify(mockHealthMonitor, times(2)).isHealthy(0);
+    verify(mockHealthMonitor, times(1)).isHealthy(1);
+  }
+
+  @Test
+  public void determineCurrentLookupKey_UnhealthyReplicaSkipped_RoutesToHealthyReplica() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(mockHealthMonitor.isHealthy(0)).thenReturn(false);
+    when(mockHealthMonitor.isHealthy(1)).thenReturn(true);
+
+    assertThat(subject.determineCurrentLookupKey(), equalTo("replica-1"));
+
+    verify(mockHealthMonitor).isHealthy(0);
+    verify(mockHealthMonitor).isHealthy(1);
+  }
+
+  @Test
+  public void determineCurrentLookupKey_NoHealthyReplica_FallsBackToPrimary() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(mockHealthMonitor.isHealthy(anyInt())).thenReturn(false);
+
+    assertThat(subject.determineCurrentLookupKey(), equalTo(ReplicaRoutingDataSource.PRIMARY));
+
+    verify(mockHealthMonitor).isHealthy(0);
+    verify(mockHealthMonitor).isHealthy(1);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.datasource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes real transactions through the replica configuration, with one H2 database standing in for
+ * the primary and another for a replica whose lag is read from a status table.
+ */
+class ReplicaRoutingIntegrationTest {
+
+  private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+  private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+  private final DataSourceProperties properties = new DataSourceProperties();
+  private final ReplicaDataSourceConfig subject = new ReplicaDataSourceConfig();
+  private JdbcTemplate replicaStatus;
+  private ReplicaHealthMonitor monitor;
+
+  @BeforeEach
+  public void setUp() {
+    node(PRIMARY_URL).execute("create table node (name varchar(10))");
+    node(PRIMARY_URL).execute("insert into node values ('primary')");
+    replicaStatus = node(REPLICA_URL);
+    replicaStatus.execute("create table node (name varchar(10))");
+    replicaStatus.execute("insert into node values ('replica')");
+    replicaStatus.execute("create table replica_status (Seconds_Behind_Master bigint)");
+    replicaStatus.execute("insert into replica_status values (0)");
+
+    properties.setUrl(PRIMARY_URL);
+    properties.setUsername("sa");
+    properties.setPassword("");
+    ReflectionTestUtils.setField(subject, "replicaUsername", "sa");
+    ReflectionTestUtils.setField(subject, "replicaPassword", "");
+    ReflectionTestUtils.setField(
+        subject, "lagQuery", "select Seconds_Behind_Master from replica_status");
+    ReflectionTestUtils.setField(subject, "lagColumn", "Seconds_Behind_Master");
+    ReflectionTestUtils.setField(subject, "maxLagSeconds", 5L);
+    ReflectionTestUtils.setField(subject, "connectionTimeoutMs", 500L);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (monitor != null) {
+      monitor.getReplicas().forEach(replica -> ((HikariDataSource) replica).close());
+    }
+    node(PRIMARY_URL).execute("drop all objects");
+    node(REPLICA_URL).execute("drop all objects");
+  }
+
+  @Test
+  public void dataSource_ReplicaCaughtUp_ReadOnlyTransactionsRoutedToReplica() {
+    final var dataSource = routed(REPLICA_URL);
+
+    assertThat(readNode(dataSource, true), is(equalTo("primary")));
+
+    monitor.checkAll();
+
+    assertThat(readNode(dataSource, true), is(equalTo("replica")));
+    assertThat(readNode(dataSource, false), is(equalTo("primary")));
+  }
+
+  @Test
+  public void dataSource_ReplicaLagging_ReadOnlyTransactionsFallBackToPrimary() {
+    final var dataSource = routed(REPLICA_URL);
+    monitor.checkAll();
+
+    replicaStatus.update("update replica_status set Seconds_Behind_Master = 30");
+    monitor.checkAll();
+
+    assertThat(readNode(dataSource, true), is(equalTo("primary")));
+
+    replicaStatus.update("update replica_status set Seconds_Behind_Master = 1");
+    monitor.checkAll();
+
+    assertThat(readNode(dataSource, true), is(equalTo("replica")));
+  }
+
+  @Test
+  public void replicaHealthMonitor_ReplicaUnreachable_StartsWithoutWaitingAndServesFromPrimary() {
+    final var started = System.nanoTime();
+    final var dataSource = routed("jdbc:h2:tcp://localhost:1/unreachable");
+
+    assertThat((System.nanoTime() - started) / 1_000_000, is(lessThan(500L)));
+    assertThat(monitor.isHealthy(0), is(false));
+
+    monitor.checkAll();
+
+    assertThat(monitor.isHealthy(0), is(false));
+    assertThat(readNode(dataSource, true), is(equalTo("primary")));
+  }
+
+  private DataSource routed(final String replicaUrl) {
+    ReflectionTestUtils.setField(subject, "replicaUrls", replicaUrl);
+    monitor = subject.replicaHealthMonitor(properties);
+    return subject.dataSource(properties, monitor);
+  }
+
+  private String readNode(final DataSource dataSource, final boolean readOnly) {
+    final var transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transaction.setReadOnly(readOnly);
+    return transaction.execute(
+        status ->
+            new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+  }
+
+  private static JdbcTemplate node(final String url) {
+    return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+  }
+}
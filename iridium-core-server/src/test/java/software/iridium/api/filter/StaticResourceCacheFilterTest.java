@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.filter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class StaticResourceCacheFilterTest {
+
+  private static final String FINGERPRINTED =
+      "/styles/initiate-reset-password-0e5d0f5a7ff8b9c1d2e3f4a5b6c7d8e9.css";
+
+  private StaticResourceCacheFilter subject;
+
+  @BeforeEach
+  public void setupForEachTestCase() {
+    subject = new StaticResourceCacheFilter(365);
+  }
+
+  @Test
+  public void doFilter_FingerprintedUrl_CachedAsImmutable() throws Exception {
+    final var response = new MockHttpServletResponse();
+
+    subject.doFilter(
+        new MockHttpServletRequest("GET", FINGERPRINTED), response, new MockFilterChain());
+
+    assertThat(
+        response.getHeader(HttpHeaders.CACHE_CONTROL),
+        is(equalTo("max-age=31536000, public, immutable")));
+  }
+
+  @Test
+  public void doFilter_PlainUrl_Revalidated() throws Exception {
+    final var response = new MockHttpServletResponse();
+
+    subject.doFilter(
+        new MockHttpServletRequest("GET", "/styles/initiate-reset-password.css"),
+        response,
+        new MockFilterChain());
+
+    assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL), is(equalTo("no-cache")));
+  }
+
+  @Test
+  public void doFilter_FingerprintNotFound_Revalidated() throws Exception {
+    final var response = new MockHttpServletResponse();
+    final MockFilterChain chain =
+        new MockFilterChain() {
+          @Override
+          public void doFilter(final ServletRequest request, final ServletResponse response)
+              throws IOException {
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_NOT_FOUND);
+          }
+        };
+
+    subject.doFilter(new MockHttpServletRequest("GET", FINGERPRINTED), response, chain);
+
+    assertThat(response.getStatus(), is(equalTo(HttpServletResponse.SC_NOT_FOUND)));
+    assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL), is(equalTo("no-cache")));
+  }
+
+  @Test
+  public void doFilter_NotAStaticPath_LeftAlone() throws Exception {
+    final var response = new MockHttpServletResponse();
+
+    subject.doFilter(new MockHttpServletRequest("GET", "/login"), response, new MockFilterChain());
+
+    assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL), is(nullValue()));
+  }
+
+  @Test
+  public void isFingerprinted_AllGood_OnlyAcceptsContentVersions() {
+    assertThat(StaticResourceCacheFilter.isFingerprinted(FINGERPRINTED), is(true));
+    assertThat(
+        StaticResourceCacheFilter.isFingerprinted(
+            "/img/iridium-3C-large-0e5d0f5a7ff8b9c1d2e3f4a5b6c7d8e9.png"),
+        is(true));
+    assertThat(StaticResourceCacheFilter.isFingerprinted("/img/iridium-3C-large.png"), is(false));
+    assertThat(
+        StaticResourceCacheFilter.isFingerprinted("/styles/0e5d0f5a7ff8b9c1d2e3f4a5b6c7d8e9.css"),
+        is(false));
+    assertThat(
+        StaticResourceCacheFilter.isFingerprinted("/styles/x-0e5d0f5a7ff8b9c1d2e3f4a5b6c7d8eg.css"),
+        is(false));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.filter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import software.iridium.api.tenant.TenantContext;
+import software.iridium.api.tenant.TenantDirectory;
+import software.iridium.api.util.SubdomainExtractor;
+
+@ExtendWith(MockitoExtension.class)
+class TenantResolutionFilterTest {
+
+  @Mock private SubdomainExtractor mockSubdomainExtractor;
+  @Mock private TenantDirectory mockTenantDirectory;
+  @InjectMocks private TenantResolutionFilter subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockSubdomainExtractor, mockTenantDirectory);
+  }
+
+  @Test
+  public void doFilter_AllGood_PublishesTenantContext() throws Exception {
+    final var request = new MockHttpServletRequest("GET", "/login");
+    request.setServerName("iridium.iridium.software");
+    final var chain = new MockFilterChain();
+
+    when(mockSubdomainExtractor.extractFromHost("iridium.iridium.software")).thenReturn("iridium");
+    when(mockTenantDirectory.findTenantId("iridium")).thenReturn("the tenant id");
+
+    subject.doFilter(request, new MockHttpServletResponse(), chain);
+
+    verify(mockSubdomainExtractor).extractFromHost("iridium.iridium.software");
+    verify(mockTenantDirectory).findTenantId("iridium");
+    assertThat(
+        TenantContext.of(request), is(equalTo(new TenantContext("iridium", "the tenant id"))));
+    assertThat(chain.getRequest(), is(equalTo(request)));
+  }
+}
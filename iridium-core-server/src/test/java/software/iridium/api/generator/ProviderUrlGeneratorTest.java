@@ -17,7 +17,7 @@ import static org.hamcrest.Matchers.equalTo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import software.iridium.entity.ExternalIdentityProviderEntity;
+import software.iridium.api.provider.ProviderConfig;
 
 class ProviderUrlGeneratorTest {
 
@@ -35,11 +35,17 @@ class ProviderUrlGeneratorTest {
     final var clientSecret = "theClientSecret";
     final var code = "code";
     final var redirectUrl = "http://localhost/redirect";
-    final var provider = new ExternalIdentityProviderEntity();
-    provider.setAccessTokenRequestBaseUrl(baseUrl);
-    provider.setClientId(clientId);
-    provider.setClientSecret(clientSecret);
-    provider.setRedirectUri(redirectUrl);
+    final var provider =
+        new ProviderConfig(
+            "theProviderId",
+            "github",
+            clientId,
+            clientSecret,
+            redirectUrl,
+            null,
+            null,
+            baseUrl,
+            null);
 
     final var response = subject.generate(provider, code);
 
@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ExpiringGrantCacheTest {
+
+  private static final long START = 1_000_000L;
+
+  @Test
+  public void get_BeforeAndAfterExpiration_BehavesAsExpected() {
+    final var subject = new ExpiringGrantCache<String>(10, 8, 1000L, START);
+    subject.put("key", "value", START + 2500L);
+
+    assertThat(subject.get("key", START + 2499L), is(equalTo(Optional.of("value"))));
+    assertThat(subject.get("key", START + 2500L), is(equalTo(Optional.empty())));
+  }
+
+  @Test
+  public void take_CalledTwice_OnlyFirstCallReceivesValue() {
+    final var subject = new ExpiringGrantCache<String>(10, 8, 1000L, START);
+    subject.put("key", "value", START + 5000L);
+
+    assertThat(subject.take("key", START), is(equalTo(Optional.of("value"))));
+    assertThat(subject.take("key", START), is(equalTo(Optional.empty())));
+    assertThat(subject.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void take_Expired_ReturnsEmpty() {
+    final var subject = new ExpiringGrantCache<String>(10, 8, 1000L, START);
+    subject.put("key", "value", START + 1000L);
+
+    assertThat(subject.take("key", START + 1000L), is(equalTo(Optional.empty())));
+  }
+
+  @Test
+  public void advance_EntriesDue_RemovesOnlyExpired() {
+    final var subject = new ExpiringGrantCache<String>(10, 8, 1000L, START);
+    subject.put("soon", "value", START + 1500L);
+    subject.put("later", "value", START + 4500L);
+
+    subject.advance(START + 2000L);
+
+    assertThat(subject.size(), is(equalTo(1)));
+    assertThat(subject.get("later", START + 2000L), is(equalTo(Optional.of("value"))));
+  }
+
+  @Test
+  public void advance_EntryBeyondOneRevolution_KeptUntilDue() {
+    final var subject = new ExpiringGrantCache<String>(10, 4, 1000L, START);
+    subject.put("far", "value", START + 6500L);
+
+    subject.advance(START + 4000L);
+    assertThat(subject.size(), is(equalTo(1)));
+
+    subject.advance(START + 7000L);
+    assertThat(subject.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void put_CapacityReached_ExceptionThrown() {
+    final var subject = new ExpiringGrantCache<String>(1, 8, 1000L, START);
+    subject.put("first", "value", START + 1000L);
+
+    final var exception =
+        assertThrows(
+            IllegalStateException.class, () -> subject.put("second", "value", START + 1000L));
+
+    assertThat(exception.getMessage(), is(equalTo("grant capacity of 1 reached")));
+  }
+
+  @Test
+  public void put_ExpiredEntriesSwept_CapacityFreed() {
+    final var subject = new ExpiringGrantCache<String>(1, 8, 1000L, START);
+    subject.put("first", "value", START + 1000L);
+
+    subject.advance(START + 1000L);
+    subject.put("second", "value", START + 3000L);
+
+    assertThat(subject.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void put_SameKeyTwice_CountedOnce() {
+    final var subject = new ExpiringGrantCache<String>(1, 8, 1000L, START);
+    subject.put("key", "first", START + 1000L);
+    subject.put("key", "second", START + 1000L);
+
+    assertThat(subject.size(), is(equalTo(1)));
+    assertThat(subject.get("key", START), is(equalTo(Optional.of("second"))));
+  }
+}
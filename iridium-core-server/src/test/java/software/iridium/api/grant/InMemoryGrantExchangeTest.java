@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.iridium.api.authentication.client.ProviderAccessTokenRequestor;
+import software.iridium.api.authentication.client.ProviderProfileRequestor;
+import software.iridium.api.authentication.domain.AuthorizationResponse;
+import software.iridium.api.authentication.domain.GithubProfileResponse;
+import software.iridium.api.service.AuthorizationService;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.ApplicationTypeEntity;
+import software.iridium.entity.ExternalIdentityProviderEntity;
+import software.iridium.entity.ExternalIdentityProviderTemplateEntity;
+import software.iridium.entity.TenantEntity;
+
+/**
+ * An external provider login through the in-memory grant store, where the in-progress authorization
+ * outlives the session that created it.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:memorygrants;MODE=MySQL;NON_KEYWORDS=VALUE",
+      GrantStore.STORE_PROPERTY + "=memory"
+    })
+@ActiveProfiles("test")
+class InMemoryGrantExchangeTest {
+
+  private static final String REDIRECT_URI = "http://localhost/callback";
+
+  @Autowired private AuthorizationService authorizationService;
+  @Autowired private GrantStore grantStore;
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @MockBean private ProviderAccessTokenRequestor mockAccessTokenRequestor;
+  @MockBean private ProviderProfileRequestor mockProfileRequestor;
+
+  private String clientId;
+
+  @BeforeEach
+  public void setUp() {
+    final var suffix = Long.toString(System.nanoTime(), 36);
+    clientId = "memory-" + suffix;
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              final var tenant = new TenantEntity();
+              tenant.setSubdomain("memorygrants" + suffix);
+              entityManager.persist(tenant);
+              final var applicationType = new ApplicationTypeEntity();
+              applicationType.setName("single page application");
+              applicationType.setDescription("public client");
+              applicationType.setRequiresSecret(false);
+              entityManager.persist(applicationType);
+              final var application = new ApplicationEntity();
+              application.setName("memory grants");
+              application.setClientId(clientId);
+              application.setTenantId(tenant.getId());
+              application.setRedirectUri(REDIRECT_URI);
+              application.setApplicationType(applicationType);
+              entityManager.persist(application);
+              final var template = new ExternalIdentityProviderTemplateEntity();
+              template.setName("github");
+              template.setIconPath("/img/github.png");
+              template.setBaseAuthorizationUrl("https://github.com/login/oauth/authorize");
+              template.setAccessTokenRequestBaseUrl("https://github.com/login/oauth/access_token");
+              template.setProfileRequestBaseUrl("https://api.github.com/user");
+              entityManager.persist(template);
+              final var provider = new ExternalIdentityProviderEntity();
+              provider.setName("github");
+              provider.setClientId("github-client");
+              provider.setTemplate(template);
+              provider.setTenant(tenant);
+              provider.setIconPath(template.getIconPath());
+              provider.setRedirectUri("http://localhost/oauth/external/authorize");
+              provider.setBaseAuthorizationUrl(template.getBaseAuthorizationUrl());
+              provider.setAccessTokenRequestBaseUrl(template.getAccessTokenRequestBaseUrl());
+              provider.setProfileRequestBaseUrl(template.getProfileRequestBaseUrl());
+              entityManager.persist(provider);
+              tenant.getExternalIdentityProviders().add(provider);
+            });
+  }
+
+  @Test
+  public void exchange_ProviderAuthorizationHeldInMemory_AccessTokenIssued() {
+    final var tokenResponse = new AuthorizationResponse();
+    tokenResponse.setAccessToken("provider-token");
+    final var profile = new GithubProfileResponse();
+    profile.setId("67890");
+    profile.setEmail("memory." + clientId + "@iridium.software");
+    profile.setLogin("memory-grants");
+    profile.setName("Memory Grants");
+
+    when(mockAccessTokenRequestor.requestAccessToken(anyString())).thenReturn(tokenResponse);
+    when(mockProfileRequestor.requestGithubProfile(anyString(), anyString())).thenReturn(profile);
+
+    // the first redirect warms the provider registry, so the second one loads no provider entity
+    authorizationService.proxyAuthorizationRequestToProvider(
+        "code", "the-first-state", REDIRECT_URI, clientId, "github");
+    authorizationService.proxyAuthorizationRequestToProvider(
+        "code", "the-state", REDIRECT_URI, clientId, "github");
+    final var params = new HashMap<String, String>();
+    params.put("grant_type", "authorization_code");
+    params.put("client_id", clientId);
+    params.put("redirect_uri", REDIRECT_URI);
+    params.put("code", "provider-code");
+    params.put("code_verifier", "the-verifier");
+    params.put("state", "the-state");
+
+    final var response = authorizationService.exchange(new MockHttpServletRequest(), params);
+
+    assertThat(grantStore, is(instanceOf(InMemoryGrantStore.class)));
+    assertThat(response.getAccessToken(), is(notNullValue()));
+    assertThat(grantStore.findInProgressAuthorization("the-state").isEmpty(), is(true));
+  }
+}
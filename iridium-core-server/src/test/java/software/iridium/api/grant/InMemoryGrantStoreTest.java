@@ -0,0 +1,57 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Date;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.jupiter.api.Test;
+import software.iridium.entity.AuthorizationCodeEntity;
+import software.iridium.entity.InProgressExternalIdentityProviderAuthorizationEntity;
+
+class InMemoryGrantStoreTest {
+
+  @Test
+  public void claimAuthorizationCode_SavedCode_ClaimedOnce() {
+    final var subject = new InMemoryGrantStore(10);
+    final var now = new Date();
+    final var code = new AuthorizationCodeEntity();
+    code.setAuthorizationCode("the-code");
+    code.setExpiration(DateUtils.addMinutes(now, 1));
+
+    subject.saveAuthorizationCode(code);
+
+    assertThat(subject.claimAuthorizationCode("the-code", now).get(), is(sameInstance(code)));
+    assertThat(code.getActive(), is(false));
+    assertThat(subject.claimAuthorizationCode("the-code", now).isEmpty(), is(true));
+  }
+
+  @Test
+  public void findInProgressAuthorization_SavedThenRemoved_BehavesAsExpected() {
+    final var subject = new InMemoryGrantStore(10);
+    final var inProgress = new InProgressExternalIdentityProviderAuthorizationEntity();
+    inProgress.setState("the-state");
+    inProgress.setExpiration(DateUtils.addMinutes(new Date(), 1));
+
+    subject.saveInProgressAuthorization(inProgress);
+
+    assertThat(
+        subject.findInProgressAuthorization("the-state").get(), is(sameInstance(inProgress)));
+
+    subject.removeInProgressAuthorization(inProgress);
+
+    assertThat(subject.findInProgressAuthorization("the-state").isEmpty(), is(true));
+  }
+}
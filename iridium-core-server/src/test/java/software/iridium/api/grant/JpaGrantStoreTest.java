@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.grant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.iridium.api.repository.AuthorizationCodeEntityRepository;
+import software.iridium.api.repository.InProgressExternalIdentityProviderAuthorizationEntityRepository;
+import software.iridium.entity.AuthorizationCodeEntity;
+
+@ExtendWith(MockitoExtension.class)
+class JpaGrantStoreTest {
+
+  @Mock private AuthorizationCodeEntityRepository mockAuthCodeRepository;
+
+  @Mock
+  private InProgressExternalIdentityProviderAuthorizationEntityRepository
+      mockInProgressAuthRepository;
+
+  @InjectMocks private JpaGrantStore subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockAuthCodeRepository, mockInProgressAuthRepository);
+  }
+
+  @Test
+  public void claimAuthorizationCode_Claimed_ReturnsCode() {
+    final var now = new Date();
+    final var code = new AuthorizationCodeEntity();
+
+    when(mockAuthCodeRepository.claim("the-code", now)).thenReturn(1);
+    when(mockAuthCodeRepository.findByAuthorizationCode("the-code")).thenReturn(Optional.of(code));
+
+    assertThat(subject.claimAuthorizationCode("the-code", now).get(), is(sameInstance(code)));
+
+    verify(mockAuthCodeRepository).claim("the-code", now);
+    verify(mockAuthCodeRepository).findByAuthorizationCode("the-code");
+  }
+
+  @Test
+  public void claimAuthorizationCode_NotClaimed_ReturnsEmpty() {
+    final var now = new Date();
+
+    when(mockAuthCodeRepository.claim("the-code", now)).thenReturn(0);
+
+    assertThat(subject.claimAuthorizationCode("the-code", now).isEmpty(), is(true));
+
+    verify(mockAuthCodeRepository).claim("the-code", now);
+    verify(mockAuthCodeRepository, never()).findByAuthorizationCode("the-code");
+  }
+}
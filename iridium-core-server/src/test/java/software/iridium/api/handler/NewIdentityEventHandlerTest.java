@@ -17,7 +17,6 @@ import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,8 +27,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import software.iridium.api.email.domain.EmailSendRequest;
 import software.iridium.api.instantiator.EmailSendRequestInstantiator;
-import software.iridium.api.repository.ApplicationEntityRepository;
-import software.iridium.api.repository.TenantEntityRepository;
 import software.iridium.api.service.EmailService;
 import software.iridium.entity.ApplicationEntity;
 import software.iridium.entity.IdentityEmailEntity;
@@ -41,19 +38,11 @@ class NewIdentityEventHandlerTest {
 
   @Mock private EmailService mockEmailService;
   @Mock private EmailSendRequestInstantiator mockEmailSendRequestInstantiator;
-
-  @Mock private TenantEntityRepository mockTenantRepository;
-
-  @Mock private ApplicationEntityRepository mockApplicationRepository;
   @InjectMocks private NewIdentityEventHandler subject;
 
   @AfterEach
   public void ensureNoUnexpectedMockInteractions() {
-    Mockito.verifyNoMoreInteractions(
-        mockEmailService,
-        mockEmailSendRequestInstantiator,
-        mockTenantRepository,
-        mockApplicationRepository);
+    Mockito.verifyNoMoreInteractions(mockEmailService, mockEmailSendRequestInstantiator);
   }
 
   @Test
@@ -67,24 +56,18 @@ class NewIdentityEventHandlerTest {
     EmailSendRequest sendRequest = new EmailSendRequest();
     final var clientId = "theClientId";
     final var application = new ApplicationEntity();
-    final var tenantId = "the tenant id";
-    application.setTenantId(tenantId);
+    application.setClientId(clientId);
     final var tenant = new TenantEntity();
 
-    when(mockApplicationRepository.findByClientId(same(clientId)))
-        .thenReturn(Optional.of(application));
     when(mockEmailSendRequestInstantiator.instantiate(
             same(primaryEmail), eq("Iridium Email Verification"), anyMap(), eq("new-identity")))
         .thenReturn(sendRequest);
-    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.of(tenant));
 
-    subject.handleEvent(identity, clientId);
+    subject.handleEvent(identity, application, tenant);
 
     verify(mockEmailService).send(same(sendRequest));
-    verify(mockApplicationRepository).findByClientId(same(clientId));
     verify(mockEmailSendRequestInstantiator)
         .instantiate(
             same(primaryEmail), eq("Iridium Email Verification"), anyMap(), eq("new-identity"));
-    verify(mockTenantRepository).findById(same(tenantId));
   }
 }
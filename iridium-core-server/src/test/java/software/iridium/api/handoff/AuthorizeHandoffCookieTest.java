@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.handoff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.servlet.http.Cookie;
+import java.util.Base64;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AuthorizeHandoffCookieTest {
+
+  private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+  private final AuthorizeHandoff handoff =
+      new AuthorizeHandoff("the-token", "https://app.base", "the app", "https://tenant.site");
+
+  private AuthorizeHandoffCookie subject;
+
+  @BeforeEach
+  public void setUpForEachTestCase() {
+    subject = subject(KEY);
+  }
+
+  private AuthorizeHandoffCookie subject(final String key) {
+    final var cookie = new AuthorizeHandoffCookie();
+    ReflectionTestUtils.setField(cookie, "configuredKey", key);
+    ReflectionTestUtils.setField(cookie, "ttlSeconds", 120L);
+    ReflectionTestUtils.setField(cookie, "secureCookie", true);
+    cookie.initialize();
+    return cookie;
+  }
+
+  @Test
+  public void decode_Encoded_RoundTrips() {
+    final var encoded = subject.encode(handoff, 2000L);
+
+    assertThat(encoded, not(containsString("the-token")));
+    assertThat(subject.decode(encoded, 1000L), is(equalTo(Optional.of(handoff))));
+  }
+
+  @Test
+  public void decode_Expired_ReturnsEmpty() {
+    final var encoded = subject.encode(handoff, 2000L);
+
+    assertThat(subject.decode(encoded, 2000L), is(equalTo(Optional.empty())));
+  }
+
+  @Test
+  public void decode_Tampered_ReturnsEmpty() {
+    final var bytes = Base64.getUrlDecoder().decode(subject.encode(handoff, 2000L));
+    bytes[bytes.length - 1] ^= 1;
+
+    assertThat(
+        subject.decode(Base64.getUrlEncoder().encodeToString(bytes), 1000L),
+        is(equalTo(Optional.empty())));
+  }
+
+  @Test
+  public void decode_DifferentKey_ReturnsEmpty() {
+    final var otherKey = new byte[32];
+    otherKey[0] = 1;
+    final var other = subject(Base64.getEncoder().encodeToString(otherKey));
+
+    assertThat(other.decode(subject.encode(handoff, 2000L), 1000L), is(equalTo(Optional.empty())));
+  }
+
+  @Test
+  public void decode_Garbage_ReturnsEmpty() {
+    assertThat(subject.decode("not base64!", 1000L), is(equalTo(Optional.empty())));
+  }
+
+  @Test
+  public void consume_WrittenCookie_ReturnsHandoffAndClearsCookie() {
+    final var written = new MockHttpServletResponse();
+    subject.write(written, handoff);
+    final var setCookie = written.getHeader(HttpHeaders.SET_COOKIE);
+    assertThat(setCookie, containsString("HttpOnly"));
+    assertThat(setCookie, containsString("Path=/authorize"));
+
+    final var request = new MockHttpServletRequest();
+    request.setCookies(
+        new Cookie(
+            AuthorizeHandoffCookie.COOKIE_NAME,
+            written.getCookie(AuthorizeHandoffCookie.COOKIE_NAME).getValue()));
+    final var response = new MockHttpServletResponse();
+
+    assertThat(subject.consume(request, response), is(equalTo(Optional.of(handoff))));
+    assertThat(response.getHeader(HttpHeaders.SET_COOKIE), containsString("Max-Age=0"));
+  }
+
+  @Test
+  public void consume_NoCookie_ReturnsEmpty() {
+    final var response = new MockHttpServletResponse();
+
+    assertThat(
+        subject.consume(new MockHttpServletRequest(), response), is(equalTo(Optional.empty())));
+    assertThat(response.getHeader(HttpHeaders.SET_COOKIE), is(equalTo(null)));
+  }
+
+  @Test
+  public void initialize_KeyNotBase64_ExceptionThrown() {
+    final var exception = assertThrows(IllegalStateException.class, () -> subject("not base64!"));
+
+    assertThat(
+        exception.getMessage(),
+        containsString(AuthorizeHandoffCookie.KEY_PROPERTY + " is not valid base64"));
+  }
+
+  @Test
+  public void initialize_KeyOfWrongLength_ExceptionThrown() {
+    final var shortKey = Base64.getEncoder().encodeToString(new byte[20]);
+
+    final var exception = assertThrows(IllegalStateException.class, () -> subject(shortKey));
+
+    assertThat(
+        exception.getMessage(),
+        is(
+            equalTo(
+                AuthorizeHandoffCookie.KEY_PROPERTY
+                    + " must decode to a 16, 24 or 32 byte AES key, got 20 bytes")));
+  }
+
+  @Test
+  public void initialize_128BitKey_RoundTrips() {
+    final var smallKeySubject = subject(Base64.getEncoder().encodeToString(new byte[16]));
+
+    final var encoded = smallKeySubject.encode(handoff, 2000L);
+
+    assertThat(smallKeySubject.decode(encoded, 1000L), is(equalTo(Optional.of(handoff))));
+  }
+}
@@ -14,8 +14,10 @@ package software.iridium.api.mapper;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 
+import java.util.List;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -67,6 +69,30 @@ class IdentityEntityMapperTest {
     }
   }
 
+  @Test
+  public void map_WithManagedTenantIds_MapsAsExpected() {
+    final var id = "someId";
+    final var emailAddress = "someUserName@nowhere.com";
+    final var roleName = "roleName";
+    final var tenantId = "the id";
+    final var role = new RoleEntity();
+    role.setName(roleName);
+    final var entity = new IdentityEntity();
+    final var email = new IdentityEmailEntity();
+    email.setEmailAddress(emailAddress);
+    email.setPrimary(true);
+    entity.setId(id);
+    entity.getEmails().add(email);
+    entity.getRoles().add(role);
+
+    final var response = subject.map(entity, List.of(tenantId));
+
+    assertThat(response.getId(), is(equalTo(id)));
+    assertThat(response.getUsername(), is(equalTo(emailAddress)));
+    assertThat(response.getRoles(), contains(roleName));
+    assertThat(response.getTenantIds(), contains(tenantId));
+  }
+
   @Test
   public void map_EntityIsNull_ReturnsNull() {
 
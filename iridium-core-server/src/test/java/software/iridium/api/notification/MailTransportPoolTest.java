@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.notification;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+class MailTransportPoolTest {
+
+  private SmtpStandIn standIn;
+  private JavaMailSenderImpl mailSender;
+
+  @BeforeEach
+  public void setupForEachTestCase() throws Exception {
+    standIn = new SmtpStandIn(Integer.MAX_VALUE);
+    mailSender = mailSenderFor(standIn);
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    standIn.close();
+  }
+
+  @Test
+  public void send_Burst_SharesConnectionsAcrossMessages() throws Exception {
+    final var subject = pool(2, 10, 100);
+
+    subject.start();
+    for (int i = 0; i < 40; i++) {
+      subject.send(message(i));
+    }
+    subject.stop();
+
+    assertThat(standIn.getMessages(), is(equalTo(40)));
+    assertThat(standIn.getConnections(), is(lessThanOrEqualTo(2)));
+    assertThat(subject.getSentCount(), is(equalTo(40.0)));
+    assertThat(subject.getConnectionCount(), is(equalTo((double) standIn.getConnections())));
+  }
+
+  @Test
+  public void send_ConnectionLimitReached_OpensNewConnection() throws Exception {
+    final var subject = pool(1, 50, 5);
+
+    subject.start();
+    for (int i = 0; i < 12; i++) {
+      subject.send(message(i));
+    }
+    subject.stop();
+
+    assertThat(standIn.getMessages(), is(equalTo(12)));
+    assertThat(standIn.getConnections(), is(equalTo(3)));
+  }
+
+  @Test
+  public void send_ServerDroppedConnection_RetriedOnFreshConnection() throws Exception {
+    standIn.close();
+    standIn = new SmtpStandIn(3);
+    mailSender = mailSenderFor(standIn);
+    final var subject = pool(1, 50, 100);
+
+    subject.start();
+    for (int i = 0; i < 7; i++) {
+      subject.send(message(i));
+    }
+    subject.stop();
+
+    assertThat(standIn.getMessages(), is(equalTo(7)));
+    assertThat(standIn.getConnections(), is(equalTo(3)));
+    assertThat(subject.getFailedCount(), is(equalTo(0.0)));
+  }
+
+  @Test
+  public void send_NoWorkers_SendsOnCallerThread() throws Exception {
+    final var subject = pool(0, 50, 100);
+
+    subject.start();
+    subject.send(message(0));
+    subject.send(message(1));
+
+    assertThat(standIn.getMessages(), is(equalTo(2)));
+    assertThat(standIn.getConnections(), is(equalTo(2)));
+    assertThat(subject.getSentCount(), is(equalTo(2.0)));
+    subject.stop();
+  }
+
+  private MailTransportPool pool(
+      final int workers, final int batchSize, final int messagesPerConnection) {
+    final var beanFactory = new StaticListableBeanFactory();
+    beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+    return new MailTransportPool(
+        mailSender,
+        beanFactory.getBeanProvider(MeterRegistry.class),
+        workers,
+        100,
+        batchSize,
+        messagesPerConnection,
+        1000L);
+  }
+
+  private MimeMessage message(final int i) throws MessagingException {
+    final var message = mailSender.createMimeMessage();
+    message.setFrom("iridium@iridium.software");
+    message.setRecipients(MimeMessage.RecipientType.TO, "someone" + i + "@iridium.software");
+    message.setSubject("message " + i);
+    message.setText("the body");
+    return message;
+  }
+
+  private static JavaMailSenderImpl mailSenderFor(final SmtpStandIn standIn) {
+    final var mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("127.0.0.1");
+    mailSender.setPort(standIn.getPort());
+    mailSender.setProtocol("smtp");
+    mailSender.setJavaMailProperties(new Properties());
+    return mailSender;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.notification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Just enough of an SMTP server to count connections and accepted messages. It can drop a
+ * connection after a number of messages without telling the client, like a server timing it out.
+ */
+class SmtpStandIn implements AutoCloseable {
+
+  private final ServerSocket serverSocket;
+  private final int messagesBeforeDrop;
+  private final AtomicInteger connections = new AtomicInteger();
+  private final AtomicInteger messages = new AtomicInteger();
+
+  SmtpStandIn(final int messagesBeforeDrop) throws IOException {
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    this.messagesBeforeDrop = messagesBeforeDrop;
+    final var acceptor = new Thread(this::accept, "smtp-stand-in");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  int getConnections() {
+    return connections.get();
+  }
+
+  int getMessages() {
+    return messages.get();
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        final var socket = serverSocket.accept();
+        connections.incrementAndGet();
+        final var session = new Thread(() -> converse(socket), "smtp-stand-in-session");
+        session.setDaemon(true);
+        session.start();
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void converse(final Socket socket) {
+    try (socket;
+        final var in =
+            new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        final var out =
+            new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+      var accepted = 0;
+      reply(out, "220 stand-in ready");
+      String line;
+      while ((line = in.readLine()) != null) {
+        final var command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase();
+        switch (command) {
+          case "EHLO", "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 ok");
+          case "DATA" -> {
+            reply(out, "354 go ahead");
+            while ((line = in.readLine()) != null && !line.equals(".")) {
+              // the body is not kept
+            }
+            messages.incrementAndGet();
+            reply(out, "250 accepted");
+            if (++accepted == messagesBeforeDrop) {
+              return;
+            }
+          }
+          case "QUIT" -> {
+            reply(out, "221 bye");
+            return;
+          }
+          default -> reply(out, "502 not implemented");
+        }
+      }
+    } catch (IOException e) {
+      // the client went away
+    }
+  }
+
+  private static void reply(final PrintWriter out, final String response) {
+    out.print(response + "\r\n");
+    out.flush();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.provider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.iridium.api.base.error.ResourceNotFoundException;
+import software.iridium.api.repository.ApplicationEntityRepository;
+import software.iridium.api.repository.TenantEntityRepository;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.ExternalIdentityProviderEntity;
+import software.iridium.entity.TenantEntity;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderRegistryTest {
+
+  @Mock private ApplicationEntityRepository mockApplicationRepository;
+  @Mock private TenantEntityRepository mockTenantRepository;
+  @InjectMocks private ProviderRegistry subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockApplicationRepository, mockTenantRepository);
+  }
+
+  @Test
+  public void resolve_AllGood_LoadedOnceAndMatchedIgnoringCase() {
+    final var clientId = "theClientId";
+    final var tenantId = "theTenantId";
+    final var application = new ApplicationEntity();
+    application.setId("theApplicationId");
+    application.setTenantId(tenantId);
+    final var tenant = new TenantEntity();
+    tenant.setId(tenantId);
+    final var github = provider("GitHub", true);
+    github.setId("theProviderId");
+    github.setClientSecret("theClientSecret");
+    tenant.getExternalIdentityProviders().add(github);
+    tenant.getExternalIdentityProviders().add(provider("google", false));
+
+    when(mockApplicationRepository.findByClientId(same(clientId)))
+        .thenReturn(Optional.of(application));
+    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.of(tenant));
+
+    final var first = subject.resolve(clientId);
+    final var second = subject.resolve(clientId);
+
+    assertThat(second, is(sameInstance(first)));
+    assertThat(first.tenantId(), is(equalTo(tenantId)));
+    assertThat(first.applicationId(), is(equalTo("theApplicationId")));
+    assertThat(first.find("github").get(), is(equalTo(ProviderConfig.of(github))));
+    assertThat(first.find("google").isPresent(), is(false));
+    assertThat(first.findById("theProviderId").get().name(), is(equalTo("GitHub")));
+    assertThat(first.findById("unknownProviderId").isPresent(), is(false));
+
+    github.setClientSecret("changedAfterLoad");
+
+    assertThat(second.find("GITHUB").get().clientSecret(), is(equalTo("theClientSecret")));
+    assertThat(second.find("github").get().toString(), not(containsString("theClientSecret")));
+    verify(mockApplicationRepository).findByClientId(same(clientId));
+    verify(mockTenantRepository).findById(same(tenantId));
+  }
+
+  @Test
+  public void resolve_Refreshed_LoadedAgain() {
+    final var clientId = "theClientId";
+    final var tenantId = "theTenantId";
+    final var application = new ApplicationEntity();
+    application.setTenantId(tenantId);
+    final var tenant = new TenantEntity();
+    tenant.setId(tenantId);
+
+    when(mockApplicationRepository.findByClientId(same(clientId)))
+        .thenReturn(Optional.of(application));
+    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.of(tenant));
+
+    subject.resolve(clientId);
+    subject.refresh();
+    subject.resolve(clientId);
+
+    assertThat(subject.size(), is(equalTo(1)));
+    verify(mockApplicationRepository, times(2)).findByClientId(same(clientId));
+    verify(mockTenantRepository, times(2)).findById(same(tenantId));
+  }
+
+  @Test
+  public void resolve_ApplicationNotFound_ExceptionThrown() {
+    final var clientId = "theClientId";
+
+    when(mockApplicationRepository.findByClientId(same(clientId))).thenReturn(Optional.empty());
+
+    final var exception =
+        assertThrows(ResourceNotFoundException.class, () -> subject.resolve(clientId));
+
+    assertThat(
+        exception.getMessage(), is(equalTo("application not found for clientId: " + clientId)));
+    assertThat(subject.size(), is(equalTo(0)));
+    verify(mockApplicationRepository).findByClientId(same(clientId));
+  }
+
+  @Test
+  public void resolve_TenantNotFound_ExceptionThrown() {
+    final var clientId = "theClientId";
+    final var tenantId = "theTenantId";
+    final var application = new ApplicationEntity();
+    application.setTenantId(tenantId);
+
+    when(mockApplicationRepository.findByClientId(same(clientId)))
+        .thenReturn(Optional.of(application));
+    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.empty());
+
+    final var exception =
+        assertThrows(ResourceNotFoundException.class, () -> subject.resolve(clientId));
+
+    assertThat(
+        exception.getMessage(),
+        is(equalTo(String.format("tenant %s not found with clientId: %s", tenantId, clientId))));
+    verify(mockApplicationRepository).findByClientId(same(clientId));
+    verify(mockTenantRepository).findById(same(tenantId));
+  }
+
+  private ExternalIdentityProviderEntity provider(final String name, final boolean active) {
+    final var provider = new ExternalIdentityProviderEntity();
+    provider.setName(name);
+    provider.setActive(active);
+    return provider;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Date;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import software.iridium.api.authentication.domain.CodeChallengeMethod;
+import software.iridium.entity.AuthorizationCodeEntity;
+
+@DataJpaTest(
+    properties = {"spring.datasource.url=jdbc:h2:mem:iridium;MODE=MySQL;NON_KEYWORDS=VALUE"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuthorizationCodeClaimTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private AuthorizationCodeEntityRepository authCodeRepository;
+
+  private AuthorizationCodeEntity authorizationCode(final String code, final Date expiration) {
+    final var entity = new AuthorizationCodeEntity();
+    entity.setAuthorizationCode(code);
+    entity.setClientId("the-client-id");
+    entity.setIdentityId("the-identity-id");
+    entity.setExpiration(expiration);
+    entity.setCodeChallengeMethod(CodeChallengeMethod.PLAIN);
+    entity.setCodeChallenge("the challenge");
+    entityManager.persistAndFlush(entity);
+    return entity;
+  }
+
+  @Test
+  public void claim_ActiveCode_ClaimedExactlyOnce() {
+    final var now = new Date();
+    final var entity = authorizationCode("the-code", DateUtils.addMinutes(now, 5));
+    entityManager.clear();
+
+    assertThat(authCodeRepository.claim("the-code", now), is(equalTo(1)));
+    assertThat(authCodeRepository.claim("the-code", now), is(equalTo(0)));
+
+    final var claimed = entityManager.find(AuthorizationCodeEntity.class, entity.getId());
+    entityManager.refresh(claimed);
+    assertThat(claimed.getActive(), is(false));
+    assertThat(claimed.getVersion(), is(equalTo(entity.getVersion() + 1)));
+  }
+
+  @Test
+  public void claim_ExpiredCode_NotClaimed() {
+    final var now = new Date();
+    authorizationCode("the-expired-code", DateUtils.addMinutes(now, -1));
+
+    assertThat(authCodeRepository.claim("the-expired-code", now), is(equalTo(0)));
+  }
+
+  @Test
+  public void claim_UnknownCode_NotClaimed() {
+    assertThat(authCodeRepository.claim("no-such-code", new Date()), is(equalTo(0)));
+  }
+}
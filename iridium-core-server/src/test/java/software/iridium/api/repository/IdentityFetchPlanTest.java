@@ -0,0 +1,187 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Calendar;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import software.iridium.api.mapper.IdentityEntityMapper;
+import software.iridium.api.util.QueryCountInspector;
+import software.iridium.entity.AccessTokenEntity;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.IdentityEmailEntity;
+import software.iridium.entity.IdentityEntity;
+import software.iridium.entity.RefreshTokenEntity;
+import software.iridium.entity.RoleEntity;
+import software.iridium.entity.TenantEntity;
+
+@DataJpaTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:iridium;MODE=MySQL;NON_KEYWORDS=VALUE",
+      "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+          + "software.iridium.api.util.QueryCountInspector"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IdentityFetchPlanTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private IdentityEntityRepository identityRepository;
+  @Autowired private IdentityEmailEntityRepository emailRepository;
+  @Autowired private AccessTokenEntityRepository accessTokenRepository;
+
+  private IdentityEntity identity;
+  private TenantEntity parentTenant;
+  private TenantEntity managedTenant;
+  private ApplicationEntity application;
+
+  @BeforeEach
+  public void setUpForEachTestCase() {
+    parentTenant = tenant("parent");
+    managedTenant = tenant("managed");
+
+    application = new ApplicationEntity();
+    application.setName("the app");
+    application.setClientId("the-client-id");
+    application.setTenantId(parentTenant.getId());
+    entityManager.persist(application);
+
+    final var role = new RoleEntity();
+    role.setName("the role");
+    entityManager.persist(role);
+
+    identity = new IdentityEntity();
+    identity.setParentTenantId(parentTenant.getId());
+    identity.setEncodedPassword("encoded");
+    identity.getRoles().add(role);
+    identity.getManagedTenants().add(parentTenant);
+    identity.getManagedTenants().add(managedTenant);
+    identity.getAuthorizedApplications().add(application);
+    identity.getEmails().add(email("primary@iridium.software", true));
+    identity.getEmails().add(email("secondary@iridium.software", false));
+    entityManager.persist(identity);
+
+    final var refreshToken = new RefreshTokenEntity();
+    refreshToken.setRefreshToken("the refresh token");
+    final var accessToken = new AccessTokenEntity();
+    accessToken.setAccessToken("the access token");
+    accessToken.setTokenType("Bearer");
+    accessToken.setIdentityId(identity.getId());
+    accessToken.setExpiration(tomorrow());
+    accessToken.setRefreshToken(refreshToken);
+    refreshToken.setAccessToken(accessToken);
+    entityManager.persist(accessToken);
+
+    entityManager.flush();
+    entityManager.clear();
+    QueryCountInspector.reset();
+  }
+
+  @Test
+  public void getIdentityReadPath_AllGood_ThreeStatements() {
+    final var accessToken =
+        accessTokenRepository
+            .findFirstByAccessTokenAndExpirationAfter("the access token", new Date())
+            .orElseThrow();
+    final var loaded =
+        identityRepository.findWithEmailsAndRolesById(accessToken.getIdentityId()).orElseThrow();
+    final var response =
+        new IdentityEntityMapper()
+            .map(loaded, identityRepository.findManagedTenantIds(loaded.getId()));
+
+    QueryCountInspector.assertStatementCount(3);
+    assertThat(response.getUsername(), is(equalTo("primary@iridium.software")));
+    assertThat(response.getRoles(), containsInAnyOrder("the role"));
+    assertThat(
+        response.getTenantIds(), containsInAnyOrder(parentTenant.getId(), managedTenant.getId()));
+  }
+
+  @Test
+  public void tokenValidationReadPath_AllGood_OneStatement() {
+    final var accessToken =
+        accessTokenRepository
+            .findFirstByAccessTokenAndExpirationAfter("the access token", new Date())
+            .orElseThrow();
+
+    assertThat(accessToken.getIdentityId(), is(equalTo(identity.getId())));
+    QueryCountInspector.assertStatementCount(1);
+  }
+
+  @Test
+  public void authenticationReadPath_AllGood_TwoStatements() {
+    final var email =
+        emailRepository
+            .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+                "primary@iridium.software", parentTenant.getId())
+            .orElseThrow();
+    final var loaded = email.getIdentity();
+
+    assertThat(loaded.getEncodedPassword(), is(equalTo("encoded")));
+    assertThat(loaded.isNotLocked(), is(true));
+    assertThat(
+        identityRepository.isApplicationGranted(loaded.getId(), application.getId()), is(true));
+    QueryCountInspector.assertStatementCount(2);
+  }
+
+  @Test
+  public void grantApplication_AlreadyGranted_NothingInserted() {
+    assertThat(
+        identityRepository.grantApplication(identity.getId(), application.getId()), is(equalTo(0)));
+    assertThat(
+        identityRepository.isApplicationGranted(identity.getId(), application.getId()), is(true));
+  }
+
+  @Test
+  public void grantApplication_NotYetGranted_Inserted() {
+    final var other = new ApplicationEntity();
+    other.setName("the other app");
+    other.setClientId("the-other-client-id");
+    other.setTenantId(parentTenant.getId());
+    entityManager.persist(other);
+    entityManager.flush();
+
+    assertThat(identityRepository.isApplicationGranted(identity.getId(), other.getId()), is(false));
+    assertThat(
+        identityRepository.grantApplication(identity.getId(), other.getId()), is(equalTo(1)));
+    assertThat(identityRepository.isApplicationGranted(identity.getId(), other.getId()), is(true));
+  }
+
+  private TenantEntity tenant(final String subdomain) {
+    final var tenant = new TenantEntity();
+    tenant.setSubdomain(subdomain);
+    entityManager.persist(tenant);
+    return tenant;
+  }
+
+  private IdentityEmailEntity email(final String address, final Boolean primary) {
+    final var email = new IdentityEmailEntity();
+    email.setEmailAddress(address);
+    email.setPrimary(primary);
+    email.setIdentity(identity);
+    return email;
+  }
+
+  private Date tomorrow() {
+    final var calendar = Calendar.getInstance();
+    calendar.add(Calendar.DATE, 1);
+    return calendar.getTime();
+  }
+}
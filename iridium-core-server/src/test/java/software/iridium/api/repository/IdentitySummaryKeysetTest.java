@@ -0,0 +1,224 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.iridium.api.authentication.domain.IdentitySummary;
+import software.iridium.entity.IdentityEmailEntity;
+import software.iridium.entity.IdentityEntity;
+import software.iridium.entity.TenantEntity;
+
+/** The keyset page and export queries behind the tenant identity listing, against H2. */
+@DataJpaTest(
+    properties = {"spring.datasource.url=jdbc:h2:mem:keyset;MODE=MySQL;NON_KEYWORDS=VALUE"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdentitySummaryKeysetTest {
+
+  /**
+   * H2 rejects the negative fetch size that puts the mysql driver into streaming mode, so it is
+   * dropped here and H2 reads the result the way it always does.
+   */
+  @TestConfiguration
+  static class StreamingFetchSizeConfiguration {
+
+    @Bean
+    static BeanPostProcessor streamingFetchSizeIgnored() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+          return bean instanceof DataSource
+              ? ignoreNegativeFetchSize(bean, DataSource.class)
+              : bean;
+        }
+      };
+    }
+
+    private static Object ignoreNegativeFetchSize(final Object target, final Class<?> type) {
+      return Proxy.newProxyInstance(
+          type.getClassLoader(),
+          new Class<?>[] {type},
+          (proxy, method, args) -> {
+            if (method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+              return null;
+            }
+            final Object result;
+            try {
+              result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            }
+            if (method.getReturnType() == Connection.class
+                || method.getReturnType() == PreparedStatement.class) {
+              return ignoreNegativeFetchSize(result, method.getReturnType());
+            }
+            return result;
+          });
+    }
+  }
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private IdentityEntityRepository identityRepository;
+
+  private TransactionTemplate transaction;
+  private String tenantId;
+  private String otherTenantId;
+  private List<String> identityIds;
+
+  @BeforeEach
+  public void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    transaction.executeWithoutResult(
+        status -> {
+          tenantId = newTenant("keyset").getId();
+          otherTenantId = newTenant("keysetother").getId();
+          identityIds = new ArrayList<>();
+          for (int index = 0; index < 5; index++) {
+            identityIds.add(newIdentity(tenantId, "identity" + index).getId());
+          }
+          newIdentity(otherTenantId, "other");
+        });
+    identityIds.sort(String::compareTo);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    transaction.executeWithoutResult(
+        status -> {
+          for (final var parentTenantId : List.of(tenantId, otherTenantId)) {
+            entityManager
+                .createQuery(
+                    "select i from IdentityEntity i where i.parentTenantId = :tenantId",
+                    IdentityEntity.class)
+                .setParameter("tenantId", parentTenantId)
+                .getResultList()
+                .forEach(entityManager::remove);
+            entityManager.remove(entityManager.find(TenantEntity.class, parentTenantId));
+          }
+        });
+  }
+
+  @Test
+  public void findSummariesByParentTenantIdAfter_WalkedByCursor_EveryIdentityOnceInIdOrder() {
+    final var seen = new ArrayList<String>();
+    var cursor = "";
+    List<IdentitySummary> page;
+    do {
+      page =
+          identityRepository.findSummariesByParentTenantIdAfter(
+              tenantId, cursor, PageRequest.ofSize(2));
+      page.forEach(summary -> seen.add(summary.getId()));
+      if (!page.isEmpty()) {
+        cursor = page.get(page.size() - 1).getId();
+      }
+    } while (!page.isEmpty());
+
+    assertThat(seen, is(equalTo(identityIds)));
+  }
+
+  @Test
+  public void findSummariesByParentTenantIdAfter_CursorOnExistingId_StartsAfterIt() {
+    final var page =
+        identityRepository.findSummariesByParentTenantIdAfter(
+            tenantId, identityIds.get(1), PageRequest.ofSize(2));
+
+    assertThat(
+        page.stream().map(IdentitySummary::getId).toList(), is(equalTo(identityIds.subList(2, 4))));
+  }
+
+  @Test
+  public void findSummariesByParentTenantIdAfter_CursorOnLastId_ReturnsEmpty() {
+    final var page =
+        identityRepository.findSummariesByParentTenantIdAfter(
+            tenantId, identityIds.get(identityIds.size() - 1), PageRequest.ofSize(2));
+
+    assertThat(page.isEmpty(), is(true));
+  }
+
+  @Test
+  public void findSummariesByParentTenantIdAfter_SecondaryEmail_OnlyPrimaryReturned() {
+    final var page =
+        identityRepository.findSummariesByParentTenantIdAfter(
+            tenantId, "", PageRequest.ofSize(identityIds.size() + 1));
+
+    assertThat(page.size(), is(equalTo(identityIds.size())));
+    final var first = page.get(0);
+    assertThat(first.getPrimaryEmail().endsWith("@iridium.software"), is(true));
+    assertThat(first.getPrimaryEmail().startsWith("secondary"), is(false));
+    assertThat(first.getLastSuccessfulLogin(), is(nullValue()));
+  }
+
+  @Test
+  public void streamSummariesByParentTenantId_TwoTenants_OnlyRequestedTenantInIdOrder() {
+    final var exported =
+        transaction.execute(
+            status -> {
+              try (var summaries = identityRepository.streamSummariesByParentTenantId(tenantId)) {
+                return summaries.map(IdentitySummary::getId).toList();
+              }
+            });
+
+    assertThat(exported, is(equalTo(identityIds)));
+  }
+
+  private TenantEntity newTenant(final String subdomain) {
+    final var tenant = new TenantEntity();
+    tenant.setSubdomain(subdomain);
+    entityManager.persist(tenant);
+    return tenant;
+  }
+
+  private IdentityEntity newIdentity(final String parentTenantId, final String name) {
+    final var identity = new IdentityEntity();
+    identity.setParentTenantId(parentTenantId);
+    identity.getEmails().add(newEmail(identity, name + "@iridium.software", true));
+    identity.getEmails().add(newEmail(identity, "secondary." + name + "@iridium.software", false));
+    entityManager.persist(identity);
+    return identity;
+  }
+
+  private IdentityEmailEntity newEmail(
+      final IdentityEntity identity, final String emailAddress, final boolean primary) {
+    final var email = new IdentityEmailEntity();
+    email.setEmailAddress(emailAddress);
+    email.setPrimary(primary);
+    email.setIdentity(identity);
+    return email;
+  }
+}
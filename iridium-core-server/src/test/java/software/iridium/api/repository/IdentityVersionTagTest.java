@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.iridium.entity.IdentityEmailEntity;
+import software.iridium.entity.IdentityEntity;
+import software.iridium.entity.TenantEntity;
+
+/** The version tags behind the identity and tenant ETags, against committed changes. */
+@DataJpaTest(
+    properties = {"spring.datasource.url=jdbc:h2:mem:iridium;MODE=MySQL;NON_KEYWORDS=VALUE"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdentityVersionTagTest {
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private IdentityEntityRepository identityRepository;
+
+  private TransactionTemplate transaction;
+  private String identityId;
+
+  @BeforeEach
+  public void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    identityId =
+        transaction.execute(
+            status -> {
+              final var tenant = newTenant("versiontag");
+              final var identity = new IdentityEntity();
+              identity.setParentTenantId(tenant.getId());
+              identity.getManagedTenants().add(tenant);
+              final var email = new IdentityEmailEntity();
+              email.setEmailAddress("someone@iridium.software");
+              email.setPrimary(true);
+              email.setIdentity(identity);
+              identity.getEmails().add(email);
+              entityManager.persist(identity);
+              return identity.getId();
+            });
+  }
+
+  @AfterEach
+  public void tearDown() {
+    transaction.executeWithoutResult(
+        status -> {
+          final var identity = entityManager.find(IdentityEntity.class, identityId);
+          final var tenants = identity.getManagedTenants().stream().toList();
+          entityManager.remove(identity);
+          tenants.forEach(entityManager::remove);
+        });
+  }
+
+  @Test
+  public void findVersionTagById_ManagedTenantAdded_TagChanges() {
+    final var before = identityRepository.findVersionTagById(identityId).orElseThrow();
+
+    transaction.executeWithoutResult(
+        status ->
+            entityManager
+                .find(IdentityEntity.class, identityId)
+                .getManagedTenants()
+                .add(newTenant("versiontag2")));
+
+    assertThat(identityRepository.findVersionTagById(identityId).orElseThrow(), is(not(before)));
+    assertThat(identityRepository.findManagedTenantVersionTags(identityId), hasSize(2));
+  }
+
+  @Test
+  public void findVersionTagById_PrimaryEmailChanged_TagChanges() {
+    final var before = identityRepository.findVersionTagById(identityId).orElseThrow();
+
+    transaction.executeWithoutResult(
+        status ->
+            entityManager
+                .find(IdentityEntity.class, identityId)
+                .getPrimaryEmail()
+                .setEmailAddress("someone.else@iridium.software"));
+
+    assertThat(identityRepository.findVersionTagById(identityId).orElseThrow(), is(not(before)));
+  }
+
+  @Test
+  public void findManagedTenantVersionTags_NothingChanged_TagsStable() {
+    final var before = identityRepository.findManagedTenantVersionTags(identityId);
+
+    assertThat(identityRepository.findManagedTenantVersionTags(identityId), is(equalTo(before)));
+    assertThat(
+        identityRepository.findVersionTagById(identityId).orElseThrow(),
+        is(equalTo(identityRepository.findVersionTagById(identityId).orElseThrow())));
+  }
+
+  private TenantEntity newTenant(final String subdomain) {
+    final var tenant = new TenantEntity();
+    tenant.setSubdomain(subdomain);
+    entityManager.persist(tenant);
+    return tenant;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.iridium.api.authentication.domain.ExternalProviderLoginDescriptorResponse;
+import software.iridium.api.mapper.ExternalProviderLoginDescriptorResponseMapper;
+import software.iridium.api.mapper.LoginDescriptorResponseMapper;
+import software.iridium.entity.ExternalIdentityProviderEntity;
+import software.iridium.entity.ExternalIdentityProviderTemplateEntity;
+import software.iridium.entity.LoginDescriptorEntity;
+import software.iridium.entity.TenantEntity;
+
+/**
+ * Runs without a test transaction, the way requests run with open-in-view disabled: every entity
+ * handed back by a repository is detached, so reading anything the fetch plan left out fails.
+ */
+@DataJpaTest(
+    properties = {"spring.datasource.url=jdbc:h2:mem:iridium;MODE=MySQL;NON_KEYWORDS=VALUE"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoginDescriptorFetchPlanTest {
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private LoginDescriptorEntityRepository loginDescriptorRepository;
+
+  private TransactionTemplate transaction;
+  private TenantEntity tenant;
+
+  @BeforeEach
+  public void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    tenant =
+        transaction.execute(
+            status -> {
+              final var template = new ExternalIdentityProviderTemplateEntity();
+              template.setName("github");
+              template.setAccessTokenRequestBaseUrl("https://github.com/login/oauth/access_token");
+              template.setProfileRequestBaseUrl("https://api.github.com/user");
+              template.setIconPath("github.png");
+              template.setBaseAuthorizationUrl("https://github.com/login/oauth/authorize");
+              entityManager.persist(template);
+
+              final var tenant = new TenantEntity();
+              tenant.setSubdomain("fetchplan");
+              final var descriptor = new LoginDescriptorEntity();
+              descriptor.setDisplayName("Fetch Plan");
+              descriptor.setTenant(tenant);
+              tenant.setLoginDescriptor(descriptor);
+              entityManager.persist(tenant);
+
+              final var provider = new ExternalIdentityProviderEntity();
+              provider.setName("github");
+              provider.setTemplate(template);
+              provider.setTenant(tenant);
+              provider.setClientId("the-client-id");
+              provider.setIconPath(template.getIconPath());
+              provider.setRedirectUri("https://fetchplan.iridium.software/callback");
+              provider.setBaseAuthorizationUrl(template.getBaseAuthorizationUrl());
+              provider.setAccessTokenRequestBaseUrl(template.getAccessTokenRequestBaseUrl());
+              provider.setProfileRequestBaseUrl(template.getProfileRequestBaseUrl());
+              entityManager.persist(provider);
+              return tenant;
+            });
+  }
+
+  @AfterEach
+  public void tearDown() {
+    transaction.executeWithoutResult(
+        status -> {
+          entityManager
+              .createQuery("delete from ExternalIdentityProviderEntity p where p.tenant.id = :id")
+              .setParameter("id", tenant.getId())
+              .executeUpdate();
+          entityManager
+              .createQuery("delete from ExternalIdentityProviderTemplateEntity")
+              .executeUpdate();
+          final var managed = entityManager.find(TenantEntity.class, tenant.getId());
+          entityManager.remove(managed);
+        });
+  }
+
+  @Test
+  public void findByTenant_Subdomain_OutsideTransaction_MapsLoginPage() {
+    final var descriptor =
+        loginDescriptorRepository.findByTenant_Subdomain("fetchplan").orElseThrow();
+
+    final var response = mapper().map(descriptor);
+
+    assertThat(response.getDisplayName(), is(equalTo("Fetch Plan")));
+    assertThat(
+        response.getExternalProviderDescriptors().stream()
+            .map(ExternalProviderLoginDescriptorResponse::getName)
+            .toList(),
+        contains("github"));
+  }
+
+  @Test
+  public void findByTenantId_OutsideTransaction_ProvidersNotFetched() {
+    final var descriptor = loginDescriptorRepository.findByTenantId(tenant.getId()).orElseThrow();
+
+    assertThrows(LazyInitializationException.class, () -> mapper().map(descriptor));
+  }
+
+  private LoginDescriptorResponseMapper mapper() {
+    final var mapper = new LoginDescriptorResponseMapper();
+    ReflectionTestUtils.setField(
+        mapper,
+        "externalProviderDescriptorMapper",
+        new ExternalProviderLoginDescriptorResponseMapper());
+    return mapper;
+  }
+}
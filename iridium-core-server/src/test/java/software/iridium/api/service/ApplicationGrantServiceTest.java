@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.iridium.api.cache.ApplicationGrantCache;
+import software.iridium.api.repository.IdentityEntityRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationGrantServiceTest {
+
+  @Mock private IdentityEntityRepository mockIdentityRepository;
+  @Mock private ApplicationGrantCache mockGrantCache;
+  @InjectMocks private ApplicationGrantService subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockIdentityRepository, mockGrantCache);
+  }
+
+  @Test
+  public void isGranted_CacheHit_RepositoryNotQueried() {
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+
+    when(mockGrantCache.contains(same(identityId), same(applicationId))).thenReturn(true);
+
+    assertThat(subject.isGranted(identityId, applicationId), is(true));
+
+    verify(mockGrantCache).contains(same(identityId), same(applicationId));
+  }
+
+  @Test
+  public void isGranted_GrantedInDatabase_RecordedInCache() {
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+
+    when(mockIdentityRepository.isApplicationGranted(same(identityId), same(applicationId)))
+        .thenReturn(true);
+
+    assertThat(subject.isGranted(identityId, applicationId), is(true));
+
+    verify(mockGrantCache).contains(same(identityId), same(applicationId));
+    verify(mockIdentityRepository).isApplicationGranted(same(identityId), same(applicationId));
+    verify(mockGrantCache).record(same(identityId), same(applicationId));
+  }
+
+  @Test
+  public void isGranted_NotGranted_NotCached() {
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+
+    assertThat(subject.isGranted(identityId, applicationId), is(false));
+
+    verify(mockGrantCache).contains(same(identityId), same(applicationId));
+    verify(mockIdentityRepository).isApplicationGranted(same(identityId), same(applicationId));
+  }
+
+  @Test
+  public void grant_NotCached_InsertedAndRecorded() {
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+
+    subject.grant(identityId, applicationId);
+
+    verify(mockGrantCache).contains(same(identityId), same(applicationId));
+    verify(mockIdentityRepository).grantApplication(same(identityId), same(applicationId));
+    verify(mockGrantCache).record(same(identityId), same(applicationId));
+  }
+
+  @Test
+  public void grant_AlreadyCached_NothingInserted() {
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+
+    when(mockGrantCache.contains(same(identityId), same(applicationId))).thenReturn(true);
+
+    subject.grant(identityId, applicationId);
+
+    verify(mockGrantCache).contains(same(identityId), same(applicationId));
+  }
+}
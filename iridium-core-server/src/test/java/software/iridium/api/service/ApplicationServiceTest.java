@@ -14,6 +14,7 @@ package software.iridium.api.service;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
@@ -21,6 +22,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
@@ -463,4 +465,87 @@ class ApplicationServiceTest {
     verify(mockApplicationRepository).findByTenantIdAndId(same(tenantId), same(applicationId));
     verify(mockResponseMapper).map(same(entity));
   }
+
+  @Test
+  public void getCursorPageByTenantId_MoreRowsThanSize_ReturnsNextCursor() {
+    final var tenantId = UUID.randomUUID().toString();
+    final var size = 2;
+    final var active = true;
+    final var applications = new ArrayList<ApplicationEntity>();
+    for (int i = 0; i < 3; i++) {
+      final var application = new ApplicationEntity();
+      application.setId(UUID.randomUUID().toString());
+      applications.add(application);
+    }
+    final var summaries = List.of(new ApplicationSummary(), new ApplicationSummary());
+
+    when(mockAttributeValidator.isUuid(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isPositive(anyInt())).thenCallRealMethod();
+    when(mockAttributeValidator.isNotNull(anyBoolean())).thenCallRealMethod();
+    when(mockApplicationRepository.findAllByTenantIdAndActiveAndIdGreaterThanOrderByIdAsc(
+            same(tenantId), same(active), eq(""), eq(PageRequest.ofSize(size + 1))))
+        .thenReturn(applications);
+    when(mockSummaryMapper.mapToSummaries(any())).thenReturn(summaries);
+
+    final var response = subject.getCursorPageByTenantId(tenantId, null, size, active);
+
+    verify(mockAttributeValidator).isUuid(same(tenantId));
+    verify(mockAttributeValidator).isPositive(same(size));
+    verify(mockAttributeValidator).isNotNull(same(active));
+    verify(mockApplicationRepository)
+        .findAllByTenantIdAndActiveAndIdGreaterThanOrderByIdAsc(
+            same(tenantId), same(active), eq(""), eq(PageRequest.ofSize(size + 1)));
+    verify(mockSummaryMapper).mapToSummaries(eq(applications.subList(0, size)));
+    assertThat(response.getData().size(), is(equalTo(size)));
+    assertThat(response.getCursorInfo().getPageSize(), is(equalTo(size)));
+    assertThat(response.getCursorInfo().getNextCursor(), is(equalTo(applications.get(1).getId())));
+  }
+
+  @Test
+  public void getCursorPageByTenantId_LastPage_NoNextCursor() {
+    final var tenantId = UUID.randomUUID().toString();
+    final var cursor = UUID.randomUUID().toString();
+    final var size = 2;
+    final var active = true;
+    final var applications = new ArrayList<ApplicationEntity>();
+    applications.add(new ApplicationEntity());
+
+    when(mockAttributeValidator.isUuid(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isPositive(anyInt())).thenCallRealMethod();
+    when(mockAttributeValidator.isNotNull(anyBoolean())).thenCallRealMethod();
+    when(mockApplicationRepository.findAllByTenantIdAndActiveAndIdGreaterThanOrderByIdAsc(
+            same(tenantId), same(active), same(cursor), eq(PageRequest.ofSize(size + 1))))
+        .thenReturn(applications);
+    when(mockSummaryMapper.mapToSummaries(any())).thenReturn(List.of(new ApplicationSummary()));
+
+    final var response = subject.getCursorPageByTenantId(tenantId, cursor, size, active);
+
+    verify(mockAttributeValidator).isUuid(same(tenantId));
+    verify(mockAttributeValidator).isUuid(same(cursor));
+    verify(mockAttributeValidator).isPositive(same(size));
+    verify(mockAttributeValidator).isNotNull(same(active));
+    verify(mockApplicationRepository)
+        .findAllByTenantIdAndActiveAndIdGreaterThanOrderByIdAsc(
+            same(tenantId), same(active), same(cursor), eq(PageRequest.ofSize(size + 1)));
+    verify(mockSummaryMapper).mapToSummaries(eq(applications));
+    assertThat(response.getData().size(), is(equalTo(1)));
+    assertThat(response.getCursorInfo().getNextCursor(), is(nullValue()));
+  }
+
+  @Test
+  public void getCursorPageByTenantId_CursorNotUuid_ExceptionThrown() {
+    final var tenantId = UUID.randomUUID().toString();
+    final var cursor = "not a uuid";
+
+    when(mockAttributeValidator.isUuid(anyString())).thenCallRealMethod();
+
+    final var exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> subject.getCursorPageByTenantId(tenantId, cursor, 2, true));
+
+    verify(mockAttributeValidator).isUuid(same(tenantId));
+    verify(mockAttributeValidator).isUuid(same(cursor));
+    assertThat(exception.getMessage(), is(equalTo("cursor must be a valid uuid: " + cursor)));
+  }
 }
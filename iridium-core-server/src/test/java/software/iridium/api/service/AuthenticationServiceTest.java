@@ -13,9 +13,11 @@ package software.iridium.api.service;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
@@ -27,6 +29,7 @@ import java.util.Optional;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -34,6 +37,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 import software.iridium.api.authentication.domain.AuthenticationRequest;
 import software.iridium.api.base.error.NotAuthorizedException;
 import software.iridium.api.base.error.ResourceNotFoundException;
@@ -57,8 +62,15 @@ class AuthenticationServiceTest {
   @Mock private ApplicationEntityRepository mockApplicationRepository;
   @Mock private AuthenticationRequestParamValidator mockAuthRequestParamValidator;
   @Mock private TenantEntityRepository mockTenantRepository;
+  @Mock private ApplicationGrantService mockGrantService;
   @InjectMocks private AuthenticationService subject;
 
+  @BeforeEach
+  public void setUp() {
+    ReflectionTestUtils.setField(subject, "readPhase", TransactionOperations.withoutTransaction());
+    ReflectionTestUtils.setField(subject, "writePhase", TransactionOperations.withoutTransaction());
+  }
+
   @AfterEach
   public void verifyNoUnexpectedMockInteractions() {
     Mockito.verifyNoMoreInteractions(
@@ -70,7 +82,8 @@ class AuthenticationServiceTest {
         mockEmailRepository,
         mockApplicationRepository,
         mockAuthRequestParamValidator,
-        mockTenantRepository);
+        mockTenantRepository,
+        mockGrantService);
   }
 
   @Test
@@ -98,23 +111,30 @@ class AuthenticationServiceTest {
     application.setTenantId(tenantId);
     request.setClientId(applicationClientId);
     final var params = new HashMap<String, String>();
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+    identity.setId(identityId);
+    application.setId(applicationId);
     final var tenant = new TenantEntity();
 
-    when(mockEmailRepository.findByEmailAddressAndIdentity_ParentTenantId(
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
             same(username), same(tenantId)))
         .thenReturn(emailOpt);
     when(mockEncoder.matches(same(clearTextPassword), same(encodedPassword))).thenReturn(true);
     when(mockTokenManager.getOrGenerateToken(same(identity))).thenReturn(tokens);
     when(mockApplicationRepository.findByClientId(same(applicationClientId)))
         .thenReturn(Optional.of(application));
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identity));
     when(mockTenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
 
     final var response = subject.authenticate(request, params);
 
     verify(mockEmailRepository)
-        .findByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
     verify(mockEncoder).matches(same(clearTextPassword), same(encodedPassword));
     verify(mockTokenManager).getOrGenerateToken(same(identity));
+    verify(mockGrantService).isGranted(same(identityId), same(applicationId));
+    verify(mockIdentityRepository).findById(same(identityId));
     verify(mockIdentityRepository).save(same(identity));
     verify(mockRequestValidator).validate(request);
     verify(mockAuthRequestParamValidator).validate(same(params));
@@ -142,20 +162,24 @@ class AuthenticationServiceTest {
     application.setTenantId(tenantId);
     request.setClientId(applicationClientId);
     final var params = new HashMap<String, String>();
+    final var identityId = "the identity id";
+    identity.setId(identityId);
 
-    when(mockEmailRepository.findByEmailAddressAndIdentity_ParentTenantId(
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
             same(username), same(tenantId)))
         .thenReturn(emailOpt);
     when(mockApplicationRepository.findByClientId(same(applicationClientId)))
         .thenReturn(Optional.of(application));
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identity));
 
     final var exception =
         assertThrows(NotAuthorizedException.class, () -> subject.authenticate(request, params));
 
     verify(mockEmailRepository)
-        .findByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
     verify(mockEncoder, never()).matches(anyString(), anyString());
     verify(mockTokenManager, never()).getOrGenerateToken(same(identity));
+    verify(mockIdentityRepository).findById(same(identityId));
     verify(mockIdentityRepository).save(same(identity));
     verify(mockRequestValidator).validate(request);
     verify(mockApplicationRepository).findByClientId(same(applicationClientId));
@@ -188,25 +212,32 @@ class AuthenticationServiceTest {
     application.setTenantId(tenantId);
     request.setClientId(applicationClientId);
     final var params = new HashMap<String, String>();
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+    identity.setId(identityId);
+    application.setId(applicationId);
 
-    when(mockEmailRepository.findByEmailAddressAndIdentity_ParentTenantId(
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
             same(username), same(tenantId)))
         .thenReturn(emailOpt);
     when(mockEncoder.matches(same(rawPassword), same(encodedPassword))).thenReturn(true);
     when(mockTokenManager.getOrGenerateToken(same(identity))).thenReturn(tokens);
     when(mockApplicationRepository.findByClientId(same(applicationClientId)))
         .thenReturn(Optional.of(application));
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identity));
 
     final var exception =
         assertThrows(NotAuthorizedException.class, () -> subject.authenticate(request, params));
 
     verify(mockEmailRepository)
-        .findByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
     verify(mockEncoder).matches(same(rawPassword), same(encodedPassword));
     verify(mockTokenManager).getOrGenerateToken(same(identity));
+    verify(mockGrantService).isGranted(same(identityId), same(applicationId));
     verify(mockRequestValidator).validate(request);
     verify(mockAuthRequestParamValidator).validate(same(params));
     verify(mockApplicationRepository).findByClientId(same(applicationClientId));
+    verify(mockIdentityRepository).findById(same(identityId));
     verify(mockIdentityRepository).save(same(identity));
 
     assertThat(exception.getMessage(), is(equalTo("NOT AUTHORIZED")));
@@ -234,21 +265,25 @@ class AuthenticationServiceTest {
     application.setTenantId(tenantId);
     request.setClientId(applicationClientId);
     final var params = new HashMap<String, String>();
+    final var identityId = "the identity id";
+    identity.setId(identityId);
 
-    when(mockEmailRepository.findByEmailAddressAndIdentity_ParentTenantId(
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
             same(username), same(tenantId)))
         .thenReturn(emailOpt);
     when(mockEncoder.matches(same(clearTextPassword), same(encodedPassword))).thenReturn(false);
     when(mockApplicationRepository.findByClientId(same(applicationClientId)))
         .thenReturn(Optional.of(application));
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identity));
 
     final var exception =
         assertThrows(NotAuthorizedException.class, () -> subject.authenticate(request, params));
 
     verify(mockEmailRepository)
-        .findByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
     verify(mockEncoder).matches(same(clearTextPassword), same(encodedPassword));
     verify(mockTokenManager, never()).getOrGenerateToken(same(identity));
+    verify(mockIdentityRepository).findById(same(identityId));
     verify(mockIdentityRepository).save(same(identity));
     verify(mockRequestValidator).validate(request);
     verify(mockAuthRequestParamValidator).validate(same(params));
@@ -258,6 +293,92 @@ class AuthenticationServiceTest {
     assertThat(exception.getCode(), is(equalTo("401")));
   }
 
+  @Test
+  public void authenticate_PasswordChangedBetweenPhases_ExceptionThrown() {
+    final var request = new AuthenticationRequest();
+    request.setPassword("the password");
+    request.setUsername("theUsername");
+    request.setClientId("the id");
+    final var identityId = "the identity id";
+    final var candidate = new IdentityEntity();
+    candidate.setId(identityId);
+    candidate.setLocked(false);
+    candidate.setEncodedPassword("the old pa$$word");
+    final var reloaded = new IdentityEntity();
+    reloaded.setId(identityId);
+    reloaded.setLocked(false);
+    reloaded.setEncodedPassword("the new pa$$word");
+    final var email = new IdentityEmailEntity();
+    email.setIdentity(candidate);
+    final var application = new ApplicationEntity();
+    application.setTenantId("the tenant id");
+    final var params = new HashMap<String, String>();
+
+    when(mockApplicationRepository.findByClientId(same("the id")))
+        .thenReturn(Optional.of(application));
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+            same("theUsername"), same("the tenant id")))
+        .thenReturn(Optional.of(email));
+    when(mockEncoder.matches(same("the password"), same("the old pa$$word"))).thenReturn(true);
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(reloaded));
+
+    assertThrows(NotAuthorizedException.class, () -> subject.authenticate(request, params));
+
+    verify(mockRequestValidator).validate(request);
+    verify(mockAuthRequestParamValidator).validate(same(params));
+    verify(mockApplicationRepository).findByClientId(same("the id"));
+    verify(mockEmailRepository)
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+            same("theUsername"), same("the tenant id"));
+    verify(mockEncoder).matches(same("the password"), same("the old pa$$word"));
+    verify(mockIdentityRepository).findById(same(identityId));
+    verify(mockTokenManager, never()).getOrGenerateToken(any(IdentityEntity.class));
+    verify(mockIdentityRepository, never()).save(any(IdentityEntity.class));
+  }
+
+  @Test
+  public void authenticate_LockedBetweenPhases_ExceptionThrown() {
+    final var request = new AuthenticationRequest();
+    request.setPassword("the password");
+    request.setUsername("theUsername");
+    request.setClientId("the id");
+    final var identityId = "the identity id";
+    final var candidate = new IdentityEntity();
+    candidate.setId(identityId);
+    candidate.setLocked(false);
+    candidate.setEncodedPassword("the pa$$word");
+    final var reloaded = new IdentityEntity();
+    reloaded.setId(identityId);
+    reloaded.setLocked(true);
+    reloaded.setEncodedPassword("the pa$$word");
+    final var email = new IdentityEmailEntity();
+    email.setIdentity(candidate);
+    final var application = new ApplicationEntity();
+    application.setTenantId("the tenant id");
+    final var params = new HashMap<String, String>();
+
+    when(mockApplicationRepository.findByClientId(same("the id")))
+        .thenReturn(Optional.of(application));
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+            same("theUsername"), same("the tenant id")))
+        .thenReturn(Optional.of(email));
+    when(mockEncoder.matches(same("the password"), same("the pa$$word"))).thenReturn(true);
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(reloaded));
+
+    assertThrows(NotAuthorizedException.class, () -> subject.authenticate(request, params));
+
+    verify(mockRequestValidator).validate(request);
+    verify(mockAuthRequestParamValidator).validate(same(params));
+    verify(mockApplicationRepository).findByClientId(same("the id"));
+    verify(mockEmailRepository)
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
+            same("theUsername"), same("the tenant id"));
+    verify(mockEncoder).matches(same("the password"), same("the pa$$word"));
+    verify(mockIdentityRepository).findById(same(identityId));
+    verify(mockTokenManager, never()).getOrGenerateToken(any(IdentityEntity.class));
+    verify(mockIdentityRepository, never()).save(any(IdentityEntity.class));
+  }
+
   @Test
   public void authenticate_emailNotFoundWithApplicationId_ExceptionThrown() {
     final var username = "theUsername";
@@ -270,7 +391,7 @@ class AuthenticationServiceTest {
     request.setClientId(applicationClientId);
     final var params = new HashMap<String, String>();
 
-    when(mockEmailRepository.findByEmailAddressAndIdentity_ParentTenantId(
+    when(mockEmailRepository.findWithIdentityByEmailAddressAndIdentity_ParentTenantId(
             same(username), same(tenantId)))
         .thenReturn(Optional.empty());
     when(mockApplicationRepository.findByClientId(same(applicationClientId)))
@@ -282,7 +403,7 @@ class AuthenticationServiceTest {
     verify(mockRequestValidator).validate(request);
     verify(mockAuthRequestParamValidator).validate(same(params));
     verify(mockEmailRepository)
-        .findByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
+        .findWithIdentityByEmailAddressAndIdentity_ParentTenantId(same(username), same(tenantId));
     verify(mockApplicationRepository).findByClientId(same(applicationClientId));
 
     assertThat(exception.getMessage(), is(equalTo("NOT AUTHORIZED")));
@@ -314,4 +435,35 @@ class AuthenticationServiceTest {
         exception.getMessage(),
         is(equalTo("application not found for client id: " + applicationClientId)));
   }
+
+  @Test
+  public void authenticateNewIdentity_AllGood_IssuesTokensWithoutVerification() {
+    final var identity = new IdentityEntity();
+    identity.setFailedLoginAttempts(2);
+    final var application = new ApplicationEntity();
+    application.setName("the app");
+    application.setHomePageUrl("https://home.page");
+    application.setRedirectUri("https://redirect.uri");
+    final var tenant = new TenantEntity();
+    tenant.setWebsiteUrl("https://web.site");
+    final var params = new HashMap<String, String>();
+    final var tokens = new ImmutablePair<String, String>("theUserToken", "theRefreshToken");
+
+    when(mockIdentityRepository.save(same(identity))).thenReturn(identity);
+    when(mockTokenManager.generateToken(same(identity))).thenReturn(tokens);
+
+    final var response = subject.authenticateNewIdentity(identity, application, tenant, params);
+
+    verify(mockAuthRequestParamValidator).validate(same(params));
+    verify(mockIdentityRepository).save(same(identity));
+    verify(mockTokenManager).generateToken(same(identity));
+
+    MatcherAssert.assertThat(response.getUserToken(), is(equalTo("theUserToken")));
+    MatcherAssert.assertThat(response.getUserRefreshToken(), is(equalTo("theRefreshToken")));
+    MatcherAssert.assertThat(response.getApplicationName(), is(equalTo("the app")));
+    MatcherAssert.assertThat(response.getTenantWebsite(), is(equalTo("https://web.site")));
+    MatcherAssert.assertThat(response.getAuthorizationCode(), nullValue());
+    MatcherAssert.assertThat(identity.getFailedLoginAttempts(), is(equalTo(0)));
+    MatcherAssert.assertThat(identity.getLastSuccessfulLogin(), notNullValue());
+  }
 }
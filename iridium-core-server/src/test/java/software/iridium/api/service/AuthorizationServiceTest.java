@@ -19,9 +19,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -40,13 +41,16 @@ import software.iridium.api.base.error.ResourceNotFoundException;
 import software.iridium.api.generator.ProviderUrlGenerator;
 import software.iridium.api.generator.RedirectUrlGenerator;
 import software.iridium.api.generator.SuccessAuthorizationParameterGenerator;
+import software.iridium.api.grant.GrantStore;
 import software.iridium.api.instantiator.AuthorizationCodeEntityInstantiator;
 import software.iridium.api.instantiator.IdentityEntityInstantiator;
 import software.iridium.api.mapper.IdentityResponseMapper;
+import software.iridium.api.provider.ProviderRegistry;
+import software.iridium.api.provider.TenantProviders;
 import software.iridium.api.repository.*;
+import software.iridium.api.tenant.TenantContext;
 import software.iridium.api.util.AttributeValidator;
 import software.iridium.api.util.AuthorizationCodeFlowConstants;
-import software.iridium.api.util.SubdomainExtractor;
 import software.iridium.api.validator.AuthorizationGrantTypeParamValidator;
 import software.iridium.api.validator.AuthorizationRequestParameterValidator;
 import software.iridium.entity.*;
@@ -64,15 +68,16 @@ class AuthorizationServiceTest {
   @Mock private HttpServletRequest mockServletRequest;
   @Mock private AuthorizationGrantTypeParamValidator mockGrantTypeValidator;
   @Mock private ApplicationEntityRepository mockApplicationRepository;
+  @Mock private ExternalIdentityProviderEntityRepository mockProviderRepository;
   @Mock private AuthorizationRequestParameterValidator mockRequestParameterValidator;
   @Mock private AuthorizationCodeEntityInstantiator mockAuthCodeInstantiator;
-  @Mock private AuthorizationCodeEntityRepository mockAuthCodeRepository;
+  @Mock private GrantStore mockGrantStore;
+  @Mock private ApplicationGrantService mockGrantService;
   @Mock private SuccessAuthorizationParameterGenerator mockSuccessParamGenerator;
   @Mock private RedirectUrlGenerator mockRedirectUrlGenerator;
-  @Mock private TenantEntityRepository mockTenantRepository;
+  @Mock private ProviderRegistry mockProviderRegistry;
   @Mock private ProviderProfileRequestor mockProviderProfileRequestor;
   @Mock private IdentityEmailEntityRepository mockEmailRepository;
-  @Mock private SubdomainExtractor mockSubdomainExtractor;
   @Mock private AuthenticationEntityRepository mockAuthenticationRepository;
   @InjectMocks private AuthorizationService subject;
 
@@ -90,14 +95,15 @@ class AuthorizationServiceTest {
         mockApplicationRepository,
         mockRequestParameterValidator,
         mockAuthCodeInstantiator,
-        mockAuthCodeRepository,
+        mockGrantStore,
         mockSuccessParamGenerator,
         mockRedirectUrlGenerator,
         mockProviderProfileRequestor,
         mockEmailRepository,
         mockIdentity,
-        mockSubdomainExtractor,
-        mockAuthenticationRepository);
+        mockAuthenticationRepository,
+        mockProviderRegistry,
+        mockProviderRepository);
   }
 
   @Test
@@ -113,14 +119,14 @@ class AuthorizationServiceTest {
     final var authzResoonse = new AuthorizationResponse();
     authzResoonse.setAccessToken(accessToken);
     final var tenantId = "theTenantId";
-    final var application = new ApplicationEntity();
-    application.setTenantId(tenantId);
-    final var tenant = new TenantEntity();
-    tenant.setId(tenantId);
+    final var applicationId = "theApplicationId";
     final var externalProvider = new ExternalIdentityProviderEntity();
     externalProvider.setName(providerName);
     externalProvider.setProfileRequestBaseUrl(providerProfileUrl);
-    tenant.getExternalIdentityProviders().add(externalProvider);
+    externalProvider.setId("theProviderId");
+    final var tenantProviders =
+        TenantProviders.of(tenantId, applicationId, List.of(externalProvider));
+    final var providerConfig = tenantProviders.find(providerName).get();
 
     final var profileResponse = new GithubProfileResponse();
     final var externalId = "the external id";
@@ -137,10 +143,8 @@ class AuthorizationServiceTest {
     when(mockAttributeValidator.isNotBlankAndNoLongerThan(anyString(), anyInt()))
         .thenCallRealMethod();
     when(mockAttributeValidator.isNotBlank(anyString())).thenCallRealMethod();
-    when(mockApplicationRepository.findByClientId(same(clientId)))
-        .thenReturn(Optional.of(application));
-    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.of(tenant));
-    when(mockUrlGenerator.generate(same(externalProvider), same(code))).thenReturn(providerUrl);
+    when(mockProviderRegistry.resolve(same(clientId))).thenReturn(tenantProviders);
+    when(mockUrlGenerator.generate(same(providerConfig), same(code))).thenReturn(providerUrl);
     when(mockAccessTokenRequestor.requestAccessToken(same(providerUrl)))
         .thenReturn(authorizationResponse);
     when(mockProviderProfileRequestor.requestGithubProfile(
@@ -156,9 +160,8 @@ class AuthorizationServiceTest {
     verify(mockAttributeValidator).isNotBlank(same(code));
     verify(mockAttributeValidator).isNotBlank(same(providerName));
     verify(mockAttributeValidator).isNotBlank(same(state));
-    verify(mockApplicationRepository).findByClientId(same(clientId));
-    verify(mockTenantRepository).findById(same(tenantId));
-    verify(mockUrlGenerator).generate(same(externalProvider), same(code));
+    verify(mockProviderRegistry).resolve(same(clientId));
+    verify(mockUrlGenerator).generate(same(providerConfig), same(code));
     verify(mockAccessTokenRequestor).requestAccessToken(same(providerUrl));
     verify(mockProviderProfileRequestor)
         .requestGithubProfile(same(providerProfileUrl), same(providerAccessToken));
@@ -180,14 +183,14 @@ class AuthorizationServiceTest {
     final var authzResoonse = new AuthorizationResponse();
     authzResoonse.setAccessToken(accessToken);
     final var tenantId = "theTenantId";
-    final var application = new ApplicationEntity();
-    application.setTenantId(tenantId);
-    final var tenant = new TenantEntity();
-    tenant.setId(tenantId);
+    final var applicationId = "theApplicationId";
     final var externalProvider = new ExternalIdentityProviderEntity();
     externalProvider.setName(providerName);
     externalProvider.setProfileRequestBaseUrl(providerProfileUrl);
-    tenant.getExternalIdentityProviders().add(externalProvider);
+    externalProvider.setId("theProviderId");
+    final var tenantProviders =
+        TenantProviders.of(tenantId, applicationId, List.of(externalProvider));
+    final var providerConfig = tenantProviders.find(providerName).get();
 
     final var profileResponse = new GithubProfileResponse();
     final var externalId = "the external id";
@@ -197,15 +200,14 @@ class AuthorizationServiceTest {
     final var providerUrl = "http://the-url.com";
     final var authorizationResponse = new AuthorizationResponse();
     authorizationResponse.setAccessToken(providerAccessToken);
-    final var authorizedApplications = new ArrayList<ApplicationEntity>();
+    final var authorizedApplications = new HashSet<ApplicationEntity>();
+    final var application = new ApplicationEntity();
 
     when(mockAttributeValidator.isNotBlankAndNoLongerThan(anyString(), anyInt()))
         .thenCallRealMethod();
     when(mockAttributeValidator.isNotBlank(anyString())).thenCallRealMethod();
-    when(mockApplicationRepository.findByClientId(same(clientId)))
-        .thenReturn(Optional.of(application));
-    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.of(tenant));
-    when(mockUrlGenerator.generate(same(externalProvider), same(code))).thenReturn(providerUrl);
+    when(mockProviderRegistry.resolve(same(clientId))).thenReturn(tenantProviders);
+    when(mockUrlGenerator.generate(same(providerConfig), same(code))).thenReturn(providerUrl);
     when(mockAccessTokenRequestor.requestAccessToken(same(providerUrl)))
         .thenReturn(authorizationResponse);
     when(mockProviderProfileRequestor.requestGithubProfile(
@@ -214,9 +216,11 @@ class AuthorizationServiceTest {
     when(mockEmailRepository.findByEmailAddressAndIdentity_ParentTenantId(
             same(githubResponseEmail), same(tenantId)))
         .thenReturn(Optional.empty());
+    when(mockProviderRepository.getReferenceById("theProviderId")).thenReturn(externalProvider);
     when(mockIdentityInstantiator.instantiateFromGithub(
             same(profileResponse), same(externalProvider)))
         .thenReturn(mockIdentity);
+    when(mockApplicationRepository.getReferenceById(same(applicationId))).thenReturn(application);
     when(mockIdentity.getAuthorizedApplications()).thenReturn(authorizedApplications);
     when(mockIdentityRepository.save(same(mockIdentity))).thenReturn(mockIdentity);
 
@@ -226,85 +230,22 @@ class AuthorizationServiceTest {
     verify(mockAttributeValidator).isNotBlank(same(code));
     verify(mockAttributeValidator).isNotBlank(same(providerName));
     verify(mockAttributeValidator).isNotBlank(same(state));
-    verify(mockApplicationRepository).findByClientId(same(clientId));
-    verify(mockTenantRepository).findById(same(tenantId));
-    verify(mockUrlGenerator).generate(same(externalProvider), same(code));
+    verify(mockProviderRegistry).resolve(same(clientId));
+    verify(mockUrlGenerator).generate(same(providerConfig), same(code));
     verify(mockAccessTokenRequestor).requestAccessToken(same(providerUrl));
     verify(mockProviderProfileRequestor)
         .requestGithubProfile(same(providerProfileUrl), same(providerAccessToken));
     verify(mockEmailRepository)
         .findByEmailAddressAndIdentity_ParentTenantId(same(githubResponseEmail), same(tenantId));
     verify(mockIdentityResponseMapper).map(same(mockIdentity));
+    verify(mockApplicationRepository).getReferenceById(same(applicationId));
+    verify(mockProviderRepository).getReferenceById("theProviderId");
     verify(mockIdentity).getAuthorizedApplications();
     verify(mockIdentity).setParentTenantId(same(tenantId));
     verify(mockIdentityRepository).save(same(mockIdentity));
     verify(mockIdentityResponseMapper).map(same(mockIdentity));
   }
 
-  @Test
-  public void completeAuthorizationWithProvider_ApplicationNotFound_ExceptionThrown() {
-    final var code = "someCode";
-    final var providerName = "github";
-    final var clientId = "theClientId";
-    final var state = "theRandomState";
-    final var tenantId = "the tenant id";
-    final var application = new ApplicationEntity();
-    application.setTenantId(tenantId);
-
-    when(mockAttributeValidator.isNotBlankAndNoLongerThan(anyString(), anyInt()))
-        .thenCallRealMethod();
-    when(mockAttributeValidator.isNotBlank(anyString())).thenCallRealMethod();
-    when(mockApplicationRepository.findByClientId(same(clientId))).thenReturn(Optional.empty());
-
-    final var exception =
-        assertThrows(
-            ResourceNotFoundException.class,
-            () -> subject.completeAuthorizationWithProvider(code, providerName, clientId, state));
-
-    assertThat(
-        exception.getMessage(), is(equalTo("application not found for clientId: " + clientId)));
-
-    verify(mockAttributeValidator).isNotBlankAndNoLongerThan(same(clientId), eq(32));
-    verify(mockAttributeValidator).isNotBlank(same(code));
-    verify(mockAttributeValidator).isNotBlank(same(providerName));
-    verify(mockAttributeValidator).isNotBlank(same(state));
-    verify(mockApplicationRepository).findByClientId(same(clientId));
-  }
-
-  @Test
-  public void completeAuthorizationWithProvider_TenantNotFound_ExceptionThrown() {
-    final var code = "someCode";
-    final var providerName = "github";
-    final var clientId = "theClientId";
-    final var state = "theRandomState";
-    final var tenantId = "TheTenantId";
-    final var application = new ApplicationEntity();
-    application.setTenantId(tenantId);
-
-    when(mockAttributeValidator.isNotBlankAndNoLongerThan(anyString(), anyInt()))
-        .thenCallRealMethod();
-    when(mockAttributeValidator.isNotBlank(anyString())).thenCallRealMethod();
-    when(mockApplicationRepository.findByClientId(same(clientId)))
-        .thenReturn(Optional.of(application));
-    when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.empty());
-
-    final var exception =
-        assertThrows(
-            ResourceNotFoundException.class,
-            () -> subject.completeAuthorizationWithProvider(code, providerName, clientId, state));
-
-    assertThat(
-        exception.getMessage(),
-        is(equalTo(String.format("tenant %s not found with clientId: %s", tenantId, clientId))));
-
-    verify(mockAttributeValidator).isNotBlankAndNoLongerThan(same(clientId), eq(32));
-    verify(mockAttributeValidator).isNotBlank(same(code));
-    verify(mockAttributeValidator).isNotBlank(same(providerName));
-    verify(mockAttributeValidator).isNotBlank(same(state));
-    verify(mockApplicationRepository).findByClientId(same(clientId));
-    verify(mockTenantRepository).findById(same(tenantId));
-  }
-
   @Test
   public void completeAuthorizationWithProvider_CodeIsBlank_ExceptionThrown() {
     final var code = "";
@@ -406,14 +347,10 @@ class AuthorizationServiceTest {
     final var clientId = "the client id";
     final var userToken = "theUsertoken";
     final var redirectUri = "http://localhost:4200";
-    final var requestUrl = "https://somewhere.iridium.software";
-    StringBuffer requestUrlBuffer = new StringBuffer();
-    requestUrlBuffer.append(requestUrl);
     final var formRequest = new ApplicationAuthorizationFormRequest();
     formRequest.setUserToken(userToken);
     params.put(AuthorizationCodeFlowConstants.CLIENT_ID.getValue(), clientId);
     params.put(AuthorizationCodeFlowConstants.REDIRECT_URI.getValue(), redirectUri);
-    final var tenant = new TenantEntity();
     final var authentication = new AuthenticationEntity();
     authentication.setIdentity(mockIdentity);
     final var application = new ApplicationEntity();
@@ -423,24 +360,23 @@ class AuthorizationServiceTest {
     authorizationCodeEntity.setAuthorizationCode(authorizationCode);
     final var paramMap = new LinkedMultiValueMap<String, String>();
     final var generatedRedirectUri = "http://localhost:4200/redirect";
-    final var authorizedApplications = new ArrayList<ApplicationEntity>();
+    final var identityId = "the identity id";
+    final var applicationId = "the application id";
+    application.setId(applicationId);
 
-    when(mockSubdomainExtractor.extract(eq(requestUrl))).thenReturn("iridium");
-    when(mockServletRequest.getRequestURL()).thenReturn(requestUrlBuffer);
+    when(mockServletRequest.getAttribute(TenantContext.ATTRIBUTE))
+        .thenReturn(new TenantContext("iridium", "the tenant id"));
     when(mockApplicationRepository.findByClientId(same(clientId)))
         .thenReturn(Optional.of(application));
-    when(mockTenantRepository.findBySubdomain(eq("iridium"))).thenReturn(Optional.of(tenant));
     when(mockAuthenticationRepository.findByAuthTokenAndExpirationAfter(
             same(userToken), any(Date.class)))
         .thenReturn(Optional.of(authentication));
     when(mockRequestParameterValidator.validateAndOptionallyRedirect(
             same(redirectUri), same(params)))
         .thenReturn("");
-    when(mockIdentity.getAuthorizedApplications()).thenReturn(authorizedApplications);
+    when(mockIdentity.getId()).thenReturn(identityId);
     when(mockAuthCodeInstantiator.instantiate(same(mockIdentity), same(params)))
         .thenReturn(authorizationCodeEntity);
-    when(mockAuthCodeRepository.save(same(authorizationCodeEntity)))
-        .thenReturn(authorizationCodeEntity);
     when(mockSuccessParamGenerator.generate(same(params), same(authorizationCode)))
         .thenReturn(paramMap);
     when(mockRedirectUrlGenerator.generate(same(redirectUri), same(paramMap)))
@@ -452,20 +388,20 @@ class AuthorizationServiceTest {
 
     assertThat(response, is(equalTo(generatedRedirectUri)));
     verify(mockGrantTypeValidator).validate(same(params));
-    verify(mockSubdomainExtractor).extract(eq(requestUrl));
-    verify(mockTenantRepository).findBySubdomain(eq("iridium"));
+    verify(mockServletRequest).getAttribute(TenantContext.ATTRIBUTE);
     verify(mockAuthenticationRepository)
         .findByAuthTokenAndExpirationAfter(same(userToken), any(Date.class));
     verify(mockApplicationRepository).findByClientId(same(clientId));
     verify(mockRequestParameterValidator)
         .validateAndOptionallyRedirect(same(redirectUri), same(params));
     verify(mockAuthCodeInstantiator).instantiate(same(mockIdentity), same(params));
-    verify(mockAuthCodeRepository).save(same(authorizationCodeEntity));
+    verify(mockGrantStore).saveAuthorizationCode(same(authorizationCodeEntity));
     verify(mockSuccessParamGenerator).generate(same(params), same(authorizationCode));
     verify(mockRedirectUrlGenerator).generate(same(redirectUri), same(paramMap));
     verify(mockAttributeValidator).isNotBlank("");
     verify(mockAttributeValidator).equals(same(redirectUri), same(redirectUri));
-    verify(mockIdentity).getAuthorizedApplications();
+    verify(mockIdentity).getId();
+    verify(mockGrantService).grant(same(identityId), same(applicationId));
     assertThat(response, is(equalTo(generatedRedirectUri)));
   }
 
@@ -474,7 +410,6 @@ class AuthorizationServiceTest {
     final var params = new HashMap<String, String>();
     final var clientId = "the client id";
     final var redirectUri = "http://localhost:4200";
-    final var requestUrl = "http://iridium.iridium.com";
     final var subdomain = "iridium";
     final var errorRedirectUri = "http://localhost:8009/error";
 
@@ -483,15 +418,12 @@ class AuthorizationServiceTest {
     final var application = new ApplicationEntity();
     application.setRedirectUri(redirectUri);
     final var userToken = "shortlived";
-    final var urlStrBuffer = new StringBuffer(requestUrl);
-    final var tenant = new TenantEntity();
     final var formRequest = new ApplicationAuthorizationFormRequest();
     formRequest.setUserToken(userToken);
     final var authentication = new AuthenticationEntity();
 
-    when(mockServletRequest.getRequestURL()).thenReturn(urlStrBuffer);
-    when(mockSubdomainExtractor.extract(eq(requestUrl))).thenReturn(subdomain);
-    when(mockTenantRepository.findBySubdomain(same(subdomain))).thenReturn(Optional.of(tenant));
+    when(mockServletRequest.getAttribute(TenantContext.ATTRIBUTE))
+        .thenReturn(new TenantContext(subdomain, "the tenant id"));
     when(mockAuthenticationRepository.findByAuthTokenAndExpirationAfter(
             same(userToken), any(Date.class)))
         .thenReturn(Optional.of(authentication));
@@ -506,9 +438,7 @@ class AuthorizationServiceTest {
     final var response = subject.authorize(formRequest, params, mockServletRequest);
 
     verify(mockGrantTypeValidator).validate(same(params));
-    verify(mockServletRequest).getRequestURL();
-    verify(mockSubdomainExtractor).extract(eq(requestUrl));
-    verify(mockTenantRepository).findBySubdomain(same(subdomain));
+    verify(mockServletRequest).getAttribute(TenantContext.ATTRIBUTE);
     verify(mockAuthenticationRepository)
         .findByAuthTokenAndExpirationAfter(same(userToken), any(Date.class));
     verify(mockApplicationRepository).findByClientId(same(clientId));
@@ -525,7 +455,6 @@ class AuthorizationServiceTest {
     final var params = new HashMap<String, String>();
     final var clientId = "the client id";
     final var redirectUri = "http://localhost:4200";
-    final var requestUrl = "http://iridium.iridium.com";
     final var subdomain = "iridium";
 
     params.put(AuthorizationCodeFlowConstants.CLIENT_ID.getValue(), clientId);
@@ -533,15 +462,12 @@ class AuthorizationServiceTest {
     final var application = new ApplicationEntity();
     application.setRedirectUri(redirectUri);
     final var userToken = "shortlived";
-    final var urlStrBuffer = new StringBuffer(requestUrl);
-    final var tenant = new TenantEntity();
     final var formRequest = new ApplicationAuthorizationFormRequest();
     formRequest.setUserToken(userToken);
     final var authentication = new AuthenticationEntity();
 
-    when(mockServletRequest.getRequestURL()).thenReturn(urlStrBuffer);
-    when(mockSubdomainExtractor.extract(eq(requestUrl))).thenReturn(subdomain);
-    when(mockTenantRepository.findBySubdomain(same(subdomain))).thenReturn(Optional.of(tenant));
+    when(mockServletRequest.getAttribute(TenantContext.ATTRIBUTE))
+        .thenReturn(new TenantContext(subdomain, "the tenant id"));
     when(mockAuthenticationRepository.findByAuthTokenAndExpirationAfter(
             same(userToken), any(Date.class)))
         .thenReturn(Optional.of(authentication));
@@ -553,13 +479,29 @@ class AuthorizationServiceTest {
             () -> subject.authorize(formRequest, params, mockServletRequest));
 
     verify(mockGrantTypeValidator).validate(same(params));
-    verify(mockServletRequest).getRequestURL();
-    verify(mockSubdomainExtractor).extract(eq(requestUrl));
-    verify(mockTenantRepository).findBySubdomain(same(subdomain));
+    verify(mockServletRequest).getAttribute(TenantContext.ATTRIBUTE);
     verify(mockAuthenticationRepository)
         .findByAuthTokenAndExpirationAfter(same(userToken), any(Date.class));
     verify(mockApplicationRepository).findByClientId(same(clientId));
     assertThat(
         exception.getMessage(), is(equalTo("application not found for client_id: " + clientId)));
   }
+
+  @Test
+  public void authorize_TenantNotResolved_ExceptionThrown() {
+    final var params = new HashMap<String, String>();
+    final var formRequest = new ApplicationAuthorizationFormRequest();
+
+    when(mockServletRequest.getAttribute(TenantContext.ATTRIBUTE))
+        .thenReturn(new TenantContext("nobody", null));
+
+    final var exception =
+        assertThrows(
+            ResourceNotFoundException.class,
+            () -> subject.authorize(formRequest, params, mockServletRequest));
+
+    verify(mockGrantTypeValidator).validate(same(params));
+    verify(mockServletRequest).getAttribute(TenantContext.ATTRIBUTE);
+    assertThat(exception.getMessage(), is(equalTo("tenant not found for subdomain nobody")));
+  }
 }
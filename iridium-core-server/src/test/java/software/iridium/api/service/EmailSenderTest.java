@@ -32,6 +32,7 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer;
 import software.iridium.api.email.domain.EmailSendRequest;
+import software.iridium.api.notification.MailTransportPool;
 import software.iridium.api.util.EmailTemplateProcessor;
 import software.iridium.api.util.MimeMessageHelperInstantiator;
 
@@ -46,6 +47,7 @@ class EmailSenderTest {
 
   @Mock private MimeMessageHelper mockMimeMessageHelper;
   @Mock private MimeMessage mockMimeMessage;
+  @Mock private MailTransportPool mockTransportPool;
   @InjectMocks private EmailSender subject;
 
   @AfterEach
@@ -56,7 +58,8 @@ class EmailSenderTest {
         mockTemplateProcessor,
         mockHelperInstantiator,
         mockMimeMessageHelper,
-        mockMimeMessage);
+        mockMimeMessage,
+        mockTransportPool);
   }
 
   @Test
@@ -88,6 +91,6 @@ class EmailSenderTest {
     verify(mockMimeMessageHelper).setText(same(text), eq(true));
     verify(mockMimeMessageHelper).setSubject(same(emailSubject));
     verify(mockMimeMessageHelper).setFrom(same(from));
-    verify(mockMailSender).send(same(mockMimeMessage));
+    verify(mockTransportPool).send(same(mockMimeMessage));
   }
 }
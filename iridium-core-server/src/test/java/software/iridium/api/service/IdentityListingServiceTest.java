@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import software.iridium.api.authentication.domain.IdentityResponse;
+import software.iridium.api.authentication.domain.IdentitySummary;
+import software.iridium.api.base.error.NotAuthorizedException;
+import software.iridium.api.repository.IdentityEntityRepository;
+import software.iridium.api.user.AuthenticatedRequestContext;
+import software.iridium.api.util.AttributeValidator;
+
+@ExtendWith(MockitoExtension.class)
+class IdentityListingServiceTest {
+
+  @Mock private AuthenticatedRequestContext mockRequestContext;
+  @Mock private IdentityEntityRepository mockIdentityRepository;
+  @Mock private AttributeValidator mockAttributeValidator;
+  @Mock private ObjectMapper mockObjectMapper;
+  @InjectMocks private IdentityListingService subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(
+        mockRequestContext, mockIdentityRepository, mockAttributeValidator, mockObjectMapper);
+  }
+
+  @Test
+  public void getPageByTenantId_MoreRowsThanSize_ReturnsNextCursor() {
+    final var tenantId = UUID.randomUUID().toString();
+    final var size = 2;
+    final var identity = new IdentityResponse();
+    identity.getTenantIds().add(tenantId);
+    final var summaries = new ArrayList<IdentitySummary>();
+    for (int i = 0; i < 3; i++) {
+      final var summary = new IdentitySummary();
+      summary.setId(UUID.randomUUID().toString());
+      summaries.add(summary);
+    }
+
+    when(mockAttributeValidator.isUuid(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isPositive(anyInt())).thenCallRealMethod();
+    when(mockRequestContext.getIdentity()).thenReturn(identity);
+    when(mockIdentityRepository.findSummariesByParentTenantIdAfter(
+            same(tenantId), eq(""), eq(PageRequest.ofSize(size + 1))))
+        .thenReturn(summaries);
+
+    final var response = subject.getPageByTenantId(tenantId, null, size);
+
+    verify(mockAttributeValidator, Mockito.times(2)).isUuid(same(tenantId));
+    verify(mockAttributeValidator).isPositive(same(size));
+    verify(mockRequestContext).getIdentity();
+    verify(mockIdentityRepository)
+        .findSummariesByParentTenantIdAfter(
+            same(tenantId), eq(""), eq(PageRequest.ofSize(size + 1)));
+    assertThat(response.getData(), is(equalTo(summaries.subList(0, size))));
+    assertThat(response.getCursorInfo().getNextCursor(), is(equalTo(summaries.get(1).getId())));
+  }
+
+  @Test
+  public void getPageByTenantId_LastPage_NoNextCursor() {
+    final var tenantId = UUID.randomUUID().toString();
+    final var cursor = UUID.randomUUID().toString();
+    final var size = 2;
+    final var identity = new IdentityResponse();
+    identity.getTenantIds().add(tenantId);
+    final var summaries = List.of(new IdentitySummary());
+
+    when(mockAttributeValidator.isUuid(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isPositive(anyInt())).thenCallRealMethod();
+    when(mockRequestContext.getIdentity()).thenReturn(identity);
+    when(mockIdentityRepository.findSummariesByParentTenantIdAfter(
+            same(tenantId), same(cursor), eq(PageRequest.ofSize(size + 1))))
+        .thenReturn(summaries);
+
+    final var response = subject.getPageByTenantId(tenantId, cursor, size);
+
+    verify(mockAttributeValidator, Mockito.times(2)).isUuid(same(tenantId));
+    verify(mockAttributeValidator).isUuid(same(cursor));
+    verify(mockAttributeValidator).isPositive(same(size));
+    verify(mockRequestContext).getIdentity();
+    verify(mockIdentityRepository)
+        .findSummariesByParentTenantIdAfter(
+            same(tenantId), same(cursor), eq(PageRequest.ofSize(size + 1)));
+    assertThat(response.getData().size(), is(equalTo(1)));
+    assertThat(response.getCursorInfo().getNextCursor(), is(nullValue()));
+  }
+
+  @Test
+  public void verifyManagesTenant_TenantNotManaged_ExceptionThrown() {
+    final var tenantId = UUID.randomUUID().toString();
+
+    when(mockAttributeValidator.isUuid(anyString())).thenCallRealMethod();
+    when(mockRequestContext.getIdentity()).thenReturn(new IdentityResponse());
+
+    final var exception =
+        assertThrows(NotAuthorizedException.class, () -> subject.verifyManagesTenant(tenantId));
+
+    verify(mockAttributeValidator).isUuid(same(tenantId));
+    verify(mockRequestContext).getIdentity();
+    assertThat(exception.getMessage(), is(equalTo("identity does not manage tenant: " + tenantId)));
+  }
+
+  @Test
+  public void export_AllGood_WritesOneLinePerIdentity() throws Exception {
+    final var tenantId = UUID.randomUUID().toString();
+    final var first = new IdentitySummary();
+    final var second = new IdentitySummary();
+    final var outputStream = new ByteArrayOutputStream();
+
+    when(mockIdentityRepository.streamSummariesByParentTenantId(same(tenantId)))
+        .thenReturn(Stream.of(first, second));
+    when(mockObjectMapper.writeValueAsBytes(same(first)))
+        .thenReturn("{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+    when(mockObjectMapper.writeValueAsBytes(same(second)))
+        .thenReturn("{\"id\":\"2\"}".getBytes(StandardCharsets.UTF_8));
+
+    final var count = subject.export(tenantId, outputStream);
+
+    verify(mockIdentityRepository).streamSummariesByParentTenantId(same(tenantId));
+    verify(mockObjectMapper).writeValueAsBytes(same(first));
+    verify(mockObjectMapper).writeValueAsBytes(same(second));
+    assertThat(count, is(equalTo(2L)));
+    assertThat(
+        outputStream.toString(StandardCharsets.UTF_8),
+        is(equalTo("{\"id\":\"1\"}\n{\"id\":\"2\"}\n")));
+  }
+}
@@ -21,11 +21,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import jakarta.servlet.http.HttpServletRequest;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -33,7 +32,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import software.iridium.api.authentication.domain.AuthenticationRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 import software.iridium.api.authentication.domain.AuthenticationResponse;
 import software.iridium.api.authentication.domain.CreateIdentityRequest;
 import software.iridium.api.authentication.domain.IdentityResponse;
@@ -41,14 +41,13 @@ import software.iridium.api.base.error.DuplicateResourceException;
 import software.iridium.api.base.error.NotAuthorizedException;
 import software.iridium.api.base.error.ResourceNotFoundException;
 import software.iridium.api.handler.NewIdentityEventHandler;
-import software.iridium.api.instantiator.AuthenticationRequestInstantiator;
 import software.iridium.api.instantiator.IdentityCreateRequestDetailsInstantiator;
 import software.iridium.api.instantiator.IdentityEntityInstantiator;
 import software.iridium.api.mapper.IdentityEntityMapper;
 import software.iridium.api.mapper.IdentityResponseMapper;
 import software.iridium.api.repository.*;
+import software.iridium.api.user.AuthenticatedRequestContext;
 import software.iridium.api.util.AttributeValidator;
-import software.iridium.api.util.ServletTokenExtractor;
 import software.iridium.entity.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,17 +61,20 @@ class IdentityServiceTest {
   @Mock private BCryptPasswordEncoder mockEncoder;
   @Mock private NewIdentityEventHandler mockEventHandler;
   @Mock private IdentityEmailEntityRepository mockEmailRepository;
-  @Mock private HttpServletRequest mockServletRequest;
-  @Mock private ServletTokenExtractor mockTokenExtractor;
   @Mock private AttributeValidator mockAttributeValidator;
   @Mock private TenantEntityRepository mockTenantRepository;
   @Mock private ApplicationEntityRepository mockApplicationRepository;
-  @Mock private AuthenticationRequestInstantiator mockRequestInstantiator;
   @Mock private AuthenticationService mockAuthenticationService;
   @Mock private IdentityCreateRequestDetailsInstantiator mockRequestDetailsInstantiator;
-  @Mock private AccessTokenEntityRepository accessTokenRepository;
+  @Mock private AuthenticatedRequestContext mockRequestContext;
   @InjectMocks private IdentityService subject;
 
+  @BeforeEach
+  public void setUp() {
+    ReflectionTestUtils.setField(subject, "readPhase", TransactionOperations.withoutTransaction());
+    ReflectionTestUtils.setField(subject, "writePhase", TransactionOperations.withoutTransaction());
+  }
+
   @AfterEach
   public void ensureNoUnexpectedMockInteractions() {
     Mockito.verifyNoMoreInteractions(
@@ -83,63 +85,58 @@ class IdentityServiceTest {
         mockResponseMapper,
         mockEncoder,
         mockEventHandler,
-        mockServletRequest,
-        mockTokenExtractor,
         mockAttributeValidator,
         mockTenantRepository,
         mockApplicationRepository,
-        mockRequestInstantiator,
         mockAuthenticationService,
-        accessTokenRepository,
+        mockRequestContext,
         mockRequestDetailsInstantiator);
   }
 
   @Test
-  public void getIdentity_AllGood_BehavesAsExpected() {
-    final var userAuthToken = "userAuthToken";
+  public void getIdentity_AllGood_ReturnsRequestIdentity() {
     final var identityId = "the identity id";
-    final var serverName = "localhost";
-    final var accessToken = new AccessTokenEntity();
-    final var identity = new IdentityEntity();
-    accessToken.setIdentityId(identityId);
     final var identityResponse = new IdentityResponse();
 
-    when(accessTokenRepository.findFirstByAccessTokenAndExpirationAfter(
-            same(userAuthToken), any(Date.class)))
-        .thenReturn(Optional.of(accessToken));
-    when(mockIdentityEntityMapper.map(same(identity))).thenReturn(identityResponse);
-    when(mockTokenExtractor.extractBearerToken(same(mockServletRequest))).thenReturn(userAuthToken);
-    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identity));
-    when(mockServletRequest.getServerName()).thenReturn(serverName);
-
-    assertThat(subject.getIdentity(mockServletRequest), sameInstance(identityResponse));
-
-    verify(accessTokenRepository)
-        .findFirstByAccessTokenAndExpirationAfter(same(userAuthToken), any(Date.class));
-    verify(mockIdentityEntityMapper).map(same(identity));
-    verify(mockTokenExtractor).extractBearerToken(same(mockServletRequest));
-    verify(mockIdentityRepository).findById(same(identityId));
-    verify(mockServletRequest).getServerName();
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
+    when(mockRequestContext.getIdentity()).thenReturn(identityResponse);
+
+    assertThat(subject.getIdentity(), sameInstance(identityResponse));
+
+    verify(mockRequestContext).getIdentityId();
+    verify(mockRequestContext).getIdentity();
   }
 
   @Test
-  public void getIdentity_EntityNotFound_ExceptionThrown() {
-    final var userAuthToken = "userAuthToken";
-    final var serverName = "localhost";
+  public void getIdentityETag_AllGood_HashesVersionTag() {
+    final var identityId = "the identity id";
 
-    when(accessTokenRepository.findFirstByAccessTokenAndExpirationAfter(
-            same(userAuthToken), any(Date.class)))
-        .thenReturn(Optional.empty());
-    when(mockTokenExtractor.extractBearerToken(same(mockServletRequest))).thenReturn(userAuthToken);
-    when(mockServletRequest.getServerName()).thenReturn(serverName);
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
+    when(mockIdentityRepository.findVersionTagById(same(identityId)))
+        .thenReturn(
+            Optional.of("the identity id:3:the email id:1"),
+            Optional.of("the identity id:4:the email id:1"));
+
+    final var first = subject.getIdentityETag();
+    final var second = subject.getIdentityETag();
+
+    verify(mockRequestContext, Mockito.times(2)).getIdentityId();
+    verify(mockIdentityRepository, Mockito.times(2)).findVersionTagById(same(identityId));
+    assertThat(first.length(), is(equalTo(32)));
+    assertThat(first.equals(second), is(false));
+  }
+
+  @Test
+  public void getIdentityETag_IdentityNotFound_ExceptionThrown() {
+    final var identityId = "the identity id";
+
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
+    when(mockIdentityRepository.findVersionTagById(same(identityId))).thenReturn(Optional.empty());
 
-    assertThrows(NotAuthorizedException.class, () -> subject.getIdentity(mockServletRequest));
+    assertThrows(NotAuthorizedException.class, () -> subject.getIdentityETag());
 
-    verify(accessTokenRepository)
-        .findFirstByAccessTokenAndExpirationAfter(same(userAuthToken), any(Date.class));
-    verify(mockIdentityEntityMapper, never()).map(any());
-    verify(mockTokenExtractor).extractBearerToken(same(mockServletRequest));
-    verify(mockServletRequest).getServerName();
+    verify(mockRequestContext).getIdentityId();
+    verify(mockIdentityRepository).findVersionTagById(same(identityId));
   }
 
   @Test
@@ -157,7 +154,6 @@ class IdentityServiceTest {
     final var tenantId = "the tenantId";
     final var tenant = new TenantEntity();
 
-    final var authenticationRequest = new AuthenticationRequest();
     final var requestParams = new HashMap<String, String>();
     final var authenticationResponse = new AuthenticationResponse();
     final var application = new ApplicationEntity();
@@ -169,12 +165,11 @@ class IdentityServiceTest {
     when(mockIdentityInstantiator.instantiate(
             same(request), same(encodedTempPassword), same(tenantId)))
         .thenReturn(entity);
-    when(mockIdentityRepository.save(entity)).thenReturn(entity);
     when(mockResponseMapper.map(same(entity), same(authenticationResponse))).thenReturn(response);
     when(mockAttributeValidator.isNotBlank(same(clientId))).thenReturn(true);
     when(mockTenantRepository.findById(same(tenantId))).thenReturn(Optional.of(tenant));
-    when(mockRequestInstantiator.instantiate(same(request))).thenReturn(authenticationRequest);
-    when(mockAuthenticationService.authenticate(same(authenticationRequest), same(requestParams)))
+    when(mockAuthenticationService.authenticateNewIdentity(
+            same(entity), same(application), same(tenant), same(requestParams)))
         .thenReturn(authenticationResponse);
     when(mockApplicationRepository.findByClientId(same(clientId)))
         .thenReturn(Optional.of(application));
@@ -191,14 +186,14 @@ class IdentityServiceTest {
     verify(mockEncoder).encode(same(password));
     verify(mockIdentityInstantiator)
         .instantiate(same(request), same(encodedTempPassword), same(tenantId));
-    verify(mockIdentityRepository).save(same(entity));
     verify(mockResponseMapper).map(same(entity), same(authenticationResponse));
-    verify(mockEventHandler).handleEvent(same(entity), same(clientId));
+    verify(mockEventHandler).handleEvent(same(entity), same(application), same(tenant));
     verify(mockAttributeValidator).isNotBlank(same(clientId));
     verify(mockTenantRepository).findById(same(tenantId));
-    verify(mockRequestInstantiator).instantiate(same(request));
     verify(mockAuthenticationService)
-        .authenticate(same(authenticationRequest), same(requestParams));
+        .authenticateNewIdentity(
+            same(entity), same(application), same(tenant), same(requestParams));
+    verify(mockEncoder, never()).matches(any(), any());
     verify(mockEmailRepository)
         .findByEmailAddressAndIdentity_ParentTenantId(same(emailAddress), same(tenantId));
     verify(mockRequestDetailsInstantiator).instantiate(same(requestParams), same(entity));
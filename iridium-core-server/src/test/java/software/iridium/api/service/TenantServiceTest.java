@@ -19,8 +19,8 @@ import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +29,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import software.iridium.api.authentication.domain.*;
 import software.iridium.api.base.error.DuplicateResourceException;
 import software.iridium.api.base.error.ResourceNotFoundException;
@@ -38,6 +40,8 @@ import software.iridium.api.mapper.CreateTenantResponseMapper;
 import software.iridium.api.mapper.TenantSummaryMapper;
 import software.iridium.api.repository.IdentityEntityRepository;
 import software.iridium.api.repository.TenantEntityRepository;
+import software.iridium.api.tenant.TenantDirectory;
+import software.iridium.api.user.AuthenticatedRequestContext;
 import software.iridium.api.util.AttributeValidator;
 import software.iridium.entity.IdentityEntity;
 import software.iridium.entity.TenantEntity;
@@ -45,10 +49,10 @@ import software.iridium.entity.TenantEntity;
 @ExtendWith(MockitoExtension.class)
 class TenantServiceTest {
 
-  @Mock private IdentityService mockIdentityService;
+  @Mock private AuthenticatedRequestContext mockRequestContext;
+  @Mock private TenantDirectory mockTenantDirectory;
   @Mock private TenantEntityRepository mockTenantRepository;
   @Mock private TenantSummaryMapper mockSummaryMapper;
-  @Mock private HttpServletRequest mockServletRequest;
   @Mock private AttributeValidator mockAttributeValidator;
   @Mock private IdentityEntityRepository mockIdentityRepository;
   @Mock private TenantInstantiator mockTenantInstantiator;
@@ -59,10 +63,10 @@ class TenantServiceTest {
   @AfterEach
   public void ensureNoUnexpectedMockInteractions() {
     Mockito.verifyNoMoreInteractions(
-        mockIdentityService,
+        mockRequestContext,
+        mockTenantDirectory,
         mockTenantRepository,
         mockSummaryMapper,
-        mockServletRequest,
         mockAttributeValidator,
         mockIdentityRepository,
         mockTenantInstantiator,
@@ -72,29 +76,46 @@ class TenantServiceTest {
 
   @Test
   public void getTenantSummaries_AllGood_BehavesAsExpected() {
-    final var identityResponse = new IdentityResponse();
+    final var identityId = "the id";
     final var tenants = new ArrayList<TenantEntity>();
     final var tenantIds = new ArrayList<String>();
-    identityResponse.setTenantIds(tenantIds);
     final var summaries = new ArrayList<TenantSummary>();
 
-    when(mockIdentityService.getIdentity(same(mockServletRequest))).thenReturn(identityResponse);
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
+    when(mockIdentityRepository.findManagedTenantIds(same(identityId))).thenReturn(tenantIds);
     when(mockTenantRepository.findByIdIn(same(tenantIds))).thenReturn(Optional.of(tenants));
     when(mockSummaryMapper.mapToList(same(tenants))).thenReturn(summaries);
 
-    assertThat(subject.getTenantSummaries(mockServletRequest), sameInstance(summaries));
+    assertThat(subject.getTenantSummaries(), sameInstance(summaries));
 
-    verify(mockIdentityService).getIdentity(same(mockServletRequest));
+    verify(mockRequestContext).getIdentityId();
+    verify(mockIdentityRepository).findManagedTenantIds(same(identityId));
     verify(mockTenantRepository).findByIdIn(same(tenantIds));
     verify(mockSummaryMapper).mapToList(same(tenants));
   }
 
+  @Test
+  public void getTenantSummariesETag_AllGood_DependsOnTenantVersions() {
+    final var identityId = "the id";
+
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
+    when(mockIdentityRepository.findManagedTenantVersionTags(same(identityId)))
+        .thenReturn(List.of("a:1", "b:1"), List.of("a:1", "b:2"), List.of("a:1", "b:1"));
+
+    final var first = subject.getTenantSummariesETag();
+    final var changed = subject.getTenantSummariesETag();
+    final var unchanged = subject.getTenantSummariesETag();
+
+    verify(mockRequestContext, Mockito.times(3)).getIdentityId();
+    verify(mockIdentityRepository, Mockito.times(3)).findManagedTenantVersionTags(same(identityId));
+    assertThat(changed, is(not(equalTo(first))));
+    assertThat(unchanged, is(equalTo(first)));
+  }
+
   @Test
   public void create_AllGood_BehavesAsExpected() {
 
-    final var identityResponse = new IdentityResponse();
     final var identityId = "the id";
-    identityResponse.setId(identityId);
     final var subdomain = "the-s9ubdomain";
     final var env = Environment.DEVELOPMENT;
     final var request = new CreateTenantRequest();
@@ -102,6 +123,46 @@ class TenantServiceTest {
     request.setEnvironment(env);
     final var identityEntity = new IdentityEntity();
     final var entity = new TenantEntity();
+    entity.setSubdomain(subdomain);
+    final var response = new CreateTenantResponse();
+
+    when(mockAttributeValidator.isValidSubdomain(same(subdomain))).thenCallRealMethod();
+    when(mockAttributeValidator.isNotBlankAndNoLongerThan(same(subdomain), eq(100)))
+        .thenCallRealMethod();
+    when(mockAttributeValidator.isNotNull(same(env))).thenCallRealMethod();
+    when(mockTenantRepository.findBySubdomain(same(subdomain))).thenReturn(Optional.empty());
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
+    when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identityEntity));
+    when(mockTenantInstantiator.instantiate(same(request))).thenReturn(entity);
+    when(mockTenantRepository.save(same(entity))).thenReturn(entity);
+    when(mockResponseMapper.map(same(entity))).thenReturn(response);
+
+    subject.create(request);
+
+    verify(mockAttributeValidator).isValidSubdomain(same(subdomain));
+    verify(mockAttributeValidator).isNotBlankAndNoLongerThan(same(subdomain), eq(100));
+    verify(mockAttributeValidator).isNotNull(same(env));
+    verify(mockTenantRepository).findBySubdomain(same(subdomain));
+    verify(mockRequestContext).getIdentityId();
+    verify(mockIdentityRepository).findById(same(identityId));
+    verify(mockTenantInstantiator).instantiate(same(request));
+    verify(mockTenantRepository).save(same(entity));
+    verify(mockResponseMapper).map(same(entity));
+    verify(mockLoginDescriptorInstantiator).instantiate(same(entity));
+    verify(mockTenantDirectory).evict(same(subdomain));
+  }
+
+  @Test
+  public void create_InTransaction_SubdomainEvictedAfterCommit() {
+    final var identityId = "the id";
+    final var subdomain = "the-subdomain";
+    final var env = Environment.DEVELOPMENT;
+    final var request = new CreateTenantRequest();
+    request.setSubdomain(subdomain);
+    request.setEnvironment(env);
+    final var identityEntity = new IdentityEntity();
+    final var entity = new TenantEntity();
+    entity.setSubdomain(subdomain);
     final var response = new CreateTenantResponse();
 
     when(mockAttributeValidator.isValidSubdomain(same(subdomain))).thenCallRealMethod();
@@ -109,31 +170,40 @@ class TenantServiceTest {
         .thenCallRealMethod();
     when(mockAttributeValidator.isNotNull(same(env))).thenCallRealMethod();
     when(mockTenantRepository.findBySubdomain(same(subdomain))).thenReturn(Optional.empty());
-    when(mockIdentityService.getIdentity(same(mockServletRequest))).thenReturn(identityResponse);
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
     when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.of(identityEntity));
     when(mockTenantInstantiator.instantiate(same(request))).thenReturn(entity);
     when(mockTenantRepository.save(same(entity))).thenReturn(entity);
     when(mockResponseMapper.map(same(entity))).thenReturn(response);
 
-    subject.create(mockServletRequest, request);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      subject.create(request);
+
+      Mockito.verifyNoInteractions(mockTenantDirectory);
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
 
     verify(mockAttributeValidator).isValidSubdomain(same(subdomain));
     verify(mockAttributeValidator).isNotBlankAndNoLongerThan(same(subdomain), eq(100));
     verify(mockAttributeValidator).isNotNull(same(env));
     verify(mockTenantRepository).findBySubdomain(same(subdomain));
-    verify(mockIdentityService).getIdentity(same(mockServletRequest));
+    verify(mockRequestContext).getIdentityId();
     verify(mockIdentityRepository).findById(same(identityId));
     verify(mockTenantInstantiator).instantiate(same(request));
     verify(mockTenantRepository).save(same(entity));
     verify(mockResponseMapper).map(same(entity));
     verify(mockLoginDescriptorInstantiator).instantiate(same(entity));
+    verify(mockTenantDirectory).evict(same(subdomain));
   }
 
   @Test
   public void test_duplicateSubdomain_ExceptionThrown() {
-    final var identityResponse = new IdentityResponse();
     final var identityId = "the id";
-    identityResponse.setId(identityId);
     final var subdomain = "the-s9ubdomain";
     final var env = Environment.DEVELOPMENT;
     final var request = new CreateTenantRequest();
@@ -148,8 +218,7 @@ class TenantServiceTest {
     when(mockTenantRepository.findBySubdomain(same(subdomain))).thenReturn(Optional.of(entity));
 
     final var exception =
-        assertThrows(
-            DuplicateResourceException.class, () -> subject.create(mockServletRequest, request));
+        assertThrows(DuplicateResourceException.class, () -> subject.create(request));
 
     verify(mockAttributeValidator).isValidSubdomain(same(subdomain));
     verify(mockAttributeValidator).isNotBlankAndNoLongerThan(same(subdomain), eq(100));
@@ -160,9 +229,7 @@ class TenantServiceTest {
 
   @Test
   public void test_IdentityNotFound_ExceptionThrown() {
-    final var identityResponse = new IdentityResponse();
     final var identityId = "the id";
-    identityResponse.setId(identityId);
     final var subdomain = "the-s9ubdomain";
     final var env = Environment.DEVELOPMENT;
     final var request = new CreateTenantRequest();
@@ -174,18 +241,17 @@ class TenantServiceTest {
         .thenCallRealMethod();
     when(mockAttributeValidator.isNotNull(same(env))).thenCallRealMethod();
     when(mockTenantRepository.findBySubdomain(same(subdomain))).thenReturn(Optional.empty());
-    when(mockIdentityService.getIdentity(same(mockServletRequest))).thenReturn(identityResponse);
+    when(mockRequestContext.getIdentityId()).thenReturn(identityId);
     when(mockIdentityRepository.findById(same(identityId))).thenReturn(Optional.empty());
 
     final var exception =
-        assertThrows(
-            ResourceNotFoundException.class, () -> subject.create(mockServletRequest, request));
+        assertThrows(ResourceNotFoundException.class, () -> subject.create(request));
 
     verify(mockAttributeValidator).isValidSubdomain(same(subdomain));
     verify(mockAttributeValidator).isNotBlankAndNoLongerThan(same(subdomain), eq(100));
     verify(mockAttributeValidator).isNotNull(same(env));
     verify(mockTenantRepository).findBySubdomain(same(subdomain));
-    verify(mockIdentityService).getIdentity(same(mockServletRequest));
+    verify(mockRequestContext).getIdentityId();
     verify(mockIdentityRepository).findById(same(identityId));
     assertThat(exception.getMessage(), is(equalTo("identity not found for id: " + identityId)));
   }
@@ -134,4 +134,27 @@ class TokenManagerTest {
     assertThat(pair.getLeft(), is(equalTo(authToken)));
     assertThat(pair.getRight(), is(equalTo(refreshToken)));
   }
+
+  @Test
+  public void generateToken_AllGood_SkipsLookup() {
+    final var identity = new IdentityEntity();
+    final var generatedAuth = new AuthenticationEntity();
+    final var authToken = "auth token";
+    final var refreshToken = "the refresh token";
+    generatedAuth.setAuthToken(authToken);
+    generatedAuth.setRefreshToken(refreshToken);
+
+    when(mockAuthenticationGenerator.generateAuthentication(same(identity)))
+        .thenReturn(generatedAuth);
+
+    final var pair = subject.generateToken(identity);
+
+    verify(mockAuthenticationGenerator).generateAuthentication(same(identity));
+    verify(mockAuthenticationEntityRepository).save(same(generatedAuth));
+    verify(mockAuthenticationEntityRepository, never())
+        .findFirstByIdentityIdOrderByCreatedDesc(any());
+
+    assertThat(pair.getLeft(), is(equalTo(authToken)));
+    assertThat(pair.getRight(), is(equalTo(refreshToken)));
+  }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.tenant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.iridium.api.repository.TenantEntityRepository;
+import software.iridium.api.util.AttributeValidator;
+
+@ExtendWith(MockitoExtension.class)
+class TenantDirectoryTest {
+
+  @Mock private TenantEntityRepository mockTenantRepository;
+  @Mock private AttributeValidator mockAttributeValidator;
+  @InjectMocks private TenantDirectory subject;
+
+  @BeforeEach
+  public void setUp() {
+    ReflectionTestUtils.setField(subject, "maxUnknown", 2);
+  }
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockTenantRepository, mockAttributeValidator);
+  }
+
+  @Test
+  public void findTenantId_CalledTwice_LoadsOnce() {
+    final var subdomain = "iridium";
+    final var tenantId = "the tenant id";
+
+    when(mockAttributeValidator.isValidSubdomain(anyString())).thenCallRealMethod();
+    when(mockTenantRepository.findIdBySubdomain(same(subdomain))).thenReturn(Optional.of(tenantId));
+
+    assertThat(subject.findTenantId(subdomain), is(equalTo(tenantId)));
+    assertThat(subject.findTenantId(subdomain), is(equalTo(tenantId)));
+
+    verify(mockAttributeValidator).isValidSubdomain(same(subdomain));
+    verify(mockTenantRepository).findIdBySubdomain(same(subdomain));
+    assertThat(subject.size(), is(equalTo(1)));
+  }
+
+  @Test
+  public void findTenantId_UnknownSubdomain_RememberedUntilRefresh() {
+    final var subdomain = "nobody";
+
+    when(mockAttributeValidator.isValidSubdomain(anyString())).thenCallRealMethod();
+    when(mockTenantRepository.findIdBySubdomain(same(subdomain))).thenReturn(Optional.empty());
+
+    assertThat(subject.findTenantId(subdomain), is(nullValue()));
+    assertThat(subject.findTenantId(subdomain), is(nullValue()));
+    subject.refresh();
+    assertThat(subject.findTenantId(subdomain), is(nullValue()));
+
+    verify(mockAttributeValidator, times(2)).isValidSubdomain(same(subdomain));
+    verify(mockTenantRepository, times(2)).findIdBySubdomain(same(subdomain));
+    assertThat(subject.size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void findTenantId_EvictedAfterCreate_LoadsAgain() {
+    final var subdomain = "newcomer";
+    final var tenantId = "the tenant id";
+
+    when(mockAttributeValidator.isValidSubdomain(anyString())).thenCallRealMethod();
+    when(mockTenantRepository.findIdBySubdomain(same(subdomain)))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(tenantId));
+
+    assertThat(subject.findTenantId(subdomain), is(nullValue()));
+    subject.evict(subdomain);
+    assertThat(subject.findTenantId(subdomain), is(equalTo(tenantId)));
+
+    verify(mockAttributeValidator, times(2)).isValidSubdomain(same(subdomain));
+    verify(mockTenantRepository, times(2)).findIdBySubdomain(same(subdomain));
+  }
+
+  @Test
+  public void findTenantId_TooManyUnknown_ForgetsThem() {
+    when(mockAttributeValidator.isValidSubdomain(anyString())).thenCallRealMethod();
+    when(mockTenantRepository.findIdBySubdomain(anyString())).thenReturn(Optional.empty());
+
+    subject.findTenantId("first");
+    subject.findTenantId("second");
+    subject.findTenantId("third");
+    subject.findTenantId("first");
+
+    verify(mockAttributeValidator, times(2)).isValidSubdomain("first");
+    verify(mockAttributeValidator).isValidSubdomain("second");
+    verify(mockAttributeValidator).isValidSubdomain("third");
+    verify(mockTenantRepository, times(2)).findIdBySubdomain("first");
+    verify(mockTenantRepository).findIdBySubdomain("second");
+    verify(mockTenantRepository).findIdBySubdomain("third");
+  }
+
+  @Test
+  public void findTenantId_InvalidSubdomain_NotLoaded() {
+    final var subdomain = "not_a_subdomain!";
+
+    when(mockAttributeValidator.isValidSubdomain(anyString())).thenCallRealMethod();
+
+    assertThat(subject.findTenantId(subdomain), is(nullValue()));
+
+    verify(mockAttributeValidator).isValidSubdomain(same(subdomain));
+  }
+}
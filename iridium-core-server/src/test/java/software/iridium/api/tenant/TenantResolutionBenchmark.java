@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.tenant;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.iridium.api.repository.TenantEntityRepository;
+import software.iridium.api.util.AttributeValidator;
+import software.iridium.api.util.SubdomainExtractor;
+
+/**
+ * Compares resolving the tenant of a login page request the way it used to be done, once per caller
+ * from the rebuilt request url, with parsing the host once and reading the published context. Run
+ * with the main method from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantResolutionBenchmark {
+
+  private final SubdomainExtractor extractor = new SubdomainExtractor();
+  private TenantDirectory directory;
+  private MockHttpServletRequest request;
+
+  @Setup
+  public void setUp() {
+    final var tenantRepository = mock(TenantEntityRepository.class);
+    when(tenantRepository.findIdBySubdomain(anyString())).thenReturn(Optional.of("tenant-id"));
+    directory = new TenantDirectory();
+    ReflectionTestUtils.setField(directory, "tenantRepository", tenantRepository);
+    ReflectionTestUtils.setField(directory, "attributeValidator", new AttributeValidator());
+    directory.findTenantId("iridium");
+
+    request = new MockHttpServletRequest("GET", "/login");
+    request.setScheme("https");
+    request.setServerName("iridium.iridium.software");
+    request.setServerPort(443);
+  }
+
+  @Benchmark
+  public void perCallExtraction(final Blackhole blackhole) {
+    // controller logging, then the service lookup, each from a freshly built url
+    blackhole.consume(request.getRequestURL().toString().split("\\.")[0]);
+    blackhole.consume(extractor.extract(request.getRequestURL().toString()));
+    blackhole.consume(extractor.extract(request.getRequestURL().toString()));
+  }
+
+  @Benchmark
+  public void resolvedOnce(final Blackhole blackhole) {
+    final var subdomain = extractor.extractFromHost(request.getServerName());
+    request.setAttribute(
+        TenantContext.ATTRIBUTE, new TenantContext(subdomain, directory.findTenantId(subdomain)));
+    blackhole.consume(TenantContext.of(request).subdomain());
+    blackhole.consume(TenantContext.of(request).subdomain());
+    blackhole.consume(TenantContext.of(request).isResolved());
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(TenantResolutionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.iridium.api.repository.AccessTokenEntityRepository;
+import software.iridium.entity.AccessTokenEntity;
+
+@ExtendWith(MockitoExtension.class)
+class JpaTokenStoreTest {
+
+  @Mock private AccessTokenEntityRepository mockAccessTokenRepository;
+  @InjectMocks private JpaTokenStore subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockAccessTokenRepository);
+  }
+
+  @Test
+  public void save_AllGood_BehavesAsExpected() {
+    final var entity = new AccessTokenEntity();
+
+    when(mockAccessTokenRepository.save(same(entity))).thenReturn(entity);
+
+    assertThat(subject.save(entity), is(sameInstance(entity)));
+
+    verify(mockAccessTokenRepository).save(same(entity));
+  }
+
+  @Test
+  public void findActive_AllGood_BehavesAsExpected() {
+    final var entity = new AccessTokenEntity();
+    final var now = new Date();
+
+    when(mockAccessTokenRepository.findFirstByAccessTokenAndExpirationAfter("the-token", now))
+        .thenReturn(Optional.of(entity));
+
+    assertThat(subject.findActive("the-token", now).get(), is(sameInstance(entity)));
+
+    verify(mockAccessTokenRepository).findFirstByAccessTokenAndExpirationAfter("the-token", now);
+  }
+}
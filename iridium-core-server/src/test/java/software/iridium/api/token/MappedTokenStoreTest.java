@@ -0,0 +1,243 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.iridium.entity.AccessTokenEntity;
+import software.iridium.entity.RefreshTokenEntity;
+
+class MappedTokenStoreTest {
+
+  @TempDir private Path directory;
+
+  private String logPath() {
+    return directory.resolve("tokens.log").toString();
+  }
+
+  private AccessTokenEntity token(final String value, final Date expiration) {
+    final var entity = new AccessTokenEntity();
+    entity.setAccessToken(value);
+    entity.setTokenType("Bearer");
+    entity.setIdentityId("identity-" + value);
+    entity.setExpiration(expiration);
+    return entity;
+  }
+
+  @Test
+  public void findActive_SavedToken_ReturnsCopy() throws Exception {
+    final var now = new Date();
+    final var entity = token("the-token", DateUtils.addHours(now, 1));
+    final var refreshToken = new RefreshTokenEntity();
+    refreshToken.setRefreshToken("the-refresh-token");
+    entity.setRefreshToken(refreshToken);
+
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      subject.save(entity);
+
+      final var found = subject.findActive("the-token", now).get();
+      assertThat(found.getIdentityId(), is(equalTo("identity-the-token")));
+      assertThat(found.getTokenType(), is(equalTo("Bearer")));
+      assertThat(found.getExpiration(), is(equalTo(entity.getExpiration())));
+      assertThat(found.getRefreshToken().getRefreshToken(), is(equalTo("the-refresh-token")));
+      assertThat(subject.findActive("another-token", now).isEmpty(), is(true));
+    }
+  }
+
+  @Test
+  public void findActive_ExpiredToken_ReturnsEmpty() throws Exception {
+    final var now = new Date();
+
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      subject.save(token("the-token", now));
+
+      assertThat(subject.findActive("the-token", now).isEmpty(), is(true));
+    }
+  }
+
+  @Test
+  public void open_AfterRestart_TokensRecovered() throws Exception {
+    final var now = new Date();
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      subject.save(token("first", DateUtils.addHours(now, 1)));
+      subject.save(token("second", DateUtils.addHours(now, 1)));
+    }
+
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      assertThat(subject.size(), is(equalTo(2)));
+      assertThat(subject.findActive("first", now).isPresent(), is(true));
+      assertThat(subject.findActive("second", now).get().getRefreshToken(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void open_TornLastRecord_RecordDiscarded() throws Exception {
+    final var now = new Date();
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      subject.save(token("first", DateUtils.addHours(now, 1)));
+      subject.save(token("second", DateUtils.addHours(now, 1)));
+    }
+    try (var file = new RandomAccessFile(logPath(), "rw")) {
+      // corrupt the last byte of the second record's payload
+      final var firstLength = file.readInt();
+      file.seek(TokenLog.HEADER_BYTES + firstLength);
+      final var secondLength = file.readInt();
+      file.seek(TokenLog.HEADER_BYTES * 2L + firstLength + secondLength - 1);
+      file.write(0xFF);
+    }
+
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      assertThat(subject.findActive("first", now).isPresent(), is(true));
+      assertThat(subject.findActive("second", now).isEmpty(), is(true));
+
+      subject.save(token("third", DateUtils.addHours(now, 1)));
+      assertThat(subject.findActive("third", now).isPresent(), is(true));
+    }
+  }
+
+  @Test
+  public void compact_ExpiredAndSupersededRecords_Dropped() throws Exception {
+    final var now = new Date();
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      subject.save(token("expired", DateUtils.addMinutes(now, -1)));
+      subject.save(token("live", DateUtils.addMinutes(now, 1)));
+      subject.save(token("live", DateUtils.addHours(now, 1)));
+
+      subject.compact();
+
+      assertThat(subject.size(), is(equalTo(1)));
+      assertThat(
+          subject.findActive("live", now).get().getExpiration(),
+          is(equalTo(DateUtils.addHours(now, 1))));
+      assertThat(subject.findActive("expired", now).isEmpty(), is(true));
+    }
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      assertThat(subject.size(), is(equalTo(1)));
+    }
+  }
+
+  @Test
+  public void compact_ReplaceFails_KeepsServingFromCurrentLog() throws Exception {
+    final var now = new Date();
+    try (var subject =
+        new MappedTokenStore(logPath(), 1) {
+          @Override
+          void replace(final Path source, final Path target) throws IOException {
+            throw new IOException("disk full");
+          }
+        }) {
+      subject.save(token("expired", DateUtils.addMinutes(now, -1)));
+      subject.save(token("live", DateUtils.addHours(now, 1)));
+
+      final var exception = assertThrows(UncheckedIOException.class, subject::compact);
+
+      assertThat(exception.getMessage(), is(equalTo("failed to compact token log: " + logPath())));
+      assertThat(Files.exists(Path.of(logPath() + ".compact")), is(false));
+      assertThat(subject.size(), is(equalTo(2)));
+      assertThat(subject.findActive("live", now).isPresent(), is(true));
+      subject.save(token("after", DateUtils.addHours(now, 1)));
+      assertThat(subject.findActive("after", now).isPresent(), is(true));
+    }
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      assertThat(subject.findActive("after", now).isPresent(), is(true));
+    }
+  }
+
+  @Test
+  public void compact_AllGood_LaterSavesSurviveRestart() throws Exception {
+    final var now = new Date();
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      subject.save(token("before", DateUtils.addHours(now, 1)));
+      subject.compact();
+      subject.save(token("after", DateUtils.addHours(now, 1)));
+    }
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      assertThat(subject.size(), is(equalTo(2)));
+      assertThat(subject.findActive("before", now).isPresent(), is(true));
+      assertThat(subject.findActive("after", now).isPresent(), is(true));
+    }
+  }
+
+  @Test
+  public void compact_TokensUsedDuringCopy_NotBlockedAndKept() throws Exception {
+    final var now = new Date();
+    final var expiration = DateUtils.addHours(now, 1);
+    final var executor = Executors.newSingleThreadExecutor();
+    try (var subject =
+        new MappedTokenStore(logPath(), 1) {
+          @Override
+          void copied() {
+            try {
+              executor.submit(() -> save(token("during", expiration))).get(5, TimeUnit.SECONDS);
+              assertThat(
+                  executor
+                      .submit(() -> findActive("before", now).isPresent())
+                      .get(5, TimeUnit.SECONDS),
+                  is(true));
+            } catch (Exception e) {
+              throw new IllegalStateException(e);
+            }
+          }
+        }) {
+      subject.save(token("expired", DateUtils.addMinutes(now, -1)));
+      subject.save(token("before", expiration));
+
+      subject.compact();
+
+      assertThat(subject.size(), is(equalTo(2)));
+      assertThat(subject.findActive("during", now).isPresent(), is(true));
+    } finally {
+      executor.shutdown();
+    }
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      assertThat(subject.size(), is(equalTo(2)));
+      assertThat(subject.findActive("before", now).isPresent(), is(true));
+      assertThat(subject.findActive("during", now).isPresent(), is(true));
+    }
+  }
+
+  @Test
+  public void save_LogFull_CompactsThenRejects() throws Exception {
+    final var now = new Date();
+    final var expiration = DateUtils.addHours(now, 1);
+    try (var subject = new MappedTokenStore(logPath(), 1)) {
+      final var padding = "x".repeat(60_000);
+      final var exception =
+          assertThrows(
+              IllegalStateException.class,
+              () -> {
+                for (int index = 0; index < 100; index++) {
+                  subject.save(token(padding + index, expiration));
+                }
+              });
+
+      assertThat(exception.getMessage(), is(equalTo("token log is full: " + logPath())));
+      assertThat(subject.size(), lessThan(100));
+    }
+  }
+}
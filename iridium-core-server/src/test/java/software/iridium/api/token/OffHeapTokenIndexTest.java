@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.token;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+
+class OffHeapTokenIndexTest {
+
+  @Test
+  public void put_ManyEntries_AllFoundAfterGrowing() {
+    final var subject = new OffHeapTokenIndex(4);
+    final var keys = new HashMap<Integer, String>();
+    for (int offset = 0; offset < 1000; offset++) {
+      final var key = "token-" + offset;
+      keys.put(offset, key);
+      subject.put(
+          OffHeapTokenIndex.hash(key), offset, candidate -> keys.get(candidate).equals(key));
+    }
+
+    assertThat(subject.size(), is(equalTo(1000)));
+    for (int offset = 0; offset < 1000; offset++) {
+      final var key = "token-" + offset;
+      assertThat(
+          subject.find(OffHeapTokenIndex.hash(key), candidate -> keys.get(candidate).equals(key)),
+          is(equalTo(offset)));
+    }
+  }
+
+  @Test
+  public void put_SameKey_ReplacesOffset() {
+    final var subject = new OffHeapTokenIndex(16);
+
+    subject.put(42, 0, candidate -> true);
+    subject.put(42, 100, candidate -> true);
+
+    assertThat(subject.size(), is(equalTo(1)));
+    assertThat(subject.find(42, candidate -> true), is(equalTo(100)));
+  }
+
+  @Test
+  public void find_CollidingHashes_ResolvedByPredicate() {
+    final var subject = new OffHeapTokenIndex(16);
+
+    subject.put(7, 10, candidate -> false);
+    subject.put(7, 20, candidate -> candidate == 20);
+
+    assertThat(subject.size(), is(equalTo(2)));
+    assertThat(subject.find(7, candidate -> candidate == 10), is(equalTo(10)));
+    assertThat(subject.find(7, candidate -> candidate == 20), is(equalTo(20)));
+    assertThat(subject.find(7, candidate -> false), is(equalTo(-1)));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.user;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import software.iridium.api.authentication.domain.IdentityResponse;
+import software.iridium.api.base.error.NotAuthorizedException;
+import software.iridium.api.mapper.IdentityEntityMapper;
+import software.iridium.api.repository.IdentityEntityRepository;
+import software.iridium.entity.IdentityEntity;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedRequestContextTest {
+
+  @Mock private IdentityEntityRepository mockIdentityRepository;
+  @Mock private IdentityEntityMapper mockIdentityEntityMapper;
+  @InjectMocks private AuthenticatedRequestContext subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    SecurityContextHolder.clearContext();
+    Mockito.verifyNoMoreInteractions(mockIdentityRepository, mockIdentityEntityMapper);
+  }
+
+  @Test
+  public void getIdentityId_Authenticated_ReturnsPrincipalIdentityId() {
+    authenticate("the identity id");
+
+    assertThat(subject.getIdentityId(), is(equalTo("the identity id")));
+  }
+
+  @Test
+  public void getIdentityId_NotAuthenticated_ExceptionThrown() {
+    assertThrows(NotAuthorizedException.class, () -> subject.getIdentityId());
+  }
+
+  @Test
+  public void getIdentity_CalledTwice_LoadsOnce() {
+    final var identityId = "the identity id";
+    final var identity = new IdentityEntity();
+    final var tenantIds = List.of("the tenant id");
+    final var identityResponse = new IdentityResponse();
+    authenticate(identityId);
+
+    when(mockIdentityRepository.findWithEmailsAndRolesById(same(identityId)))
+        .thenReturn(Optional.of(identity));
+    when(mockIdentityRepository.findManagedTenantIds(same(identityId))).thenReturn(tenantIds);
+    when(mockIdentityEntityMapper.map(same(identity), same(tenantIds)))
+        .thenReturn(identityResponse);
+
+    assertThat(subject.getIdentity(), sameInstance(identityResponse));
+    assertThat(subject.getIdentity(), sameInstance(identityResponse));
+
+    verify(mockIdentityRepository).findWithEmailsAndRolesById(same(identityId));
+    verify(mockIdentityRepository).findManagedTenantIds(same(identityId));
+    verify(mockIdentityEntityMapper).map(same(identity), same(tenantIds));
+  }
+
+  @Test
+  public void getIdentity_EntityNotFound_ExceptionThrown() {
+    final var identityId = "the identity id";
+    authenticate(identityId);
+
+    when(mockIdentityRepository.findWithEmailsAndRolesById(same(identityId)))
+        .thenReturn(Optional.empty());
+
+    assertThrows(NotAuthorizedException.class, () -> subject.getIdentity());
+
+    verify(mockIdentityRepository).findWithEmailsAndRolesById(same(identityId));
+  }
+
+  private void authenticate(final String identityId) {
+    final var principal = new PrincipalUser("the token", identityId, List.of());
+    SecurityContextHolder.getContext()
+        .setAuthentication(new PreAuthenticatedAuthenticationToken(principal, ""));
+  }
+}
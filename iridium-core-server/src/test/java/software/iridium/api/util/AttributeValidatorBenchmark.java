@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.util;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link AttributeValidator} with the Pattern, URL and UUID based checks it replaced. Run
+ * with the main method from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeValidatorBenchmark {
+
+  private static final String SUBDOMAIN = "acme-industries";
+  private static final String URL = "https://app.acme.com/callback";
+  private static final String UUID_VALUE = "3f2b8a4e-6c1d-4e9a-9b7f-0a1c2d3e4f50";
+  private static final String NOT_A_UUID = "3f2b8a4e-6c1d-4e9a-9b7f-0a1c2d3e4f5z";
+
+  private final AttributeValidator validator = new AttributeValidator();
+
+  @Benchmark
+  public boolean subdomainPattern() {
+    return Pattern.compile("^[A-Za-z0-9-]*$").matcher(SUBDOMAIN).find();
+  }
+
+  @Benchmark
+  public boolean subdomain() {
+    return validator.isValidSubdomain(SUBDOMAIN);
+  }
+
+  @Benchmark
+  public boolean urlConstructor() {
+    try {
+      new URL(URL);
+      return true;
+    } catch (MalformedURLException e) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  public boolean url() {
+    return validator.isValidUrl(URL);
+  }
+
+  @Benchmark
+  public boolean redirectUri() {
+    return validator.isValidRedirectUri(URL);
+  }
+
+  @Benchmark
+  public boolean uuidFromString() {
+    return fromString(UUID_VALUE);
+  }
+
+  @Benchmark
+  public boolean uuid() {
+    return validator.isUuid(UUID_VALUE);
+  }
+
+  @Benchmark
+  public boolean invalidUuidFromString() {
+    return fromString(NOT_A_UUID);
+  }
+
+  @Benchmark
+  public boolean invalidUuid() {
+    return validator.isUuid(NOT_A_UUID);
+  }
+
+  private boolean fromString(final String candidate) {
+    try {
+      UUID.fromString(candidate);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(AttributeValidatorBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AttributeValidatorTest {
+
+  private AttributeValidator subject;
+
+  @BeforeEach
+  public void setupForEachTestCase() {
+    subject = new AttributeValidator();
+  }
+
+  @Test
+  public void isValidSubdomain_AllGood_AcceptsLettersDigitsAndHyphens() {
+    assertTrue(subject.isValidSubdomain("Acme-2"));
+    assertTrue(subject.isValidSubdomain(""));
+    assertFalse(subject.isValidSubdomain("acme.com"));
+    assertFalse(subject.isValidSubdomain("acme_industries"));
+    assertFalse(subject.isValidSubdomain(null));
+  }
+
+  @Test
+  public void isUuid_AllGood_AcceptsCanonicalFormOnly() {
+    assertTrue(subject.isUuid("3f2b8a4e-6c1d-4e9a-9b7f-0a1c2d3e4f50"));
+    assertTrue(subject.isUuid("3F2B8A4E-6C1D-4E9A-9B7F-0A1C2D3E4F50"));
+    assertFalse(subject.isUuid("3f2b8a4e-6c1d-4e9a-9b7f-0a1c2d3e4f5z"));
+    assertFalse(subject.isUuid("3f2b8a4e6c1d-4e9a-9b7f-0a1c2d3e4f50-"));
+    assertFalse(subject.isUuid("1-1-1-1-1"));
+    assertFalse(subject.isUuid(null));
+  }
+
+  @Test
+  public void isValidUrl_AllGood_RequiresAKnownScheme() {
+    assertTrue(subject.isValidUrl("https://app.acme.com/callback"));
+    assertTrue(subject.isValidUrl("mailto:ops@acme.com"));
+    assertFalse(subject.isValidUrl("app.acme.com/callback"));
+    assertFalse(subject.isValidUrl("gopher://acme.com"));
+    assertFalse(subject.isValidUrl(null));
+  }
+
+  @Test
+  public void isValidRedirectUri_AllGood_RejectsFragmentsAndMissingHosts() {
+    assertTrue(subject.isValidRedirectUri("http://localhost:4200"));
+    assertTrue(subject.isValidRedirectUri("com.acme.app:/oauth/callback"));
+    assertFalse(subject.isValidRedirectUri("https://app.acme.com/callback#top"));
+    assertFalse(subject.isValidRedirectUri("https:///callback"));
+    assertFalse(subject.isValidRedirectUri("https://app.acme.com/call back"));
+    assertFalse(subject.isValidRedirectUri("/callback"));
+  }
+
+  @Test
+  public void isValidCodeChallenge_AllGood_EnforcesLengthAndCharacterSet() {
+    assertTrue(subject.isValidCodeChallenge("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM"));
+    assertTrue(subject.isValidCodeVerifier("dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk"));
+    assertFalse(subject.isValidCodeChallenge("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-c"));
+    assertFalse(subject.isValidCodeChallenge("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw+cM"));
+    assertFalse(subject.isValidCodeVerifier("a".repeat(129)));
+  }
+
+  @Test
+  public void isVisibleAscii_AllGood_RejectsControlAndNonAsciiCharacters() {
+    assertTrue(subject.isVisibleAscii("the state"));
+    assertFalse(subject.isVisibleAscii("the\nstate"));
+    assertFalse(subject.isVisibleAscii("café"));
+    assertFalse(subject.isVisibleAscii(""));
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every SQL statement hibernate prepares on the current thread. Register it with
+ * hibernate.session_factory.statement_inspector and use {@link #assertStatementCount(int)} to pin
+ * the number of round trips a read path is allowed to make.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+  private static final ThreadLocal<List<String>> statements =
+      ThreadLocal.withInitial(ArrayList::new);
+
+  @Override
+  public String inspect(final String sql) {
+    statements.get().add(sql);
+    return sql;
+  }
+
+  public static void reset() {
+    statements.get().clear();
+  }
+
+  public static List<String> getStatements() {
+    return List.copyOf(statements.get());
+  }
+
+  public static void assertStatementCount(final int expected) {
+    final var executed = statements.get();
+    if (executed.size() != expected) {
+      throw new AssertionError(
+          String.format(
+              "expected %d statements but %d were executed:%n%s",
+              expected, executed.size(), String.join(System.lineSeparator(), executed)));
+    }
+  }
+}
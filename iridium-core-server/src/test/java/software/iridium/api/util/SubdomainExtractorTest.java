@@ -53,4 +53,19 @@ class SubdomainExtractorTest {
 
     assertThat(result, is(equalTo("some-thing")));
   }
+
+  @Test
+  public void extractFromHost_Subdomain_ReturnsFirstLabel() {
+    assertThat(subject.extractFromHost("some-thing.url.com"), is(equalTo("some-thing")));
+  }
+
+  @Test
+  public void extractFromHost_Localhost_ReturnsLocalhost() {
+    assertThat(subject.extractFromHost("localhost"), is(equalTo("localhost")));
+  }
+
+  @Test
+  public void extractFromHost_NoPeriod_ReturnsHost() {
+    assertThat(subject.extractFromHost("iridium"), is(equalTo("iridium")));
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.validator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.iridium.api.base.error.BadRequestException;
+import software.iridium.api.generator.RedirectUrlGenerator;
+import software.iridium.api.util.AttributeValidator;
+import software.iridium.api.util.AuthorizationCodeFlowConstants;
+import software.iridium.entity.ApplicationEntity;
+import software.iridium.entity.ApplicationTypeEntity;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenRequestParameterValidatorTest {
+
+  private static final String SHORT_VERIFIER = "legacy-verifier";
+
+  @Mock private AttributeValidator mockAttributeValidator;
+  @Mock private RedirectUrlGenerator mockRedirectUrlGenerator;
+  @InjectMocks private AccessTokenRequestParameterValidator subject;
+
+  @AfterEach
+  public void ensureNoUnexpectedMockInteractions() {
+    Mockito.verifyNoMoreInteractions(mockAttributeValidator, mockRedirectUrlGenerator);
+  }
+
+  @Test
+  public void validateAndOptionallyRedirect_LegacyEnabledShortVerifier_Accepted() {
+    ReflectionTestUtils.setField(subject, "legacyEnabled", true);
+    final var params = params(SHORT_VERIFIER);
+
+    when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
+
+    assertThat(subject.validateAndOptionallyRedirect(application(), params), is(nullValue()));
+
+    verify(mockAttributeValidator)
+        .doesNotEqual(
+            same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE_GRANT_TYPE.getValue()),
+            same("authorization_code"));
+    verify(mockAttributeValidator).isBlank(same(SHORT_VERIFIER));
+    verify(mockAttributeValidator).isVisibleAscii(same(SHORT_VERIFIER));
+    verify(mockAttributeValidator).isBlank(same("the code"));
+  }
+
+  @Test
+  public void validateAndOptionallyRedirect_LegacyDisabledShortVerifier_ExceptionThrown() {
+    ReflectionTestUtils.setField(subject, "legacyEnabled", false);
+    final var params = params(SHORT_VERIFIER);
+
+    when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isValidCodeVerifier(anyString())).thenCallRealMethod();
+
+    final var exception =
+        assertThrows(
+            BadRequestException.class,
+            () -> subject.validateAndOptionallyRedirect(application(), params));
+
+    assertThat(exception.getMessage(), is(equalTo("code_verifier is not valid")));
+    verify(mockAttributeValidator)
+        .doesNotEqual(
+            same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE_GRANT_TYPE.getValue()),
+            same("authorization_code"));
+    verify(mockAttributeValidator).isBlank(same(SHORT_VERIFIER));
+    verify(mockAttributeValidator).isValidCodeVerifier(same(SHORT_VERIFIER));
+  }
+
+  @Test
+  public void validateAndOptionallyRedirect_LegacyEnabledControlCharacter_ExceptionThrown() {
+    ReflectionTestUtils.setField(subject, "legacyEnabled", true);
+    final var verifier = "legacy\nverifier";
+    final var params = params(verifier);
+
+    when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
+
+    final var exception =
+        assertThrows(
+            BadRequestException.class,
+            () -> subject.validateAndOptionallyRedirect(application(), params));
+
+    assertThat(exception.getMessage(), is(equalTo("code_verifier is not valid")));
+    verify(mockAttributeValidator)
+        .doesNotEqual(
+            same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE_GRANT_TYPE.getValue()),
+            same("authorization_code"));
+    verify(mockAttributeValidator).isBlank(same(verifier));
+    verify(mockAttributeValidator).isVisibleAscii(same(verifier));
+  }
+
+  private static Map<String, String> params(final String codeVerifier) {
+    final var params = new HashMap<String, String>();
+    params.put(AuthorizationCodeFlowConstants.GRANT_TYPE.getValue(), "authorization_code");
+    params.put(AuthorizationCodeFlowConstants.CODE_VERIFIER.getValue(), codeVerifier);
+    params.put(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue(), "the code");
+    return params;
+  }
+
+  private static ApplicationEntity application() {
+    final var applicationType = new ApplicationTypeEntity();
+    applicationType.setRequiresSecret(false);
+    final var application = new ApplicationEntity();
+    application.setApplicationType(applicationType);
+    return application;
+  }
+}
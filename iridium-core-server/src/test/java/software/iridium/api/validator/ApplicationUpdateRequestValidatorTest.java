@@ -57,6 +57,7 @@ class ApplicationUpdateRequestValidatorTest {
 
     when(mockValidator.isNotBlankAndNoLongerThan(anyString(), anyInt())).thenReturn(true);
     when(mockValidator.isValidUrl(anyString())).thenReturn(true);
+    when(mockValidator.isValidRedirectUri(same(redirectURI))).thenReturn(true);
     when(mockValidator.isNotBlank(anyString())).thenReturn(true);
     when(mockValidator.isUuid(same(applicationTypeId))).thenReturn(true);
     when(mockValidator.ifPresentAndIsNotBlankAndNoLongerThan(anyString(), anyInt()))
@@ -68,7 +69,7 @@ class ApplicationUpdateRequestValidatorTest {
     verify(mockValidator).ifPresentAndIsNotBlankAndNoLongerThan(same(description), eq(255));
     verify(mockValidator).isValidUrl(same(homepageUrl));
     verify(mockValidator).isValidUrl(same(privacyPolicyUrl));
-    verify(mockValidator).isValidUrl(same(redirectURI));
+    verify(mockValidator).isValidRedirectUri(same(redirectURI));
     verify(mockValidator).isValidUrl(same(iconUrl));
     verify(mockValidator).isNotBlank(same(iconUrl));
     verify(mockValidator).isNotBlank(same(privacyPolicyUrl));
@@ -27,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import software.iridium.api.authentication.domain.CodeChallengeMethod;
 import software.iridium.api.generator.RedirectUrlGenerator;
 import software.iridium.api.util.AttributeValidator;
@@ -50,7 +51,7 @@ class AuthorizationRequestParameterAttributeValidatorTest {
     final var state = "the state";
     final var responseType = "code";
     final var codeChallengeMethod = "S256";
-    final var codeChallenge = "the code challenge";
+    final var codeChallenge = "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM";
     final var params = new HashMap<String, String>();
     params.put(AuthorizationCodeFlowConstants.RESPONSE_TYPE.getValue(), responseType);
     params.put(
@@ -59,17 +60,22 @@ class AuthorizationRequestParameterAttributeValidatorTest {
     params.put(AuthorizationCodeFlowConstants.STATE.getValue(), state);
 
     when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
     when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
 
+    when(mockAttributeValidator.isValidCodeChallenge(anyString())).thenCallRealMethod();
+
     assertTrue(subject.validateAndOptionallyRedirect(redirectUri, params).isEmpty());
 
     verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
     verify(mockAttributeValidator)
         .doesNotEqual(
             same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
     verify(mockAttributeValidator)
         .doesNotEqual(same(CodeChallengeMethod.S256.getValue()), same(codeChallengeMethod));
     verify(mockAttributeValidator).isBlank(same(codeChallenge));
+    verify(mockAttributeValidator).isValidCodeChallenge(same(codeChallenge));
   }
 
   @Test
@@ -78,7 +84,7 @@ class AuthorizationRequestParameterAttributeValidatorTest {
     final var state = "the state";
     final var responseType = "code";
     final var codeChallengeMethod = "plain";
-    final var codeChallenge = "the code challenge";
+    final var codeChallenge = "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM";
     final var params = new HashMap<String, String>();
     params.put(AuthorizationCodeFlowConstants.RESPONSE_TYPE.getValue(), responseType);
     params.put(
@@ -87,11 +93,15 @@ class AuthorizationRequestParameterAttributeValidatorTest {
     params.put(AuthorizationCodeFlowConstants.STATE.getValue(), state);
 
     when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
     when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
 
+    when(mockAttributeValidator.isValidCodeChallenge(anyString())).thenCallRealMethod();
+
     assertTrue(subject.validateAndOptionallyRedirect(redirectUri, params).isEmpty());
 
     verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
     verify(mockAttributeValidator)
         .doesNotEqual(
             same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
@@ -100,6 +110,7 @@ class AuthorizationRequestParameterAttributeValidatorTest {
     verify(mockAttributeValidator)
         .doesNotEqual(same(CodeChallengeMethod.PLAIN.getValue()), same(codeChallengeMethod));
     verify(mockAttributeValidator).isBlank(same(codeChallenge));
+    verify(mockAttributeValidator).isValidCodeChallenge(same(codeChallenge));
   }
 
   @Test
@@ -135,12 +146,14 @@ class AuthorizationRequestParameterAttributeValidatorTest {
             + responseType;
 
     when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
     when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
     when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
 
     final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
 
     verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
     verify(mockAttributeValidator)
         .doesNotEqual(
             same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
@@ -165,12 +178,14 @@ class AuthorizationRequestParameterAttributeValidatorTest {
             + codeChallengeMethod;
 
     when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
     when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
     when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
 
     final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
 
     verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
     verify(mockAttributeValidator)
         .doesNotEqual(
             same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
@@ -199,12 +214,14 @@ class AuthorizationRequestParameterAttributeValidatorTest {
             + codeChallengeMethod;
 
     when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
     when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
     when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
 
     final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
 
     verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
     verify(mockAttributeValidator)
         .doesNotEqual(
             same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
@@ -236,12 +253,14 @@ class AuthorizationRequestParameterAttributeValidatorTest {
         "http://localhost:4200?invalid_request=code_challenge must not be blank";
 
     when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
     when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
     when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
 
     final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
 
     verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
     verify(mockAttributeValidator)
         .doesNotEqual(
             same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
@@ -252,4 +271,137 @@ class AuthorizationRequestParameterAttributeValidatorTest {
     verify(mockUrlGenerator).generate(same(redirectUri), any());
     assertThat(response, is(equalTo(errorRedirectUrl)));
   }
+
+  @Test
+  public void validateAndOptionallyRedirect_StateNotVisibleAscii_RedirectsInvalidRequest() {
+    final var redirectUri = "http://localhost:4200";
+    final var state = "the\nstate";
+    final var params = new HashMap<String, String>();
+    params.put(AuthorizationCodeFlowConstants.STATE.getValue(), state);
+    final var errorRedirectUrl =
+        "http://localhost:4200?invalid_request=state parameter is not valid";
+
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
+    when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
+
+    final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
+
+    verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
+    verify(mockUrlGenerator).generate(same(redirectUri), any());
+    assertThat(response, is(equalTo(errorRedirectUrl)));
+  }
+
+  @Test
+  public void validateAndOptionallyRedirect_CodeChallengeTooShort_RedirectsInvalidRequest() {
+    final var redirectUri = "http://localhost:4200";
+    final var state = "the state";
+    final var responseType = "code";
+    final var codeChallengeMethod = "S256";
+    final var codeChallenge = "too-short";
+    final var params = new HashMap<String, String>();
+    params.put(AuthorizationCodeFlowConstants.RESPONSE_TYPE.getValue(), responseType);
+    params.put(
+        AuthorizationCodeFlowConstants.CODE_CHALLENGE_METHOD.getValue(), codeChallengeMethod);
+    params.put(AuthorizationCodeFlowConstants.CODE_CHALLENGE.getValue(), codeChallenge);
+    params.put(AuthorizationCodeFlowConstants.STATE.getValue(), state);
+    final var errorRedirectUrl =
+        "http://localhost:4200?invalid_request=code_challenge must be 43 to 128 unreserved"
+            + " characters";
+
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isValidCodeChallenge(anyString())).thenCallRealMethod();
+    when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
+
+    final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
+
+    verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
+    verify(mockAttributeValidator)
+        .doesNotEqual(
+            same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
+    verify(mockAttributeValidator)
+        .doesNotEqual(same(CodeChallengeMethod.S256.getValue()), same(codeChallengeMethod));
+    verify(mockAttributeValidator).isBlank(same(codeChallenge));
+    verify(mockAttributeValidator).isValidCodeChallenge(same(codeChallenge));
+    verify(mockUrlGenerator).generate(same(redirectUri), any());
+    assertThat(response, is(equalTo(errorRedirectUrl)));
+  }
+
+  @Test
+  public void validateAndOptionallyRedirect_LegacyPlainShortChallenge_BehavesAsExpected() {
+    ReflectionTestUtils.setField(subject, "legacyEnabled", true);
+    final var redirectUri = "http://localhost:4200";
+    final var state = "the state";
+    final var responseType = "code";
+    final var codeChallengeMethod = "plain";
+    final var codeChallenge = "short.legacy+verifier";
+    final var params = new HashMap<String, String>();
+    params.put(AuthorizationCodeFlowConstants.RESPONSE_TYPE.getValue(), responseType);
+    params.put(
+        AuthorizationCodeFlowConstants.CODE_CHALLENGE_METHOD.getValue(), codeChallengeMethod);
+    params.put(AuthorizationCodeFlowConstants.CODE_CHALLENGE.getValue(), codeChallenge);
+    params.put(AuthorizationCodeFlowConstants.STATE.getValue(), state);
+
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
+
+    assertTrue(subject.validateAndOptionallyRedirect(redirectUri, params).isEmpty());
+
+    verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
+    verify(mockAttributeValidator)
+        .doesNotEqual(
+            same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
+    verify(mockAttributeValidator)
+        .doesNotEqual(same(CodeChallengeMethod.S256.getValue()), same(codeChallengeMethod));
+    verify(mockAttributeValidator)
+        .doesNotEqual(same(CodeChallengeMethod.PLAIN.getValue()), same(codeChallengeMethod));
+    verify(mockAttributeValidator).isBlank(same(codeChallenge));
+    verify(mockAttributeValidator).isVisibleAscii(same(codeChallenge));
+  }
+
+  @Test
+  public void
+      validateAndOptionallyRedirect_LegacyChallengeNotVisibleAscii_RedirectsInvalidRequest() {
+    ReflectionTestUtils.setField(subject, "legacyEnabled", true);
+    final var redirectUri = "http://localhost:4200";
+    final var state = "the state";
+    final var responseType = "code";
+    final var codeChallengeMethod = "plain";
+    final var codeChallenge = "tab\tseparated";
+    final var params = new HashMap<String, String>();
+    params.put(AuthorizationCodeFlowConstants.RESPONSE_TYPE.getValue(), responseType);
+    params.put(
+        AuthorizationCodeFlowConstants.CODE_CHALLENGE_METHOD.getValue(), codeChallengeMethod);
+    params.put(AuthorizationCodeFlowConstants.CODE_CHALLENGE.getValue(), codeChallenge);
+    params.put(AuthorizationCodeFlowConstants.STATE.getValue(), state);
+    final var errorRedirectUrl =
+        "http://localhost:4200?invalid_request=code_challenge must be visible ascii characters";
+
+    when(mockAttributeValidator.isBlank(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.isVisibleAscii(anyString())).thenCallRealMethod();
+    when(mockAttributeValidator.doesNotEqual(anyString(), anyString())).thenCallRealMethod();
+    when(mockUrlGenerator.generate(same(redirectUri), any())).thenCallRealMethod();
+
+    final var response = subject.validateAndOptionallyRedirect(redirectUri, params);
+
+    verify(mockAttributeValidator).isBlank(same(state));
+    verify(mockAttributeValidator).isVisibleAscii(same(state));
+    verify(mockAttributeValidator)
+        .doesNotEqual(
+            same(AuthorizationCodeFlowConstants.AUTHORIZATION_CODE.getValue()), same(responseType));
+    verify(mockAttributeValidator)
+        .doesNotEqual(same(CodeChallengeMethod.S256.getValue()), same(codeChallengeMethod));
+    verify(mockAttributeValidator)
+        .doesNotEqual(same(CodeChallengeMethod.PLAIN.getValue()), same(codeChallengeMethod));
+    verify(mockAttributeValidator).isBlank(same(codeChallenge));
+    verify(mockAttributeValidator).isVisibleAscii(same(codeChallenge));
+    verify(mockUrlGenerator).generate(same(redirectUri), any());
+    assertThat(response, is(equalTo(errorRedirectUrl)));
+  }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.validator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.iridium.api.authentication.domain.CodeChallengeMethod;
+import software.iridium.api.util.SHA256Hasher;
+
+/**
+ * Compares the S256 check the token endpoint used to do inline with {@link PkceVerifier}. Run with
+ * the main method from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PkceVerifierBenchmark {
+
+  private static final String VERIFIER = "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk";
+  private static final String CHALLENGE = "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM";
+
+  private final SHA256Hasher hasher = new SHA256Hasher();
+  private PkceVerifier verifier;
+  private String legacyChallenge;
+
+  @Setup
+  public void setUp() {
+    verifier = new PkceVerifier();
+    ReflectionTestUtils.setField(verifier, "legacyEnabled", true);
+    legacyChallenge = inlineLegacy();
+  }
+
+  @Benchmark
+  public boolean inlineLegacyCheck() {
+    return inlineLegacy().equals(legacyChallenge);
+  }
+
+  @Benchmark
+  public boolean verifier() {
+    return verifier.verify(CodeChallengeMethod.S256, VERIFIER, CHALLENGE);
+  }
+
+  @Benchmark
+  public boolean verifierLegacyFallback() {
+    return verifier.verify(CodeChallengeMethod.S256, VERIFIER, legacyChallenge);
+  }
+
+  private String inlineLegacy() {
+    return Base64.getUrlEncoder()
+        .encodeToString(hasher.hash(VERIFIER).getBytes(StandardCharsets.UTF_8))
+        .replace("==", "");
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PkceVerifierBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.validator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.iridium.api.authentication.domain.CodeChallengeMethod;
+
+class PkceVerifierTest {
+
+  // RFC 7636, appendix B
+  private static final String RFC_VERIFIER = "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk";
+  private static final String RFC_CHALLENGE = "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM";
+
+  private PkceVerifier subject;
+
+  @BeforeEach
+  public void setupForEachTestCase() {
+    subject = new PkceVerifier();
+    ReflectionTestUtils.setField(subject, "legacyEnabled", true);
+  }
+
+  @Test
+  public void verify_RfcAppendixB_Verified() {
+    assertThat(subject.verify(CodeChallengeMethod.S256, RFC_VERIFIER, RFC_CHALLENGE), is(true));
+  }
+
+  @Test
+  public void verify_RfcAppendixBWrongVerifier_NotVerified() {
+    assertThat(
+        subject.verify(CodeChallengeMethod.S256, RFC_VERIFIER + "x", RFC_CHALLENGE), is(false));
+  }
+
+  @Test
+  public void verify_ClientGeneratedChallenges_Verified() throws Exception {
+    final var random = new SecureRandom();
+    for (int i = 0; i < 100; i++) {
+      // the way client libraries derive a pair: 32 random bytes, then base64url without padding
+      final var bytes = new byte[32];
+      random.nextBytes(bytes);
+      final var verifier = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+      final var challenge =
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString(
+                  MessageDigest.getInstance("SHA-256")
+                      .digest(verifier.getBytes(StandardCharsets.US_ASCII)));
+
+      assertThat(subject.verify(CodeChallengeMethod.S256, verifier, challenge), is(true));
+    }
+  }
+
+  @Test
+  public void verify_LegacyChallengeEnabled_Verified() throws Exception {
+    assertThat(
+        subject.verify(CodeChallengeMethod.S256, RFC_VERIFIER, legacyChallenge(RFC_VERIFIER)),
+        is(true));
+  }
+
+  @Test
+  public void verify_LegacyChallengeDisabled_NotVerified() throws Exception {
+    ReflectionTestUtils.setField(subject, "legacyEnabled", false);
+
+    assertThat(
+        subject.verify(CodeChallengeMethod.S256, RFC_VERIFIER, legacyChallenge(RFC_VERIFIER)),
+        is(false));
+    assertThat(subject.verify(CodeChallengeMethod.S256, RFC_VERIFIER, RFC_CHALLENGE), is(true));
+  }
+
+  @Test
+  public void verify_Plain_ComparesVerifierAndChallenge() {
+    assertThat(subject.verify(CodeChallengeMethod.PLAIN, RFC_VERIFIER, RFC_VERIFIER), is(true));
+    assertThat(subject.verify(CodeChallengeMethod.PLAIN, RFC_VERIFIER, RFC_CHALLENGE), is(false));
+  }
+
+  @Test
+  public void verify_MissingValues_NotVerified() {
+    assertThat(subject.verify(CodeChallengeMethod.S256, null, RFC_CHALLENGE), is(false));
+    assertThat(subject.verify(CodeChallengeMethod.S256, RFC_VERIFIER, null), is(false));
+    assertThat(subject.verify(null, RFC_VERIFIER, RFC_CHALLENGE), is(false));
+  }
+
+  // what earlier releases computed, and what their clients were told to send
+  private static String legacyChallenge(final String verifier) throws Exception {
+    final var hex =
+        new String(
+            Hex.encode(
+                MessageDigest.getInstance("SHA-256")
+                    .digest(verifier.getBytes(StandardCharsets.UTF_8))));
+    return Base64.getUrlEncoder()
+        .encodeToString(hex.getBytes(StandardCharsets.UTF_8))
+        .replace("==", "");
+  }
+}
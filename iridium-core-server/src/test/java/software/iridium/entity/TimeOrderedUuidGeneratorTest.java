@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.entity;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.UUID;
+import org.hibernate.MappingException;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidGeneratorTest {
+
+  private StandardServiceRegistry serviceRegistry;
+
+  @AfterEach
+  public void tearDown() {
+    if (serviceRegistry != null) {
+      StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+  }
+
+  @Test
+  public void next_AllGood_Version7WithRfcVariant() {
+    final var id = TimeOrderedUuidGenerator.next();
+
+    assertThat(id.version(), is(equalTo(7)));
+    assertThat(id.variant(), is(equalTo(2)));
+  }
+
+  @Test
+  public void next_SameMillisecond_StrictlyIncreasing() {
+    final var ids = new ArrayList<UUID>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(TimeOrderedUuidGenerator.next());
+    }
+
+    for (int i = 1; i < ids.size(); i++) {
+      assertThat(ids.get(i).compareTo(ids.get(i - 1)), is(greaterThan(0)));
+      assertThat(ids.get(i).toString().compareTo(ids.get(i - 1).toString()), is(greaterThan(0)));
+    }
+  }
+
+  @Test
+  public void nextState_ClockStepsBack_KeepsIncreasing() {
+    final var now = System.currentTimeMillis();
+
+    final var before = TimeOrderedUuidGenerator.nextState(now);
+    final var afterRegression = TimeOrderedUuidGenerator.nextState(now - 5_000);
+    final var earlier = TimeOrderedUuidGenerator.fromState(before);
+    final var later = TimeOrderedUuidGenerator.fromState(afterRegression);
+
+    assertThat(afterRegression, is(equalTo(before + 1)));
+    assertThat(later.compareTo(earlier), is(greaterThan(0)));
+    assertThat(later.toString().compareTo(earlier.toString()), is(greaterThan(0)));
+    assertThat(later.version(), is(equalTo(7)));
+  }
+
+  @Test
+  public void generate_NoStrategySet_TimeOrdered() {
+    final var subject = configured(null);
+
+    final var id = UUID.fromString((String) subject.generate(null, null));
+
+    assertThat(id.version(), is(equalTo(7)));
+  }
+
+  @Test
+  public void generate_RandomStrategy_Version4() {
+    final var subject = configured(" Random ");
+
+    final var id = UUID.fromString((String) subject.generate(null, null));
+
+    assertThat(id.version(), is(equalTo(4)));
+  }
+
+  @Test
+  public void configure_UnknownStrategy_ExceptionThrown() {
+    final var exception = assertThrows(MappingException.class, () -> configured("sequential"));
+
+    assertThat(exception.getMessage(), is(equalTo("unknown id strategy: sequential")));
+  }
+
+  private TimeOrderedUuidGenerator configured(final String strategy) {
+    final var builder = new StandardServiceRegistryBuilder();
+    if (strategy != null) {
+      builder.applySetting(TimeOrderedUuidGenerator.STRATEGY_SETTING, strategy);
+    }
+    serviceRegistry = builder.build();
+    final var generator = new TimeOrderedUuidGenerator();
+    generator.configure(null, new Properties(), serviceRegistry);
+    return generator;
+  }
+}
@@ -20,6 +20,9 @@ public class ApplicationSummary implements Serializable {
   public static final String MEDIA_TYPE_LIST =
       "application/vnd.iridium.id.application-summary-list.1+json";
 
+  public static final String MEDIA_TYPE_CURSOR_LIST =
+      "application/vnd.iridium.id.application-summary-cursor-list.1+json";
+
   private String id;
 
   private String name;
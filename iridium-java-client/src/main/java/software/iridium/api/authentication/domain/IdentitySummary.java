@@ -0,0 +1,104 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.authentication.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+public class IdentitySummary implements Serializable {
+
+  private static final long serialVersionUID = -3379015532096164725L;
+
+  public static final String MEDIA_TYPE_CURSOR_LIST =
+      "application/vnd.iridium.id.identity-summary-cursor-list.1+json";
+
+  public static final String MEDIA_TYPE_EXPORT = "application/x-ndjson";
+
+  private String id;
+
+  private String primaryEmail;
+
+  private Boolean emailVerified;
+
+  private Boolean locked;
+
+  private Date created;
+
+  private Date lastSuccessfulLogin;
+
+  public IdentitySummary() {
+    super();
+  }
+
+  public IdentitySummary(
+      final String id,
+      final String primaryEmail,
+      final Boolean emailVerified,
+      final Boolean locked,
+      final Date created,
+      final Date lastSuccessfulLogin) {
+    this.id = id;
+    this.primaryEmail = primaryEmail;
+    this.emailVerified = emailVerified;
+    this.locked = locked;
+    this.created = created;
+    this.lastSuccessfulLogin = lastSuccessfulLogin;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(final String id) {
+    this.id = id;
+  }
+
+  public String getPrimaryEmail() {
+    return primaryEmail;
+  }
+
+  public void setPrimaryEmail(final String primaryEmail) {
+    this.primaryEmail = primaryEmail;
+  }
+
+  public Boolean getEmailVerified() {
+    return emailVerified;
+  }
+
+  public void setEmailVerified(final Boolean emailVerified) {
+    this.emailVerified = emailVerified;
+  }
+
+  public Boolean getLocked() {
+    return locked;
+  }
+
+  public void setLocked(final Boolean locked) {
+    this.locked = locked;
+  }
+
+  public Date getCreated() {
+    return created;
+  }
+
+  public void setCreated(final Date created) {
+    this.created = created;
+  }
+
+  public Date getLastSuccessfulLogin() {
+    return lastSuccessfulLogin;
+  }
+
+  public void setLastSuccessfulLogin(final Date lastSuccessfulLogin) {
+    this.lastSuccessfulLogin = lastSuccessfulLogin;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.base.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
+
+public class CursorInfo implements Serializable {
+
+  private static final long serialVersionUID = 4105287714469361092L;
+
+  private Integer pageSize;
+
+  private String nextCursor;
+
+  public CursorInfo() {
+    super();
+    pageSize = 20;
+  }
+
+  public CursorInfo(final Integer pageSize, final String nextCursor) {
+    this.pageSize = pageSize;
+    this.nextCursor = nextCursor;
+  }
+
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(final Integer pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(final String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  // derived from the cursor, so it is written out for callers but ignored when read back
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  public Boolean getHasMore() {
+    return nextCursor != null;
+  }
+}
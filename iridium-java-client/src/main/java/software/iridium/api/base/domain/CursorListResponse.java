@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package software.iridium.api.base.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorListResponse<T> implements Serializable {
+
+  private static final long serialVersionUID = -2466017325043318842L;
+
+  private CursorInfo cursorInfo;
+  private List<T> data;
+
+  public CursorListResponse() {
+    super();
+    this.cursorInfo = new CursorInfo();
+    this.data = new ArrayList<>();
+  }
+
+  public CursorListResponse(final List<T> data, final Integer pageSize, final String nextCursor) {
+    this();
+    this.data.addAll(data);
+    this.cursorInfo = new CursorInfo(pageSize, nextCursor);
+  }
+
+  public List<T> getData() {
+    return data;
+  }
+
+  public void setData(final List<T> data) {
+    this.data = data;
+  }
+
+  public CursorInfo getCursorInfo() {
+    return cursorInfo;
+  }
+
+  public void setCursorInfo(final CursorInfo cursorInfo) {
+    this.cursorInfo = cursorInfo;
+  }
+}
@@ -11,16 +11,35 @@
  */
 package software.iridium.api.util;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.util.UUID;
-import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AttributeValidator {
 
+  // every check below walks the candidate once, without regular expressions or exceptions
+
+  private static final int UUID_LENGTH = 36;
+  private static final boolean[] HEX_DIGITS = new boolean['f' + 1];
+
+  static {
+    for (char c = '0'; c <= '9'; c++) {
+      HEX_DIGITS[c] = true;
+    }
+    for (char c = 'a'; c <= 'f'; c++) {
+      HEX_DIGITS[c] = true;
+      HEX_DIGITS[Character.toUpperCase(c)] = true;
+    }
+  }
+
+  // the protocols java.net.URL has handlers for, bar jar which needs an inner url
+  private static final String[] URL_SCHEMES = {"http", "https", "ftp", "file", "mailto"};
+  private static final String[] WEB_SCHEMES = {"http", "https"};
+
+  // RFC 7636, section 4.1
+  private static final int PKCE_MIN_LENGTH = 43;
+  private static final int PKCE_MAX_LENGTH = 128;
+
   public boolean isZeroOrGreater(final Long candidate) {
     return candidate != null && candidate >= 0L;
   }
@@ -34,9 +53,16 @@ public class AttributeValidator {
   }
 
   public boolean isValidSubdomain(final String candidate) {
-    final var pattern = Pattern.compile("^[A-Za-z0-9-]*$");
-    final var matcher = pattern.matcher(candidate);
-    return matcher.find();
+    if (candidate == null) {
+      return false;
+    }
+    for (int i = 0; i < candidate.length(); i++) {
+      final var c = candidate.charAt(i);
+      if (!isAlphanumeric(c) && c != '-') {
+        return false;
+      }
+    }
+    return true;
   }
 
   public boolean isNotBlankAndNoLongerThan(final String candidate, final Integer maxLength) {
@@ -64,29 +90,71 @@ public class AttributeValidator {
     return candidate != null;
   }
 
-  public boolean isValidUrl(String url) {
-    if (url == null) {
+  public boolean isValidUrl(final String url) {
+    return schemeOneOf(url, URL_SCHEMES) > 0;
+  }
+
+  /**
+   * An absolute uri without a fragment, as RFC 6749 requires of redirection endpoints. Web schemes
+   * must name a host; private-use schemes of native applications are accepted as they are.
+   */
+  public boolean isValidRedirectUri(final String uri) {
+    final var schemeEnd = schemeEnd(uri);
+    if (schemeEnd <= 0) {
       return false;
     }
-    try {
-      new URL(url);
+    for (int i = schemeEnd + 1; i < uri.length(); i++) {
+      final var c = uri.charAt(i);
+      if (c <= ' ' || c >= 0x7f || c == '#') {
+        return false;
+      }
+    }
+    if (schemeOneOf(uri, WEB_SCHEMES) < 0) {
       return true;
-    } catch (MalformedURLException e) {
+    }
+    final var hostStart = schemeEnd + 3;
+    return uri.startsWith("//", schemeEnd + 1)
+        && hostStart < uri.length()
+        && "/?:".indexOf(uri.charAt(hostStart)) < 0;
+  }
+
+  public boolean isUuid(final String uuid) {
+    if (uuid == null || uuid.length() != UUID_LENGTH) {
       return false;
     }
+    if (uuid.charAt(8) != '-'
+        || uuid.charAt(13) != '-'
+        || uuid.charAt(18) != '-'
+        || uuid.charAt(23) != '-') {
+      return false;
+    }
+    return isHex(uuid, 0, 8)
+        && isHex(uuid, 9, 13)
+        && isHex(uuid, 14, 18)
+        && isHex(uuid, 19, 23)
+        && isHex(uuid, 24, UUID_LENGTH);
+  }
+
+  public boolean isValidCodeVerifier(final String candidate) {
+    return isPkceValue(candidate);
+  }
+
+  public boolean isValidCodeChallenge(final String candidate) {
+    return isPkceValue(candidate);
   }
 
-  public boolean isUuid(String uuid) {
-    if (StringUtils.isBlank(uuid)) {
+  /** RFC 6749, appendix A: state and client_id are one or more visible ascii characters. */
+  public boolean isVisibleAscii(final String candidate) {
+    if (candidate == null || candidate.isEmpty()) {
       return false;
-    } else {
-      try {
-        UUID.fromString(uuid);
-        return true;
-      } catch (IllegalArgumentException var3) {
+    }
+    for (int i = 0; i < candidate.length(); i++) {
+      final var c = candidate.charAt(i);
+      if (c < 0x20 || c > 0x7e) {
         return false;
       }
     }
+    return true;
   }
 
   public boolean doesNotEqual(final String key, final String candidate) {
@@ -96,4 +164,64 @@ public class AttributeValidator {
   public boolean equals(final String key, final String candidate) {
     return StringUtils.equals(key, candidate);
   }
+
+  private static boolean isPkceValue(final String candidate) {
+    if (candidate == null
+        || candidate.length() < PKCE_MIN_LENGTH
+        || candidate.length() > PKCE_MAX_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < candidate.length(); i++) {
+      final var c = candidate.charAt(i);
+      if (!isAlphanumeric(c) && c != '-' && c != '.' && c != '_' && c != '~') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // the index of the colon ending a RFC 3986 scheme, or -1
+  private static int schemeEnd(final String uri) {
+    if (uri == null || uri.isEmpty() || !isAsciiLetter(uri.charAt(0))) {
+      return -1;
+    }
+    for (int i = 1; i < uri.length(); i++) {
+      final var c = uri.charAt(i);
+      if (c == ':') {
+        return i;
+      }
+      if (!isAlphanumeric(c) && c != '+' && c != '-' && c != '.') {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  private static int schemeOneOf(final String uri, final String[] schemes) {
+    final var schemeEnd = schemeEnd(uri);
+    for (final var scheme : schemes) {
+      if (schemeEnd == scheme.length() && uri.regionMatches(true, 0, scheme, 0, schemeEnd)) {
+        return schemeEnd;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isAsciiLetter(final char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isHex(final String candidate, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      final var c = candidate.charAt(i);
+      if (c >= HEX_DIGITS.length || !HEX_DIGITS[c]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAlphanumeric(final char c) {
+    return isAsciiLetter(c) || (c >= '0' && c <= '9');
+  }
 }
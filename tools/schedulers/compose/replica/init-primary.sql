@@ -0,0 +1,3 @@
+CREATE USER IF NOT EXISTS 'replicator'@'%' IDENTIFIED BY 'r3plic8';
+GRANT REPLICATION SLAVE ON *.* TO 'replicator'@'%';
+GRANT REPLICATION CLIENT ON *.* TO 'iridium'@'%';
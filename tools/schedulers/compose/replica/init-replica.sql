@@ -0,0 +1,8 @@
+GRANT REPLICATION CLIENT ON *.* TO 'iridium'@'%';
+CHANGE MASTER TO
+  MASTER_HOST = 'mariadb',
+  MASTER_USER = 'replicator',
+  MASTER_PASSWORD = 'r3plic8',
+  MASTER_CONNECT_RETRY = 5,
+  MASTER_USE_GTID = slave_pos;
+START SLAVE;